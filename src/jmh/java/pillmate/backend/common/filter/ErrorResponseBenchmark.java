@@ -0,0 +1,96 @@
+package pillmate.backend.common.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pillmate.backend.common.exception.NotAuthorizedException;
+import pillmate.backend.common.exception.errorcode.ErrorCode;
+import pillmate.backend.common.exception.response.ExceptionResponse;
+import pillmate.backend.common.util.JsonMappers;
+import pillmate.backend.fixture.Stubs;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 만료로 인증이 실패한 요청의 에러 응답 처리량 (배포 직후처럼 만료된 토큰이 몰릴 때 JwtExceptionHandlerFilter 가 하는 일)
+ * 요청마다 ObjectMapper 를 만들던 방식, 공용 ObjectWriter, 필터 전체(미리 만든 본문)를 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ErrorResponseBenchmark {
+    private static final FilterChain EXPIRED_TOKEN = (request, response) -> {
+        throw new NotAuthorizedException(ErrorCode.EXPIRED_TOKEN_VALID_TIME);
+    };
+
+    private NotAuthorizedException exception;
+    private JwtExceptionHandlerFilter filter;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        exception = new NotAuthorizedException(ErrorCode.EXPIRED_TOKEN_VALID_TIME);
+        filter = new JwtExceptionHandlerFilter();
+        request = Stubs.of(HttpServletRequest.class, Map.of(
+                "getAttribute", args -> null,
+                "setAttribute", args -> null,
+                "removeAttribute", args -> null,
+                "getDispatcherType", args -> DispatcherType.REQUEST));
+        ServletOutputStream outputStream = new DiscardingOutputStream();
+        response = Stubs.of(HttpServletResponse.class, Map.of(
+                "setStatus", args -> null,
+                "setContentType", args -> null,
+                "setContentLength", args -> null,
+                "getOutputStream", args -> outputStream));
+    }
+
+    // 변경 전: 실패할 때마다 매퍼를 새로 만든다
+    @Benchmark
+    public Object perRequestMapper() throws IOException {
+        return new ObjectMapper().writeValueAsString(ExceptionResponse.from(exception));
+    }
+
+    @Benchmark
+    public Object sharedWriter() throws IOException {
+        return JsonMappers.ERROR_RESPONSE.writeValueAsBytes(ExceptionResponse.from(exception));
+    }
+
+    @Benchmark
+    public void filter() throws Exception {
+        filter.doFilter(request, response, EXPIRED_TOKEN);
+    }
+
+    private static class DiscardingOutputStream extends ServletOutputStream {
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
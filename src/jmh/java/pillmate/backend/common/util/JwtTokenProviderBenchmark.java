@@ -0,0 +1,78 @@
+package pillmate.backend.common.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.fixture.MemberFixture;
+import pillmate.backend.fixture.Stubs;
+import pillmate.backend.repository.token.LogoutAccessTokenRepository;
+import pillmate.backend.repository.token.RefreshTokenRepository;
+import pillmate.backend.service.token.LogoutAccessTokenService;
+import pillmate.backend.service.token.RefreshTokenService;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 토큰 발급(로그인)과 검증(JwtAuthenticationFilter 가 요청마다 하는 일)
+ * Redis 레포지토리는 메모리 stub 으로 바꾸고, 쿠키를 쓰는 응답 객체도 stub 으로 둔다.
+ * RequestContextHolder 가 스레드 로컬이라 상태는 스레드마다 만든다.
+ */
+@State(Scope.Thread)
+public class JwtTokenProviderBenchmark {
+    private JwtTokenProvider jwtTokenProvider;
+    private Member member;
+    private String accessToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        byte[] secret = new byte[64];
+        new Random(42).nextBytes(secret);
+
+        RefreshTokenService refreshTokenService = new RefreshTokenService(Stubs.of(RefreshTokenRepository.class, Map.of(
+                "save", args -> args[0])));
+        LogoutAccessTokenService logoutAccessTokenService = new LogoutAccessTokenService(Stubs.of(LogoutAccessTokenRepository.class, Map.of(
+                "existsById", args -> false)));
+        jwtTokenProvider = new JwtTokenProvider(Base64.getEncoder().encodeToString(secret),
+                refreshTokenService,
+                logoutAccessTokenService,
+                username -> User.withUsername(username).password("").authorities("ROLE_USER").build());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                Stubs.of(HttpServletRequest.class, Map.of()),
+                Stubs.of(HttpServletResponse.class, Map.of("addHeader", args -> null))));
+
+        member = new MemberFixture(1).member();
+        accessToken = jwtTokenProvider.generateToken(member).getAccessToken();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public Object generateToken() {
+        return jwtTokenProvider.generateToken(member);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtTokenProvider.validateToken(accessToken);
+    }
+
+    @Benchmark
+    public Object getAuthentication() {
+        return jwtTokenProvider.getAuthentication(accessToken);
+    }
+}
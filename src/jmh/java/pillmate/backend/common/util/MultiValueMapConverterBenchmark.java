@@ -0,0 +1,32 @@
+package pillmate.backend.common.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pillmate.backend.dto.oauth.OAuth2TokenRequest;
+
+/**
+ * 소셜 로그인 토큰 요청 파라미터 변환 (OAuth2Service.getParams)
+ */
+@State(Scope.Benchmark)
+public class MultiValueMapConverterBenchmark {
+    private OAuth2TokenRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        request = OAuth2TokenRequest.builder()
+                .code("x8Yk2nq4PZr7cV0bLwS1eHdJ5mTgU3oA")
+                .grant_type("authorization_code")
+                .redirect_uri("https://pillmate.example.com/login/oauth2/code/kakao")
+                .client_id("3f1c2b7e9a8d4c6e5b0a1f2d3c4b5a69")
+                .client_secret("Zq8vN1mR4tY7uI0oP3aS6dF9gH2jK5lX")
+                .build();
+    }
+
+    @Benchmark
+    public Object convert() {
+        return MultiValueMapConverter.convert(request);
+    }
+}
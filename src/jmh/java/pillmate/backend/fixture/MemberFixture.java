@@ -0,0 +1,140 @@
+package pillmate.backend.fixture;
+
+import pillmate.backend.dto.main.EatenCount;
+import pillmate.backend.dto.main.MissedAlarmTime;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberRole;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.entity.member.Role;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+import pillmate.backend.service.AlarmService;
+import pillmate.backend.service.MainService;
+import pillmate.backend.service.dose.DoseEventQueue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 약을 medicineCount 개 복용 중인 회원 한 명과, 그 회원만 돌려주는 메모리 레포지토리
+ * 약마다 하루 1~4번 알람이 있고, 복용 기간/복용 횟수/먹은 알람은 고정된 시드로 만든다.
+ */
+public class MemberFixture {
+    public static final Long MEMBER_ID = 1L;
+    private static final String[] SPINNER_TIMES = {"아침", "점심", "저녁", "자기 전"};
+    private static final int[] HOURS = {8, 12, 18, 22};
+
+    private final Member member;
+    private final List<MedicinePerMember> medicinePerMembers = new ArrayList<>();
+    private final List<Alarm> alarms = new ArrayList<>();
+    private final Map<Long, Integer> takenCounts = new HashMap<>();
+
+    public MemberFixture(int medicineCount) {
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        member = Member.builder()
+                .id(MEMBER_ID)
+                .email("bench@pillmate.com")
+                .name("bench")
+                .created(today.minusDays(60))
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build();
+        member.addRole(Role.builder().value(MemberRole.USER).build());
+
+        long alarmId = 1;
+        for (long i = 1; i <= medicineCount; i++) {
+            Medicine medicine = Medicine.builder()
+                    .id(i)
+                    .name("약" + i + "정")
+                    .category(i % 2 == 0 ? "두통" : "고혈압")
+                    .photo("white")
+                    .build();
+            int times = 1 + random.nextInt(4);
+            int day = 7 + random.nextInt(24);
+            MedicinePerMember medicinePerMember = MedicinePerMember.builder()
+                    .id(i)
+                    .member(member)
+                    .medicine(medicine)
+                    .amount(1)
+                    .times(times)
+                    .day(day)
+                    .created(today.minusDays(random.nextInt(day)))
+                    .build();
+            medicinePerMembers.add(medicinePerMember);
+            takenCounts.put(i, random.nextInt(times * day + 1));
+
+            for (int slot = 0; slot < times; slot++) {
+                // 다음 알람이 항상 하나는 있도록 첫 알람은 켜 두고 먹지 않은 상태로 둔다
+                boolean first = alarms.isEmpty();
+                alarms.add(Alarm.builder()
+                        .id(alarmId++)
+                        .medicinePerMember(medicinePerMember)
+                        .timeSlot(TimeSlot.builder()
+                                .spinnerTime(SPINNER_TIMES[slot])
+                                .pickerTime(LocalTime.of(HOURS[slot], random.nextInt(60)))
+                                .build())
+                        .isEaten(!first && random.nextBoolean())
+                        .isAvailable(first || random.nextInt(10) != 0)
+                        .build());
+            }
+        }
+    }
+
+    public Member member() {
+        return member;
+    }
+
+    public AlarmRepository alarmRepository() {
+        return Stubs.of(AlarmRepository.class, Map.of(
+                // MainService 가 받은 리스트를 정렬하므로 매번 복사본을 돌려준다
+                "findAllByMemberId", args -> new ArrayList<>(alarms),
+                "findMissedAlarms", args -> alarms.stream()
+                        .filter(alarm -> alarm.getTimeSlot().getPickerTime().isBefore((LocalTime) args[1]))
+                        .filter(alarm -> alarm.getIsAvailable() && !alarm.getIsEaten())
+                        .map(alarm -> new MissedAlarmTime(alarm.getId(), alarm.getMedicinePerMember().getId(), alarm.getTimeSlot().getPickerTime()))
+                        .toList(),
+                // 쿼리처럼 알람 시간, id 순으로 보낸다
+                "streamAllByMemberId", args -> alarms.stream()
+                        .sorted(Comparator.comparing((Alarm alarm) -> alarm.getTimeSlot().getPickerTime())
+                                .thenComparing(Alarm::getId))));
+    }
+
+    public MedicinePerMemberRepository medicinePerMemberRepository() {
+        return Stubs.of(MedicinePerMemberRepository.class, Map.of(
+                "findAllByMemberId", args -> new ArrayList<>(medicinePerMembers)));
+    }
+
+    public MedicineRecordRepository medicineRecordRepository() {
+        return Stubs.of(MedicineRecordRepository.class, Map.of(
+                "countEatenPerMedicine", args -> takenCounts.entrySet().stream()
+                        .map(entry -> new EatenCount(entry.getKey(), entry.getValue().longValue()))
+                        .toList()));
+    }
+
+    /**
+     * write-behind 큐는 꺼 두고 (Redis 없음) 일정 변경 이벤트는 버린다.
+     */
+    public DoseEventQueue doseEventQueue() {
+        return new DoseEventQueue(null, false);
+    }
+
+    public AlarmService alarmService() {
+        return new AlarmService(alarmRepository(), medicinePerMemberRepository(), event -> { }, doseEventQueue(), null);
+    }
+
+    public MainService mainService() {
+        return new MainService(alarmService(), alarmRepository(), medicinePerMemberRepository(), medicineRecordRepository(), doseEventQueue());
+    }
+}
@@ -0,0 +1,32 @@
+package pillmate.backend.fixture;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 레포지토리처럼 메서드가 많은 인터페이스를 벤치마크에 필요한 메서드만 구현해서 만든다.
+ * 등록하지 않은 메서드를 부르면 UnsupportedOperationException 을 던져서, 측정 대상이 다른 경로를 타면 바로 드러나게 한다.
+ */
+public final class Stubs {
+    private Stubs() {
+    }
+
+    /**
+     * @param answers 메서드 이름 -> 인자를 받아 반환값을 만드는 함수
+     */
+    public static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + "Stub";
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        }));
+    }
+}
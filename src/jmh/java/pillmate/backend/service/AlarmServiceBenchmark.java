@@ -0,0 +1,45 @@
+package pillmate.backend.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pillmate.backend.fixture.MemberFixture;
+
+import java.time.LocalTime;
+
+/**
+ * 알람 목록/다음 알람 계산 (레포지토리 조회를 뺀 필터/정렬 비용)
+ */
+@State(Scope.Benchmark)
+public class AlarmServiceBenchmark {
+    @Param({"1", "10", "50"})
+    private int medicineCount;
+
+    private AlarmService alarmService;
+    private LocalTime noon;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        alarmService = new MemberFixture(medicineCount).alarmService();
+        noon = LocalTime.NOON;
+    }
+
+    @Benchmark
+    public Object showAll() {
+        return alarmService.showAll(MemberFixture.MEMBER_ID);
+    }
+
+    @Benchmark
+    public Object getUpcomingAlarm() {
+        return alarmService.getUpcomingAlarm(MemberFixture.MEMBER_ID, noon);
+    }
+
+    // 오늘 남은 알람이 없어서 다음 날 첫 알람을 찾는 경우 (목록을 두 번 훑는다)
+    @Benchmark
+    public Object getUpcomingAlarmNextDay() {
+        return alarmService.getUpcomingAlarm(MemberFixture.MEMBER_ID, LocalTime.MAX);
+    }
+}
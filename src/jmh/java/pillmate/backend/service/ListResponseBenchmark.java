@@ -0,0 +1,49 @@
+package pillmate.backend.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pillmate.backend.common.util.StreamingJson;
+import pillmate.backend.fixture.MemberFixture;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 알람 목록 응답 쓰기: List 로 모아 한 번에 직렬화 vs 스트림에서 한 행씩 직렬화 (StreamingJson)
+ * 요청 하나가 할당하는 바이트 수는 gc 프로파일러로 본다. (./gradlew jmhJar 후 java -jar build/libs/backend-0.0.1-SNAPSHOT-jmh.jar ListResponseBenchmark -prof gc 의 gc.alloc.rate.norm)
+ */
+@State(Scope.Benchmark)
+public class ListResponseBenchmark {
+    @Param({"10", "50", "200"})
+    private int medicineCount;
+
+    private AlarmService alarmService;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        alarmService = new MemberFixture(medicineCount).alarmService();
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Benchmark
+    public void list() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), alarmService.showAll(MemberFixture.MEMBER_ID));
+    }
+
+    @Benchmark
+    public void stream() throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+            new StreamingJson.Writer(generator, () -> { }).writeArray(alarmService.streamAll(MemberFixture.MEMBER_ID));
+        }
+    }
+}
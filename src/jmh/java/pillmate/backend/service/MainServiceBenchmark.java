@@ -0,0 +1,49 @@
+package pillmate.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pillmate.backend.dto.main.MainResponse;
+import pillmate.backend.fixture.MemberFixture;
+
+import java.time.LocalTime;
+
+/**
+ * 메인 화면 조립 (복용률 순위 포함)과 MainResponse JSON 직렬화
+ * ObjectMapper 는 스프링 부트 기본값과 같게 날짜를 ISO 문자열로 쓴다.
+ */
+@State(Scope.Benchmark)
+public class MainServiceBenchmark {
+    @Param({"1", "10", "50"})
+    private int medicineCount;
+
+    private MainService mainService;
+    private MainResponse mainResponse;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mainService = new MemberFixture(medicineCount).mainService();
+        mainResponse = mainService.show(MemberFixture.MEMBER_ID, LocalTime.NOON);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    // 복용률 계산이 최고/최저 기록에서 각각 다시 돌기 때문에 약 개수에 비례해 커진다
+    @Benchmark
+    public Object show() {
+        return mainService.show(MemberFixture.MEMBER_ID, LocalTime.NOON);
+    }
+
+    @Benchmark
+    public byte[] serializeMainResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(mainResponse);
+    }
+}
@@ -0,0 +1,82 @@
+package pillmate.backend.service.catalog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 카탈로그 5만 건에서 한 글자가 틀린 이름으로 유사 검색할 때의 응답 시간
+ */
+@State(Scope.Benchmark)
+public class MedicineFuzzyIndexBenchmark {
+    private static final String[] SYLLABLES = {
+            "타", "이", "레", "놀", "아", "목", "시", "실", "린", "세", "프", "라", "졸", "메", "트", "포", "르", "민",
+            "로", "사", "르", "탄", "암", "로", "디", "핀", "글", "리", "벤", "클", "라", "정", "판", "콜", "에", "스"
+    };
+    private static final String[] SUFFIXES = {"정", "캡슐", "서방정", "시럽", "정 500mg", "정 10mg", "연질캡슐"};
+
+    @Param({"50000"})
+    private int catalogSize;
+
+    private MedicineFuzzyIndex index;
+    private MedicineNameTrie trie;
+    private List<String> queries;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        index = new MedicineFuzzyIndex();
+        trie = new MedicineNameTrie();
+        List<String> names = new ArrayList<>(catalogSize);
+        Set<String> unique = new HashSet<>();
+        while (names.size() < catalogSize) {
+            StringBuilder name = new StringBuilder();
+            int length = 2 + random.nextInt(4);
+            for (int i = 0; i < length; i++) {
+                name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            name.append(SUFFIXES[random.nextInt(SUFFIXES.length)]);
+            String value = name.toString();
+            if (!unique.add(value)) {
+                continue;
+            }
+            trie.put(value, (long) names.size());
+            index.put(value, (long) names.size());
+            names.add(value);
+        }
+
+        // OCR 오인식 흉내: 음절 하나를 다른 음절로 바꾼 이름
+        queries = new ArrayList<>(1024);
+        for (int i = 0; i < 1024; i++) {
+            char[] chars = names.get(random.nextInt(names.size())).toCharArray();
+            chars[random.nextInt(2)] = SYLLABLES[random.nextInt(SYLLABLES.length)].charAt(0);
+            queries.add(new String(chars));
+        }
+    }
+
+    @Benchmark
+    public Object findSimilarTop5() {
+        return index.findSimilar(nextQuery(), 5);
+    }
+
+    @Benchmark
+    public Object findByPrefix() {
+        String query = nextQuery();
+        return trie.findByPrefix(query.substring(0, 2), 10);
+    }
+
+    private String nextQuery() {
+        cursor = (cursor + 1) & (queries.size() - 1);
+        return queries.get(cursor);
+    }
+}
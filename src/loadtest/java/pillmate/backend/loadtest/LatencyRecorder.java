@@ -0,0 +1,79 @@
+package pillmate.backend.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컨트롤러 메서드별 응답 시간 기록
+ * 측정 시간 동안의 모든 응답 시간을 그대로 모아 두고 끝난 뒤 정렬해서 백분위를 구한다.
+ */
+class LatencyRecorder {
+    private final Map<String, Samples> samples = new ConcurrentHashMap<>();
+
+    void record(String label, long nanos, boolean success) {
+        samples.computeIfAbsent(label, key -> new Samples()).add(nanos, success);
+    }
+
+    List<Row> summarize(double elapsedSeconds) {
+        List<Row> rows = new ArrayList<>();
+        new TreeMap<>(samples).forEach((label, s) -> rows.add(s.toRow(label, elapsedSeconds)));
+        return rows;
+    }
+
+    static void print(List<Row> rows) {
+        System.out.printf("%-36s %8s %7s %10s %10s %10s %10s%n", "controller", "count", "errors", "req/s", "p50(ms)", "p99(ms)", "max(ms)");
+        rows.forEach(row -> System.out.printf("%-36s %8d %7d %10.1f %10.2f %10.2f %10.2f%n",
+                row.label(), row.count(), row.errors(), row.throughput(), row.p50Millis(), row.p99Millis(), row.maxMillis()));
+    }
+
+    static void writeCsv(List<Row> rows, Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        List<String> lines = new ArrayList<>();
+        lines.add("controller,count,errors,throughput,p50_ms,p99_ms,max_ms");
+        rows.forEach(row -> lines.add(String.format("%s,%d,%d,%.1f,%.3f,%.3f,%.3f",
+                row.label(), row.count(), row.errors(), row.throughput(), row.p50Millis(), row.p99Millis(), row.maxMillis())));
+        Files.write(path, lines);
+    }
+
+    record Row(String label, int count, int errors, double throughput, double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long value, boolean success) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+            if (!success) {
+                errors++;
+            }
+        }
+
+        synchronized Row toRow(String label, double elapsedSeconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new Row(label, size, errors, size / elapsedSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99),
+                    size == 0 ? 0 : sorted[size - 1] / 1_000_000.0);
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package pillmate.backend.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pillmate.backend.BackendApplication;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 오프라인 부하 테스트
+ * 1. 내장 Redis 와 H2(MySQL 모드) 로 앱을 loadtest 프로필로 띄운다.
+ * 2. 합성 회원/처방/알람/복용 기록/일기를 시드한다.
+ * 3. 가상 사용자 concurrency 명이 warmup 초 동안 예열한 뒤 duration 초 동안 트래픽을 재생한다.
+ * 4. 컨트롤러 메서드별 p50/p99, 처리량을 출력하고 build/reports/loadtest 에 CSV 로 남긴다.
+ *
+ * 옵션: --members=200 --concurrency=16 --warmup=10 --duration=60 --seed=42
+ */
+@Slf4j
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Seoul"));
+        Map<String, String> options = parse(args);
+        int memberCount = Integer.parseInt(options.getOrDefault("members", "200"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        int redisPort = freePort();
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(BackendApplication.class)
+                    .profiles("loadtest")
+                    .properties("spring.data.redis.port=" + redisPort, "spring.jwt.secret=" + randomSecret())
+                    .run();
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            long seedStart = System.nanoTime();
+            List<SyntheticMember> members = new LoadTestSeeder(context, seed).seed(memberCount);
+            log.info("seeded {} members in {} ms", members.size(), (System.nanoTime() - seedStart) / 1_000_000);
+
+            LatencyRecorder recorder = new LatencyRecorder();
+            TrafficMix trafficMix = new TrafficMix(baseUrl, members, recorder);
+            replay(trafficMix, concurrency, seed, warmupSeconds, false);
+            log.info("warmup done, measuring for {} s with {} virtual users", durationSeconds, concurrency);
+            long start = System.nanoTime();
+            replay(trafficMix, concurrency, seed + 1, durationSeconds, true);
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            List<LatencyRecorder.Row> rows = recorder.summarize(elapsedSeconds);
+            LatencyRecorder.print(rows);
+            Path report = Path.of("build", "reports", "loadtest",
+                    "loadtest-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".csv");
+            LatencyRecorder.writeCsv(rows, report);
+            log.info("report written to {}", report.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            redisServer.stop();
+        }
+    }
+
+    /**
+     * 가상 사용자마다 시드를 나눠서 실행마다 같은 요청 순서가 나오게 한다.
+     */
+    private static void replay(TrafficMix trafficMix, int concurrency, long seed, int seconds, boolean measure) throws Exception {
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> users = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                Random random = new Random(seed * 31 + i);
+                users.add(executor.submit(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        trafficMix.run(random, measure);
+                    }
+                }));
+            }
+            for (Future<?> user : users) {
+                user.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        return options;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String randomSecret() {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        return Base64.getEncoder().encodeToString(secret);
+    }
+}
@@ -0,0 +1,170 @@
+package pillmate.backend.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.Diary;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.MedicineRecord;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberRole;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.entity.member.Role;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.DiaryRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.catalog.MedicineCatalogService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 합성 회원 시드
+ * 회원마다 약 2~6개 (하루 1~4번), 최근 HISTORY_DAYS 일의 복용 기록과 일기를 넣는다.
+ * 비밀번호 인코딩이 느리므로 모든 회원이 같은 비밀번호를 쓰고 한 번만 인코딩한다.
+ */
+@Slf4j
+class LoadTestSeeder {
+    static final String PASSWORD = "loadtest1234!";
+    private static final int HISTORY_DAYS = 30;
+    private static final int CATALOG_SIZE = 300;
+    private static final String[] SPINNER_TIMES = {"아침", "점심", "저녁", "자기 전"};
+    private static final int[] HOURS = {8, 12, 18, 22};
+    private static final String[] CATEGORIES = {"두통", "고혈압", "당뇨", "위염", "비염"};
+
+    private final MemberRepository memberRepository;
+    private final MedicineRepository medicineRepository;
+    private final MedicinePerMemberRepository medicinePerMemberRepository;
+    private final AlarmRepository alarmRepository;
+    private final MedicineRecordRepository medicineRecordRepository;
+    private final DiaryRepository diaryRepository;
+    private final MedicineCatalogService medicineCatalogService;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random;
+
+    LoadTestSeeder(ApplicationContext context, long seed) {
+        this.memberRepository = context.getBean(MemberRepository.class);
+        this.medicineRepository = context.getBean(MedicineRepository.class);
+        this.medicinePerMemberRepository = context.getBean(MedicinePerMemberRepository.class);
+        this.alarmRepository = context.getBean(AlarmRepository.class);
+        this.medicineRecordRepository = context.getBean(MedicineRecordRepository.class);
+        this.diaryRepository = context.getBean(DiaryRepository.class);
+        this.medicineCatalogService = context.getBean(MedicineCatalogService.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.random = new Random(seed);
+    }
+
+    List<SyntheticMember> seed(int memberCount) {
+        List<Medicine> catalog = transactionTemplate.execute(status -> {
+            List<Medicine> medicines = new ArrayList<>(CATALOG_SIZE);
+            for (int i = 0; i < CATALOG_SIZE; i++) {
+                medicines.add(Medicine.builder()
+                        .name("부하테스트약" + i + "정")
+                        .category(CATEGORIES[i % CATEGORIES.length])
+                        .photo("white")
+                        .build());
+            }
+            List<Medicine> saved = medicineRepository.saveAll(medicines);
+            saved.forEach(medicineCatalogService::register);
+            return saved;
+        });
+
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        List<SyntheticMember> members = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            int index = i;
+            members.add(transactionTemplate.execute(status -> seedMember(index, encodedPassword, catalog)));
+            if ((i + 1) % 100 == 0) {
+                log.info("seeded {} / {} members", i + 1, memberCount);
+            }
+        }
+        return members;
+    }
+
+    private SyntheticMember seedMember(int index, String encodedPassword, List<Medicine> catalog) {
+        LocalDate today = LocalDate.now();
+        Member member = Member.builder()
+                .email("member" + index + "@loadtest.pillmate.com")
+                .name("member" + index)
+                .password(encodedPassword)
+                .created(today.minusDays(HISTORY_DAYS))
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build();
+        member.addRole(Role.builder().value(MemberRole.USER).build());
+        memberRepository.save(member);
+
+        List<MedicinePerMember> medicinePerMembers = new ArrayList<>();
+        List<Alarm> alarms = new ArrayList<>();
+        List<MedicineRecord> records = new ArrayList<>();
+        List<SyntheticMember.Dose> doses = new ArrayList<>();
+        int medicineCount = 2 + random.nextInt(5);
+        int offset = random.nextInt(catalog.size());
+        for (int m = 0; m < medicineCount; m++) {
+            Medicine medicine = catalog.get((offset + m) % catalog.size());
+            int times = 1 + random.nextInt(4);
+            MedicinePerMember medicinePerMember = MedicinePerMember.builder()
+                    .member(member)
+                    .medicine(medicine)
+                    .amount(1)
+                    .times(times)
+                    .day(HISTORY_DAYS + 30)
+                    .created(today.minusDays(HISTORY_DAYS))
+                    .build();
+            medicinePerMembers.add(medicinePerMember);
+
+            for (int slot = 0; slot < times; slot++) {
+                LocalTime time = LocalTime.of(HOURS[slot], random.nextInt(4) * 15);
+                alarms.add(Alarm.builder()
+                        .medicinePerMember(medicinePerMember)
+                        .timeSlot(TimeSlot.builder().spinnerTime(SPINNER_TIMES[slot]).pickerTime(time).build())
+                        .build());
+                doses.add(new SyntheticMember.Dose(medicine.getId(), time));
+
+                // 지난 기록: 80% 정도 복용 (오늘은 트래픽에서 복용한다)
+                for (int day = 1; day <= HISTORY_DAYS; day++) {
+                    if (random.nextInt(10) < 8) {
+                        records.add(MedicineRecord.builder()
+                                .member(member)
+                                .medicine(medicine)
+                                .date(today.minusDays(day))
+                                .time(time)
+                                .isEaten(true)
+                                .build());
+                    }
+                }
+            }
+        }
+        medicinePerMemberRepository.saveAll(medicinePerMembers);
+        alarmRepository.saveAll(alarms);
+        medicineRecordRepository.saveAll(records);
+
+        List<Diary> diaries = new ArrayList<>();
+        for (int day = 1; day <= HISTORY_DAYS; day++) {
+            if (random.nextInt(3) == 0) {
+                diaries.add(Diary.builder()
+                        .member(member)
+                        .date(today.minusDays(day))
+                        .symptomIds(new ArrayList<>())
+                        .score(1 + random.nextInt(10))
+                        .record("컨디션 기록 " + day)
+                        .build());
+            }
+        }
+        diaryRepository.saveAll(diaries);
+
+        return new SyntheticMember(member.getId(), member.getEmail(), PASSWORD, doses);
+    }
+}
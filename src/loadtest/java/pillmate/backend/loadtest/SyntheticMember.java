@@ -0,0 +1,13 @@
+package pillmate.backend.loadtest;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 시드한 회원 한 명. 트래픽을 만들 때 로그인 정보와 복용 알람 (약 id + 시간) 만 있으면 된다.
+ */
+record SyntheticMember(Long id, String email, String password, List<Dose> doses) {
+
+    record Dose(Long medicineId, LocalTime time) {
+    }
+}
@@ -0,0 +1,125 @@
+package pillmate.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 하루 트래픽 구성: 대시보드 조회가 대부분이고, 알람에 맞춘 복용, 일기 작성, 로그인이 섞인다.
+ * 가상 사용자 하나가 run 을 한 번씩 부를 때마다 요청 하나를 보낸다.
+ */
+class TrafficMix {
+    // 대시보드 55%, 복용 25%, 일기 12%, 로그인 8%
+    private static final int DASHBOARD = 55;
+    private static final int DOSE = DASHBOARD + 25;
+    private static final int DIARY = DOSE + 12;
+    private static final String[] SYMPTOMS = {"두통", "어지러움", "메스꺼움", "피로", "복통"};
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss");
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final List<SyntheticMember> members;
+    private final LatencyRecorder recorder;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, String> accessTokens = new ConcurrentHashMap<>();
+
+    TrafficMix(String baseUrl, List<SyntheticMember> members, LatencyRecorder recorder) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        this.baseUrl = baseUrl;
+        this.members = members;
+        this.recorder = recorder;
+    }
+
+    void run(Random random, boolean measure) {
+        SyntheticMember member = members.get(random.nextInt(members.size()));
+        String token = accessTokens.get(member.id());
+        int roll = random.nextInt(100);
+
+        // 토큰이 없는 회원은 먼저 로그인한다 (로그인 비율과 별개)
+        if (token == null || roll >= DIARY) {
+            login(member, measure);
+            return;
+        }
+        if (roll < DASHBOARD) {
+            send("MainController.show", get("/api/v1/main?time=" + LocalTime.now().format(TIME), token), measure);
+        } else if (roll < DOSE) {
+            SyntheticMember.Dose dose = member.doses().get(random.nextInt(member.doses().size()));
+            send("MedicineController.getUpcomingAlarm",
+                    get("/api/v1/medicines?time=" + dose.time().format(TIME) + "&medicineId=" + dose.medicineId(), token), measure);
+        } else {
+            Map<String, Object> body = Map.of(
+                    "date", LocalDate.now().minusDays(random.nextInt(7)).toString(),
+                    "symptom", List.of(SYMPTOMS[random.nextInt(SYMPTOMS.length)]),
+                    "score", 1 + random.nextInt(10),
+                    "record", "부하 테스트 일기");
+            send("DiaryController.create", post("/api/v1/diaries", body, token), measure);
+        }
+    }
+
+    private void login(SyntheticMember member, boolean measure) {
+        HttpRequest request = post("/api/v1/members/login", Map.of("email", member.email(), "password", member.password()), null);
+        HttpResponse<String> response = send("MemberController.login", request, measure);
+        if (response == null || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            JsonNode accessToken = objectMapper.readTree(response.body()).path("tokenInfo").path("accessToken");
+            if (accessToken.isTextual()) {
+                accessTokens.put(member.id(), accessToken.asText());
+            }
+        } catch (IOException e) {
+            // 응답을 못 읽으면 다음 요청에서 다시 로그인한다
+        }
+    }
+
+    private HttpResponse<String> send(String label, HttpRequest request, boolean measure) {
+        long start = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // 연결 실패도 오류로 기록한다
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (measure) {
+            recorder.record(label, System.nanoTime() - start, response != null && response.statusCode() < 400);
+        }
+        return response;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, Object body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        try {
+            return builder.POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body))).build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
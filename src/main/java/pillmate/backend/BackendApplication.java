@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import pillmate.backend.service.catalog.MedicineImportRunner;
 
 import java.util.TimeZone;
 
@@ -14,7 +15,14 @@ public class BackendApplication {
 
 	public static void main(String[] args) {
 		TimeZone.setDefault(TimeZone.getTimeZone("Asia/Seoul"));
-		SpringApplication.run(BackendApplication.class, args);
+		SpringApplication application = new SpringApplication(BackendApplication.class);
+
+		// 약 카탈로그 일괄 등록 모드: HTTP 포트를 열지 않고 실행하고 끝나면 종료한다
+		if (MedicineImportRunner.isImportMode(args)) {
+			System.exit(SpringApplication.exit(application.run(MedicineImportRunner.withImportOptions(args))));
+		}
+
+		application.run(args);
 	}
 
 }
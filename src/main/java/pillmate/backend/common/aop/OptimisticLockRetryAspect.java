@@ -0,0 +1,59 @@
+package pillmate.backend.common.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * &#064;RetryOnOptimisticLock 메소드를 최대 3번까지 실행하고, 충돌/재시도/포기 횟수를 메트릭으로 남긴다.
+ * Alarm, MedicinePerMember 는 @Version 을 가지고 있어서 여러 기기에서 동시에 수정하면 나중 커밋이 실패하고, 여기서 재시도한다.
+ * 끝까지 실패하면 GlobalExceptionAdvice 가 409 (CONFLICT_CONCURRENT_UPDATE) 로 응답한다.
+ * 트랜잭션 어드바이스보다 바깥에서 실행되어야 재시도마다 새 트랜잭션이 열린다.
+ * /actuator/metrics/pillmate.optimistic-lock.conflicts?tag=operation:alarm.availability
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@RequiredArgsConstructor
+public class OptimisticLockRetryAspect {
+    static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_MILLIS = 20;
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(retryOnOptimisticLock)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnOptimisticLock retryOnOptimisticLock) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = retryOnOptimisticLock.value();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("pillmate.optimistic-lock.conflicts", "operation", operation).increment();
+                if (attempt >= MAX_ATTEMPTS) {
+                    meterRegistry.counter("pillmate.optimistic-lock.exhausted", "operation", operation).increment();
+                    log.warn("optimistic lock retry exhausted. operation = {}, attempts = {}", operation, attempt);
+                    throw e;
+                }
+                meterRegistry.counter("pillmate.optimistic-lock.retries", "operation", operation).increment();
+                log.info("optimistic lock conflict, retrying. operation = {}, attempt = {}", operation, attempt);
+                // 같은 시점에 재시도가 겹치지 않도록 조금씩 다르게 쉰다
+                Thread.sleep(BACKOFF_MILLIS * attempt + ThreadLocalRandom.current().nextLong(BACKOFF_MILLIS));
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package pillmate.backend.common.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 락(@Version) 충돌 시 트랜잭션 전체를 다시 실행한다. (OptimisticLockRetryAspect)
+ * 이미 진행 중인 트랜잭션 안에서 호출되면 재시도하지 않고 바깥 메소드에 맡긴다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnOptimisticLock {
+    /**
+     * 메트릭 operation 태그 값
+     */
+    String value();
+}
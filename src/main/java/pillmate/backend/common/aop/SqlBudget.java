@@ -0,0 +1,20 @@
+package pillmate.backend.common.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 메소드 한 번에 나갈 수 있는 SQL 문 수의 상한 (SqlBudgetAspect)
+ * 넘으면 test 에서는 실패하고, dev 프로파일에서는 지연 로딩된 연관 경로와 함께 경고를 남긴다.
+ * 상한 안이어도 같은 연관 경로를 두 번 이상 지연 로딩하면(N+1) 같이 처리한다. 그래서 상한은 데이터 양과 상관없는 상수로 정한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    /**
+     * 허용하는 SQL 문 수
+     */
+    int value();
+}
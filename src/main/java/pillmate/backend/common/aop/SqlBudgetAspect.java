@@ -0,0 +1,88 @@
+package pillmate.backend.common.aop;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import pillmate.backend.common.metrics.RequestMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * &#064;SqlBudget 메소드가 실행되는 동안 나간 SQL 문을 세서 상한을 넘었는지, 같은 연관 경로를 여러 번 지연 로딩했는지(N+1) 본다.
+ * 테스트 데이터가 적으면 N+1 이라도 상한 안에 들어오므로 지연 로딩 반복은 문 수와 따로 본다.
+ * sql-budget.mode 가 fail 이면 예외를 던지고(test), warn 이면 경고만 남긴다. 지정하지 않으면 dev 프로파일에서만 warn 이다.
+ * 트랜잭션 어드바이스보다 바깥에서 실행되어 커밋 시점의 flush 까지 센다.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class SqlBudgetAspect {
+    enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private final Mode mode;
+
+    public SqlBudgetAspect(Environment environment) {
+        String mode = environment.getProperty("sql-budget.mode");
+        if (mode != null) {
+            this.mode = Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+        } else {
+            this.mode = environment.acceptsProfiles(Profiles.of("dev")) ? Mode.WARN : Mode.OFF;
+        }
+    }
+
+    @Around("@annotation(sqlBudget)")
+    public Object check(ProceedingJoinPoint joinPoint, SqlBudget sqlBudget) throws Throwable {
+        if (mode == Mode.OFF) {
+            return joinPoint.proceed();
+        }
+
+        // 요청 안이면 요청의 카운터를 같이 쓰고, 스케줄러/테스트처럼 요청 밖이면 여기서 연다
+        RequestMetrics outer = RequestMetrics.current();
+        RequestMetrics metrics = outer != null ? outer : RequestMetrics.start();
+        metrics.trackAssociationLoads();
+        int statementsBefore = metrics.getSqlStatements();
+        int loadsBefore = metrics.getAssociationLoads().size();
+        try {
+            Object result = joinPoint.proceed();
+            int statements = metrics.getSqlStatements() - statementsBefore;
+            Map<String, Long> loadsByPath = countByPath(metrics.getAssociationLoads().subList(loadsBefore, metrics.getAssociationLoads().size()));
+            if (statements > sqlBudget.value()) {
+                report(String.format("sql budget exceeded. method = %s, budget = %d, statements = %d, association loads = %s",
+                        joinPoint.getSignature().toShortString(), sqlBudget.value(), statements, loadsByPath));
+            } else if (loadsByPath.values().stream().anyMatch(count -> count > 1)) {
+                report(String.format("repeated association loads (n+1). method = %s, budget = %d, statements = %d, association loads = %s",
+                        joinPoint.getSignature().toShortString(), sqlBudget.value(), statements, loadsByPath));
+            }
+            return result;
+        } finally {
+            if (outer == null) {
+                RequestMetrics.clear();
+            }
+        }
+    }
+
+    private static Map<String, Long> countByPath(List<String> associationLoads) {
+        return associationLoads.stream()
+                .collect(Collectors.groupingBy(path -> path, LinkedHashMap::new, Collectors.counting()));
+    }
+
+    private void report(String message) {
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException(message);
+        }
+        log.warn(message);
+    }
+}
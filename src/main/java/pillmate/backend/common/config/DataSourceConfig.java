@@ -0,0 +1,74 @@
+package pillmate.backend.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import pillmate.backend.common.datasource.ReplicaLagMonitor;
+import pillmate.backend.common.datasource.ReplicationRoutingDataSource;
+
+import javax.sql.DataSource;
+
+/**
+ * primary/레플리카 DataSource 설정 사항들
+ * datasource.replica.jdbc-url 이 있을 때만 켜지고, 없으면 spring.datasource 하나로 자동 설정된 DataSource 를 그대로 쓴다.
+ * 두 풀은 각각 bean 으로 등록되어 hikaricp.connections.* 지표가 pool=primary/replica 태그로 따로 나온다.
+ * <pre>
+ * datasource.replica.jdbc-url=jdbc:mysql://replica:3306/pillmate
+ * datasource.replica.username=...
+ * datasource.replica.password=...
+ * datasource.replica.connection-timeout=1000
+ * datasource.routing.max-lag-seconds=5
+ * </pre>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "jdbc-url")
+public class DataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${datasource.routing.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+                                               @Value("${datasource.routing.max-lag-seconds:5}") long maxLagSeconds,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor replicaLagMonitor = new ReplicaLagMonitor(replicaDataSource, lagQuery, maxLagSeconds);
+        Gauge.builder("pillmate.datasource.replica.lag", replicaLagMonitor, ReplicaLagMonitor::getLagSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        replicaLagMonitor.check();
+        return replicaLagMonitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, meterRegistry));
+    }
+}
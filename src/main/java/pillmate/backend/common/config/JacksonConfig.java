@@ -0,0 +1,22 @@
+package pillmate.backend.common.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP 요청/응답용 ObjectMapper 설정 사항들
+ * Module bean 은 Spring Boot 가 자동 설정하는 ObjectMapper 에 등록된다.
+ * 필터, outbox, Redis 캐시처럼 HTTP 밖에서 쓰는 매퍼는 JsonMappers 에 있다.
+ */
+@Configuration
+public class JacksonConfig {
+    /**
+     * getter/setter 호출을 리플렉션 대신 생성된 람다로 바꿔서 직렬화/역직렬화를 빠르게 한다.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,52 @@
+package pillmate.backend.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * JPA/Hibernate 관련 설정 사항들
+ * Alarm, MedicinePerMember, MedicineRecord, Diary 는 id_sequence 테이블로 id 를 미리 할당받으므로 INSERT 를 batch 로 묶어 보낼 수 있다.
+ */
+@Configuration
+public class JpaConfig {
+    public static final int BATCH_SIZE = 50;
+
+    @Bean
+    public HibernatePropertiesCustomizer batchPropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", BATCH_SIZE);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+            properties.putIfAbsent("hibernate.jdbc.batch_versioned_data", true);
+        };
+    }
+
+    /**
+     * MySQL 드라이버가 batch 를 다중 행 INSERT 한 번으로 보내도록 rewriteBatchedStatements 를 켠다.
+     * fetch size 를 준 스트리밍 조회(StreamingJson)가 결과를 한 번에 받지 않고 나눠 받도록 useCursorFetch 도 켠다.
+     * fetch size 를 주지 않은 조회는 영향이 없다.
+     * bean 이 아닌 풀(ShardConfig 의 샤드 풀)은 만들 때 applyDriverProperties 를 직접 부른다.
+     */
+    @Bean
+    public static BeanPostProcessor rewriteBatchedStatementsPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    applyDriverProperties(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static void applyDriverProperties(HikariDataSource dataSource) {
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith("jdbc:mysql")) {
+            dataSource.addDataSourceProperty("rewriteBatchedStatements", "true");
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+    }
+}
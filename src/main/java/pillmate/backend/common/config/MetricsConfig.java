@@ -0,0 +1,53 @@
+package pillmate.backend.common.config;
+
+import io.lettuce.core.AbstractRedisClient;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import pillmate.backend.common.metrics.AssociationLoadListener;
+import pillmate.backend.common.metrics.RedisCommandCounter;
+import pillmate.backend.common.metrics.RowHydrationCounter;
+import pillmate.backend.common.metrics.SqlStatementCounter;
+
+import java.util.List;
+
+/**
+ * 컨트롤러 메서드별 지표 설정 사항들
+ * SQL 문/읽어 들인 엔티티 수는 Hibernate, Redis 명령 수는 Lettuce 에 걸어서 세고, RequestMetricsFilter 가 요청이 끝날 때 기록한다.
+ * metrics.properties 는 application.properties 보다 우선순위가 낮으므로 운영 설정에서 덮어쓸 수 있다.
+ */
+@Configuration
+@PropertySource("classpath:metrics.properties")
+public class MetricsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer metricsPropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+            properties.putIfAbsent(AvailableSettings.INTERCEPTOR, new RowHydrationCounter());
+            // SqlBudgetAspect 가 경고/실패 메시지에 지연 로딩된 연관 경로를 남기는 데 쓴다
+            properties.putIfAbsent("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new AssociationLoadListener()));
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor redisCommandCounterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory connectionFactory) {
+                    AbstractRedisClient client = connectionFactory.getNativeClient();
+                    if (client != null) {
+                        client.addListener(new RedisCommandCounter());
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package pillmate.backend.common.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,6 +21,7 @@ import pillmate.backend.common.exception.handler.CustomAuthenticationEntryPoint;
 import pillmate.backend.common.exception.handler.HttpRequestEndPointChecker;
 import pillmate.backend.common.filter.JwtAuthenticationFilter;
 import pillmate.backend.common.filter.JwtExceptionHandlerFilter;
+import pillmate.backend.common.shard.ShardTemplate;
 import pillmate.backend.common.util.JwtTokenProvider;
 
 /**
@@ -32,6 +34,8 @@ import pillmate.backend.common.util.JwtTokenProvider;
 public class SecurityConfig {
     private final HttpRequestEndPointChecker httpRequestEndPointChecker;
     private final JwtTokenProvider jwtTokenProvider;
+    private final ObservationRegistry observationRegistry;
+    private final ShardTemplate shardTemplate;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -58,7 +62,7 @@ public class SecurityConfig {
                 .and()
                 .exceptionHandling().authenticationEntryPoint(new CustomAuthenticationEntryPoint(httpRequestEndPointChecker))
                 .and()
-                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(new JwtAuthenticationFilter(jwtTokenProvider, observationRegistry, shardTemplate), UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(new JwtExceptionHandlerFilter(), JwtAuthenticationFilter.class);
         return http.build();
     }
@@ -0,0 +1,84 @@
+package pillmate.backend.common.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import pillmate.backend.common.shard.ShardRebalancer;
+import pillmate.backend.common.shard.ShardRoutingDataSource;
+import pillmate.backend.common.shard.ShardTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 회원 샤드 DataSource 설정 사항들
+ * shard.names 가 있을 때만 켜지고, 샤드마다 풀을 하나씩 만들어 회원 id 로 고른다. (ShardTemplate, ShardRoutingDataSource)
+ * 첫 번째 샤드가 전역 샤드다. 레플리카 라우팅(DataSourceConfig)과 함께 켜지 않는다.
+ * 샤드를 추가/제거할 때는 서비스를 내리고 shard.names 를 바꾼 뒤, 제거할 샤드를 shard.retired 에 두고
+ * shard.rebalance.enabled=true 로 한 번 실행해 회원 데이터를 옮긴다.
+ * <pre>
+ * shard.names=shard-0,shard-1
+ * shard.datasources.shard-0.jdbc-url=jdbc:mysql://shard-0:3306/pillmate
+ * shard.datasources.shard-0.username=...
+ * shard.datasources.shard-0.password=...
+ * shard.datasources.shard-1.jdbc-url=jdbc:mysql://shard-1:3306/pillmate
+ * ...
+ * </pre>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "shard", name = "names")
+public class ShardConfig {
+    @Bean
+    public ShardRoutingDataSource shardRoutingDataSource(@Value("${shard.names}") List<String> names,
+                                                         @Value("${shard.retired:}") List<String> retired,
+                                                         Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<String, DataSource> shardDataSources = new LinkedHashMap<>();
+        for (String shard : names) {
+            shardDataSources.put(shard, shardDataSource(binder, shard));
+        }
+        // 옮기는 동안만 쓰이고, ShardMap 에는 없으므로 요청이 가지 않는다
+        for (String shard : retired) {
+            shardDataSources.put(shard, shardDataSource(binder, shard));
+        }
+        // 첫 번째 샤드가 전역 샤드다 (ShardMap.global)
+        return new ShardRoutingDataSource(shardDataSources, names.get(0));
+    }
+
+    private HikariDataSource shardDataSource(Binder binder, String shard) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(shard);
+        binder.bind("shard.datasources." + shard, Bindable.ofInstance(dataSource))
+                .orElseThrow(() -> new IllegalStateException("shard datasource is not configured. shard = " + shard));
+        // bean 이 아니라서 JpaConfig 의 BeanPostProcessor 를 거치지 않는다
+        JpaConfig.applyDriverProperties(dataSource);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardRoutingDataSource shardRoutingDataSource) {
+        return new ShardRebalancer(shardRoutingDataSource.getShardDataSources());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shard.rebalance.enabled", havingValue = "true")
+    public ApplicationRunner shardRebalanceRunner(ShardRebalancer shardRebalancer, ShardTemplate shardTemplate) {
+        return args -> shardRebalancer.rebalance(shardTemplate.getShardMap());
+    }
+}
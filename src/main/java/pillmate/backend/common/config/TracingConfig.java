@@ -0,0 +1,37 @@
+package pillmate.backend.common.config;
+
+import io.lettuce.core.tracing.MicrometerTracing;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import pillmate.backend.common.tracing.SlowRequestSpanExporter;
+
+import java.time.Duration;
+
+/**
+ * 분산 추적 설정 사항들
+ * 요청(루트 span) 아래에 JWT 인증, 리포지토리 호출, Redis 명령, 소셜 서버 호출(WebClient) span 이 달린다.
+ * 샘플링된 요청 중 느린 요청은 SlowRequestSpanExporter 가 하위 호출별 소요 시간과 함께 로그로 남긴다.
+ * tracing.properties 는 application.properties 보다 우선순위가 낮으므로 운영 설정에서 덮어쓸 수 있다.
+ */
+@Configuration
+@PropertySource("classpath:tracing.properties")
+public class TracingConfig {
+    @Bean
+    public SlowRequestSpanExporter slowRequestSpanExporter(@Value("${tracing.slow-request.threshold-ms:500}") long thresholdMillis,
+                                                           @Value("${tracing.slow-request.top-spans:5}") int topSpans,
+                                                           @Value("${tracing.slow-request.kept:100}") int kept) {
+        return new SlowRequestSpanExporter(Duration.ofMillis(thresholdMillis), topSpans, kept);
+    }
+
+    /**
+     * Redis 명령마다 span 을 만든다.
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer redisTracingCustomizer(ObservationRegistry observationRegistry) {
+        return builder -> builder.tracing(new MicrometerTracing(observationRegistry, "pillmate-redis"));
+    }
+}
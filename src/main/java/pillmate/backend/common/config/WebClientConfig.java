@@ -1,5 +1,6 @@
 package pillmate.backend.common.config;
 
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -16,10 +17,14 @@ public class WebClientConfig {
 
     /**
      * 인증 키를 포함 한 URL을 입력 받을 때 인코딩 관련 오류가 발생하므로, WebClient 에서 URL 인코딩을 하지 않도록 하기 위해 DefaultUriBuilderFactory 객체를 추가
+     * 소셜 서버 호출(OAuth2Service)도 span 으로 남도록 ObservationRegistry 를 붙인다.
      * @return URL 인코딩이 되지 않는 WebClient
      */
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().uriBuilderFactory(defaultUriBuilderFactory()).build();
+    public WebClient webClient(ObservationRegistry observationRegistry) {
+        return WebClient.builder()
+                .uriBuilderFactory(defaultUriBuilderFactory())
+                .observationRegistry(observationRegistry)
+                .build();
     }
 }
@@ -1,18 +1,38 @@
 package pillmate.backend.common.config;
 
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.Ordered;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import pillmate.backend.common.etag.ConditionalGetInterceptor;
+import pillmate.backend.common.etag.ResourceVersionStore;
 import pillmate.backend.common.util.LoggedInMemberResolver;
 
 import java.util.List;
 
+/**
+ * MVC 설정 사항들
+ * web.properties (응답 압축) 는 application.properties 보다 우선순위가 낮으므로 운영 설정에서 덮어쓸 수 있다.
+ */
 @Configuration
+@PropertySource("classpath:web.properties")
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+    private final ResourceVersionStore resourceVersionStore;
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
         resolvers.add(new LoggedInMemberResolver());
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 304 로 끝나는 요청은 OSIV 인터셉터가 EntityManager 를 열기 전에 끝낸다
+        registry.addInterceptor(new ConditionalGetInterceptor(resourceVersionStore))
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
 }
@@ -0,0 +1,8 @@
+package pillmate.backend.common.datasource;
+
+/**
+ * 커넥션을 가져올 DB
+ */
+public enum DataSourceRoute {
+    PRIMARY, REPLICA
+}
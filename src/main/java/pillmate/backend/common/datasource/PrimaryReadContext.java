@@ -0,0 +1,42 @@
+package pillmate.backend.common.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션도 primary 에서 읽어야 하는 현재 스레드의 요청
+ * ETag 를 붙이는 응답(ConditionalGetInterceptor)은 버전을 읽은 뒤의 본문이 그 버전보다 오래되면 안 되므로 레플리카를 쓰지 않는다.
+ * ReplicationRoutingDataSource 가 커넥션을 가져올 때 읽는다.
+ */
+public final class PrimaryReadContext {
+    private static final ThreadLocal<Boolean> FORCED = new ThreadLocal<>();
+
+    private PrimaryReadContext() {
+    }
+
+    public static void force() {
+        FORCED.set(Boolean.TRUE);
+    }
+
+    public static void clear() {
+        FORCED.remove();
+    }
+
+    public static boolean isForced() {
+        return Boolean.TRUE.equals(FORCED.get());
+    }
+
+    /**
+     * 요청 스레드에서 읽은 값을 비동기 스레드에서 그대로 적용해 실행한다. (StreamingJson)
+     */
+    public static <T> T call(boolean forced, Supplier<T> work) {
+        if (!forced) {
+            return work.get();
+        }
+        force();
+        try {
+            return work.get();
+        } finally {
+            clear();
+        }
+    }
+}
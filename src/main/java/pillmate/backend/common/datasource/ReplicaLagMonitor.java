@@ -0,0 +1,83 @@
+package pillmate.backend.common.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * 레플리카 복제 지연을 주기적으로 확인한다.
+ * 지연이 maxLagSeconds 를 넘거나, 복제가 멈췄거나(Seconds_Behind_Source 가 NULL), 레플리카에 붙을 수 없으면
+ * 다음 확인에서 회복될 때까지 읽기 전용 트랜잭션도 primary 로 보낸다.
+ * 확인은 스케줄러 스레드에서 돌므로 레플리카 풀의 connection-timeout 은 짧게 (1초 정도) 두는 것이 좋다.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate jdbcTemplate;
+    private final String lagQuery;
+    private final long maxLagSeconds;
+
+    // 처음 확인하기 전에는 primary 로 보낸다
+    private volatile boolean replicaUsable = false;
+    private volatile long lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, long maxLagSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.routing.lag-check-ms:1000}")
+    public void check() {
+        Long lag;
+        try {
+            lag = jdbcTemplate.query(lagQuery, resultSet -> {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                long seconds = resultSet.getLong("Seconds_Behind_Source");
+                return resultSet.wasNull() ? null : seconds;
+            });
+        } catch (DataAccessException e) {
+            unavailable("failed to check replica lag", e);
+            return;
+        }
+
+        boolean usable = lag != null && lag <= maxLagSeconds;
+        if (usable != replicaUsable) {
+            log.info("replica {}. lag = {}s, max lag = {}s", usable ? "is back in use" : "lags behind, reads go to primary",
+                    lag, maxLagSeconds);
+        }
+        lagSeconds = lag == null ? -1 : lag;
+        replicaUsable = usable;
+    }
+
+    /**
+     * 레플리카 커넥션을 가져오지 못했을 때 (ReplicationRoutingDataSource)
+     */
+    void unavailable(SQLException e) {
+        unavailable("failed to get replica connection, reads go to primary", e);
+    }
+
+    private void unavailable(String message, Exception e) {
+        if (replicaUsable) {
+            log.warn(message, e);
+        }
+        replicaUsable = false;
+        lagSeconds = -1;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * 마지막으로 확인한 복제 지연 (초), 알 수 없으면 -1
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+}
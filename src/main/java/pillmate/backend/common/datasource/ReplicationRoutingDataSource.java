@@ -0,0 +1,66 @@
+package pillmate.backend.common.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * &#064;Transactional(readOnly = true) 트랜잭션은 레플리카로, 나머지는 primary 로 보낸다.
+ * 트랜잭션이 시작될 때가 아니라 첫 SQL 을 보낼 때 커넥션을 가져와야 readOnly 여부를 알 수 있으므로
+ * LazyConnectionDataSourceProxy 로 감싸서 쓴다. (DataSourceConfig)
+ * 레플리카가 지연되고 있거나 커넥션을 가져오지 못하면 primary 로 보낸다.
+ * ETag 를 붙이는 요청처럼 PrimaryReadContext 가 지정된 스레드는 readOnly 여도 primary 로 보낸다.
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter fallbackConnections;
+
+    public ReplicationRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor replicaLagMonitor,
+                                       MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.primaryConnections = meterRegistry.counter("pillmate.datasource.connections", "route", "primary");
+        this.replicaConnections = meterRegistry.counter("pillmate.datasource.connections", "route", "replica");
+        this.fallbackConnections = meterRegistry.counter("pillmate.datasource.connections", "route", "replica-fallback");
+        setTargetDataSources(Map.of(DataSourceRoute.PRIMARY, primary, DataSourceRoute.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && !PrimaryReadContext.isForced()
+                && replicaLagMonitor.isReplicaUsable()) {
+            return DataSourceRoute.REPLICA;
+        }
+        return DataSourceRoute.PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (determineCurrentLookupKey() == DataSourceRoute.REPLICA) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                replicaLagMonitor.unavailable(e);
+                fallbackConnections.increment();
+            }
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+}
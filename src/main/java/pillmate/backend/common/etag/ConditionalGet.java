@@ -0,0 +1,19 @@
+package pillmate.backend.common.etag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 로그인한 회원의 자원 버전으로 ETag 를 붙이는 GET 핸들러 (ConditionalGetInterceptor)
+ * If-None-Match 가 현재 버전과 같으면 핸들러를 실행하지 않고 304 로 응답한다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    /**
+     * 응답이 기대는 자원
+     */
+    VersionedResource value();
+}
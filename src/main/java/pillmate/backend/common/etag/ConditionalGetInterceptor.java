@@ -0,0 +1,75 @@
+package pillmate.backend.common.etag;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import pillmate.backend.common.datasource.PrimaryReadContext;
+
+import java.security.Principal;
+import java.time.LocalDate;
+
+/**
+ * @ConditionalGet 핸들러에 강한 ETag 를 붙이고, If-None-Match 가 같으면 핸들러 없이 304 로 끝낸다.
+ * ETag 는 회원, 자원, 자원 버전 (날짜에 따라 바뀌는 자원은 오늘 날짜까지) 으로 만들어서 버전 조회만으로 정해진다.
+ * 304 응답은 ResourceVersionStore 만 보고 JPA 는 건드리지 않는다. (WebConfig 에서 OSIV 보다 앞에 둔다)
+ * 버전을 먼저 읽고 DB 를 읽으므로, 그 사이에 커밋된 쓰기는 다음 요청에서 버전이 달라 200 으로 받는다.
+ * 지연된 레플리카의 오래된 본문이 새 ETag 로 캐시되지 않도록, ETag 를 붙여 200 으로 응답하는 요청은 primary 에서 읽는다. (PrimaryReadContext)
+ */
+@RequiredArgsConstructor
+public class ConditionalGetInterceptor implements AsyncHandlerInterceptor {
+    // 브라우저/앱은 저장하되 매번 검증하고, 공유 캐시는 회원 응답을 저장하지 않는다
+    private static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ResourceVersionStore resourceVersionStore;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        ConditionalGet conditionalGet = handlerMethod.getMethodAnnotation(ConditionalGet.class);
+        Principal principal = request.getUserPrincipal();
+        if (conditionalGet == null || principal == null) {
+            return true;
+        }
+
+        Long memberId = Long.parseLong(principal.getName());
+        VersionedResource resource = conditionalGet.value();
+        String version = resourceVersionStore.version(memberId, resource);
+        if (version == null) {
+            return true;
+        }
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // 일치하면 304 와 ETag 를, 아니면 ETag 만 응답에 넣는다
+        if (new ServletWebRequest(request, response).checkNotModified(etag(memberId, resource, version))) {
+            return false;
+        }
+        PrimaryReadContext.force();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 비동기 응답(StreamingJson)은 요청 스레드에서 값을 읽어 가므로 요청 스레드에서는 지운다
+        PrimaryReadContext.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        PrimaryReadContext.clear();
+    }
+
+    private String etag(Long memberId, VersionedResource resource, String version) {
+        String etag = resource.name().toLowerCase() + "-" + memberId + "-" + version;
+        if (resource.isDaily()) {
+            etag += "-" + LocalDate.now();
+        }
+        return "\"" + etag + "\"";
+    }
+}
@@ -0,0 +1,135 @@
+package pillmate.backend.common.etag;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pillmate.backend.dto.outbox.MemberDataChangedEvent;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 회원별 자원 버전 (ETag 의 재료)
+ * Redis 키 pillmate:version:{memberId}:{자원} 에 임의의 버전 문자열을 두고, 쓰기가 커밋되면 새 값으로 바꾼다.
+ * 모든 회원의 자원이 바뀌면 pillmate:version:global:{자원} 을 바꾸고, 회원 버전과 함께 읽는다.
+ * 키가 없으면 (처음이거나 만료) 새 값을 만들므로 예전 ETag 와 겹치지 않는다.
+ * 같은 회원의 잦은 재조회에 Redis 를 매번 부르지 않도록 이 서버에서 etag.local-ttl-ms 동안 기억한다.
+ * 그래서 다른 서버에서 일어난 쓰기는 최대 그 시간만큼 늦게 보일 수 있다.
+ * Redis 를 쓸 수 없으면 버전을 주지 않고, 그때는 ETag 없이 항상 DB 에서 읽는다.
+ */
+@Slf4j
+@Component
+public class ResourceVersionStore {
+    private static final String KEY_PREFIX = "pillmate:version:";
+    private static final String GLOBAL = "global";
+    private static final String NO_GLOBAL_VERSION = "0";
+    private static final int LOCAL_MAX_SIZE = 10_000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration ttl;
+    private final long localTtlNanos;
+    private final Map<String, LocalVersion> localVersions = new ConcurrentHashMap<>();
+
+    public ResourceVersionStore(StringRedisTemplate stringRedisTemplate,
+                                @Value("${etag.version-ttl-days:7}") long ttlDays,
+                                @Value("${etag.local-ttl-ms:1000}") long localTtlMillis) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.localTtlNanos = Duration.ofMillis(localTtlMillis).toNanos();
+    }
+
+    private record LocalVersion(String version, long expiresAt) {
+    }
+
+    /**
+     * @return 회원의 자원 버전. Redis 를 쓸 수 없으면 null
+     */
+    public String version(Long memberId, VersionedResource resource) {
+        String memberKey = key(memberId.toString(), resource);
+        long now = System.nanoTime();
+        LocalVersion local = localVersions.get(memberKey);
+        if (local != null && now - local.expiresAt() < 0) {
+            return local.version();
+        }
+
+        String version;
+        try {
+            version = load(memberKey, key(GLOBAL, resource));
+        } catch (DataAccessException e) {
+            log.warn("redis unavailable, response is sent without etag. key = {}", memberKey, e);
+            return null;
+        }
+        if (version != null) {
+            if (localVersions.size() >= LOCAL_MAX_SIZE) {
+                localVersions.clear();
+            }
+            localVersions.put(memberKey, new LocalVersion(version, now + localTtlNanos));
+        }
+        return version;
+    }
+
+    private String load(String memberKey, String globalKey) {
+        ValueOperations<String, String> operations = stringRedisTemplate.opsForValue();
+        List<String> values = operations.multiGet(List.of(memberKey, globalKey));
+        String memberVersion = values == null ? null : values.get(0);
+        String globalVersion = values == null || values.get(1) == null ? NO_GLOBAL_VERSION : values.get(1);
+        if (memberVersion == null) {
+            String created = newVersion();
+            memberVersion = Boolean.TRUE.equals(operations.setIfAbsent(memberKey, created, ttl))
+                    ? created
+                    : operations.get(memberKey);
+        }
+        return memberVersion == null ? null : memberVersion + "." + globalVersion;
+    }
+
+    /**
+     * 자원 버전을 바로 올린다. 트랜잭션 안에서는 MemberDataChangedEvent 를 발행해서 커밋 후에 올리게 한다.
+     * @param memberId null 이면 모든 회원
+     */
+    public void bump(Long memberId, Set<VersionedResource> resources) {
+        for (VersionedResource resource : resources) {
+            String key = key(memberId == null ? GLOBAL : memberId.toString(), resource);
+            try {
+                if (memberId == null) {
+                    stringRedisTemplate.opsForValue().set(key, newVersion());
+                } else {
+                    stringRedisTemplate.opsForValue().set(key, newVersion(), ttl);
+                }
+            } catch (DataAccessException e) {
+                log.error("resource version bump failed. key = {}", key, e);
+            }
+        }
+        if (memberId == null) {
+            localVersions.clear();
+        } else {
+            resources.forEach(resource -> localVersions.remove(key(memberId.toString(), resource)));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onChanged(MemberDataChangedEvent event) {
+        Set<VersionedResource> resources = VersionedResource.affectedBy(event.type());
+        if (!resources.isEmpty()) {
+            bump(event.memberId(), resources);
+        }
+    }
+
+    private String key(String owner, VersionedResource resource) {
+        return KEY_PREFIX + owner + ":" + resource.name().toLowerCase();
+    }
+
+    // 시각 + 난수라서 키가 만료된 뒤 다시 만들어도 예전 값과 겹치지 않는다
+    private String newVersion() {
+        return Long.toString(System.currentTimeMillis(), 36)
+                + Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    }
+}
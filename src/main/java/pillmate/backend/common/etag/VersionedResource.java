@@ -0,0 +1,35 @@
+package pillmate.backend.common.etag;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import pillmate.backend.entity.DomainEventType;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 회원별로 버전을 매기는 조회 자원 (ResourceVersionStore)
+ */
+@Getter
+@RequiredArgsConstructor
+public enum VersionedResource {
+    // 복용 기간이 끝난 알람은 목록에서 빠지므로 날짜가 바뀌면 응답도 바뀐다
+    ALARMS(true),
+    MEDICINES(false),
+    HEALTH_INFO(false),
+    SYMPTOMS(false);
+
+    private final boolean daily;
+
+    /**
+     * 도메인 이벤트가 바꾸는 자원들
+     */
+    public static Set<VersionedResource> affectedBy(DomainEventType type) {
+        return switch (type) {
+            // 약 이름과 알람 시간은 알람 목록과 약 목록 모두에 나온다
+            case MEDICINE_ADDED, MEDICINE_MODIFIED, MEDICINE_DELETED, SCHEDULE_CHANGED -> EnumSet.of(ALARMS, MEDICINES);
+            case HEALTH_INFO_CHANGED -> EnumSet.of(HEALTH_INFO, SYMPTOMS);
+            case DOSE_TAKEN, DIARY_EDITED -> EnumSet.noneOf(VersionedResource.class);
+        };
+    }
+}
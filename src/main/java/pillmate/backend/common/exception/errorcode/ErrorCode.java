@@ -40,7 +40,8 @@ public enum ErrorCode {
     INVALID_MEDICINE("해당 약은 수정이 불가능합니다."),
     NOT_FOUND_MEDICINE_MEMBER("사용자의 약을 찾을 수 없습니다."),
     INVALID_SAME_MEDICINE("이미 존재하는 약이 있습니다."),
-    INVALID_EMAIL("이미 존재하는 이메일이 있습니다.");
+    INVALID_EMAIL("이미 존재하는 이메일이 있습니다."),
+    CONFLICT_CONCURRENT_UPDATE("다른 기기에서 동시에 수정되었습니다. 다시 시도해주세요.");
 
     private final String message;
     ErrorCode(String message) {
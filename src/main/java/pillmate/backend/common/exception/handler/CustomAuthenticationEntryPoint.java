@@ -1,6 +1,5 @@
 package pillmate.backend.common.exception.handler;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -10,7 +9,8 @@ import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
-import pillmate.backend.common.exception.response.ExceptionResponse;
+import pillmate.backend.common.exception.errorcode.ErrorCode;
+import pillmate.backend.common.util.JsonMappers;
 
 import java.io.IOException;
 
@@ -34,13 +34,19 @@ public class CustomAuthenticationEntryPoint implements AuthenticationEntryPoint
 
         if (!httpRequestEndPointChecker.existEndPoint(request)) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-            response.getWriter().write(new ObjectMapper().writeValueAsString(ExceptionResponse.from(NOT_FOUND_PAGE)));
+            write(response, NOT_FOUND_PAGE);
             log.info(LOG_FORMAT, authException.getClass().getSimpleName(), NOT_FOUND_PAGE, NOT_FOUND_PAGE.getMessage());
             return;
         }
 
         response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-        response.getWriter().write(new ObjectMapper().writeValueAsString(ExceptionResponse.from(NOT_HAVE_PERMISSION)));
+        write(response, NOT_HAVE_PERMISSION);
         log.info(LOG_FORMAT, authException.getClass().getSimpleName(), NOT_HAVE_PERMISSION, NOT_HAVE_PERMISSION.getMessage());
     }
+
+    private void write(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        byte[] body = JsonMappers.errorBody(errorCode);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
 }
@@ -2,6 +2,7 @@ package pillmate.backend.common.exception.handler;
 
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -25,9 +26,11 @@ import pillmate.backend.common.exception.errorcode.ParamErrorCode;
 import pillmate.backend.common.exception.response.ExceptionResponse;
 
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.HttpStatus.METHOD_NOT_ALLOWED;
 import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.HttpStatus.UNAUTHORIZED;
+import static pillmate.backend.common.exception.errorcode.ErrorCode.CONFLICT_CONCURRENT_UPDATE;
 import static pillmate.backend.common.exception.errorcode.ErrorCode.INVALID_REQUEST_BODY_TYPE;
 import static pillmate.backend.common.exception.errorcode.ErrorCode.NOT_FOUND_PAGE;
 import static pillmate.backend.common.exception.errorcode.ErrorCode.NOT_PARSING_BODY;
@@ -142,6 +145,17 @@ public class GlobalExceptionAdvice {
         return ResponseEntity.status(UNAUTHORIZED).body(ExceptionResponse.from(e));
     }
 
+    /**
+     * 낙관적 락 재시도(OptimisticLockRetryAspect)까지 모두 실패한 경우
+     * @param e OptimisticLockingFailureException
+     * @return 예외 메시지, 상태 코드를 담은 응답
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        log.info(LOG_FORMAT, e.getClass().getSimpleName(), CONFLICT_CONCURRENT_UPDATE.name(), e.getMessage());
+        return ResponseEntity.status(CONFLICT).body(ExceptionResponse.from(CONFLICT_CONCURRENT_UPDATE));
+    }
+
     /**
      * 잘못된 메소드로 요청이 왔을 때 발생하는 예외를 핸들링
      * @param e HttpRequestMethodNotSupportedException
@@ -1,5 +1,7 @@
 package pillmate.backend.common.filter;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +11,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
+import pillmate.backend.common.shard.ShardContext;
+import pillmate.backend.common.shard.ShardTemplate;
 import pillmate.backend.common.util.JwtTokenProvider;
 
 import java.io.IOException;
@@ -16,21 +20,37 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider jwtTokenProvider;
+    private final ObservationRegistry observationRegistry;
+    private final ShardTemplate shardTemplate;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        // 토큰 검증(블랙리스트/회원 조회 포함)만 span 으로 잡고, 뒤의 필터와 컨트롤러는 포함하지 않는다
+        try {
+            Observation.createNotStarted("pillmate.jwt.authentication", observationRegistry)
+                    .observe(() -> authenticate(request));
+
+            filterChain.doFilter(request, response);
+        } finally {
+            // 요청 스레드는 재사용되므로 다음 요청이 이전 회원의 샤드로 가지 않게 한다
+            ShardContext.clear();
+        }
+    }
+
+    private void authenticate(HttpServletRequest request) {
         // 1. Request Header 에서 JWT 토큰 추출
         String token = resolveTokenFromRequest(request);
 
         // 2. validateToken 으로 토큰 유효성 검사
         // null 체크를 하는 이유 : 토큰 값 없이 접속하는 사이트를 대비
         if (token != null && jwtTokenProvider.validateToken(token)) {
+            // 회원 조회부터 이 요청의 SQL 은 토큰의 회원(subject)이 속한 샤드로 간다
+            shardTemplate.bindMember(jwtTokenProvider.parseToken(token));
+
             // 토큰이 유효할 경우 토큰에서 Authentication 객체를 가져와서 SecurityContext 에 저장
             Authentication authentication = jwtTokenProvider.getAuthentication(token);
             SecurityContextHolder.getContext().setAuthentication(authentication);
         }
-
-        filterChain.doFilter(request, response);
     }
 
     private String resolveTokenFromRequest(HttpServletRequest request) {
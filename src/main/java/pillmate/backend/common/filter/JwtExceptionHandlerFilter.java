@@ -1,6 +1,5 @@
 package pillmate.backend.common.filter;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +10,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import pillmate.backend.common.exception.BadRequestException;
 import pillmate.backend.common.exception.NotAuthorizedException;
-import pillmate.backend.common.exception.response.ExceptionResponse;
+import pillmate.backend.common.util.JsonMappers;
 
 import java.io.IOException;
 
@@ -28,7 +27,10 @@ public class JwtExceptionHandlerFilter extends OncePerRequestFilter {
             int status = e instanceof BadRequestException ? HttpServletResponse.SC_BAD_REQUEST : HttpServletResponse.SC_UNAUTHORIZED;
             response.setStatus(status);
             response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
-            response.getWriter().write(new ObjectMapper().writeValueAsString(ExceptionResponse.from(e)));
+            // 토큰 만료가 몰릴 때도 매퍼를 만들거나 직렬화하지 않고 미리 만든 본문을 쓴다
+            byte[] body = JsonMappers.errorBody(e.getErrorCode());
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
             log.info(LOG_FORMAT, e.getClass().getSimpleName(), e.getErrorCode(), e.getMessage());
         }
     }
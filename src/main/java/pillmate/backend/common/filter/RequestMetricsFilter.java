@@ -0,0 +1,113 @@
+package pillmate.backend.common.filter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import pillmate.backend.common.metrics.RequestMetrics;
+import pillmate.backend.common.metrics.ThreadAllocation;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 컨트롤러 메서드별 응답 시간, SQL 문 수, Redis 명령 수, 읽어 들인 엔티티 수, 할당한 바이트 수를 기록한다.
+ * 응답을 비동기로 쓰는 요청(StreamingResponseBody)은 응답을 다 쓴 뒤에 기록한다.
+ * Spring Security 와 세션 필터보다 먼저 돌아서 인증/세션 조회에 쓰인 Redis 명령까지 해당 요청에 포함된다.
+ * 컨트롤러에 매핑되지 않은 요청(404, actuator 등)은 기록하지 않는다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class RequestMetricsFilter extends OncePerRequestFilter {
+    public static final String LATENCY = "pillmate.controller.latency";
+    public static final String SQL_STATEMENTS = "pillmate.controller.sql.statements";
+    public static final String REDIS_COMMANDS = "pillmate.controller.redis.commands";
+    public static final String ROWS_HYDRATED = "pillmate.controller.rows.hydrated";
+    public static final String ALLOCATED = "pillmate.controller.allocated";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RequestMetrics metrics = RequestMetrics.start();
+        long start = System.nanoTime();
+        long allocationStart = ThreadAllocation.currentBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            metrics.allocated(ThreadAllocation.since(allocationStart));
+            RequestMetrics.clear();
+            if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handlerMethod) {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().addListener(new RecordOnComplete(handlerMethod, response, start, metrics));
+                } else {
+                    record(handlerMethod, response.getStatus(), System.nanoTime() - start, metrics);
+                }
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class RecordOnComplete implements AsyncListener {
+        private final HandlerMethod handlerMethod;
+        private final HttpServletResponse response;
+        private final long start;
+        private final RequestMetrics metrics;
+
+        // 시간 초과나 오류로 끝나도 마지막에 onComplete 가 불린다
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(handlerMethod, response.getStatus(), System.nanoTime() - start, metrics);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private void record(HandlerMethod handlerMethod, int status, long elapsedNanos, RequestMetrics metrics) {
+        Tags tags = Tags.of(
+                "controller", handlerMethod.getBeanType().getSimpleName(),
+                "method", handlerMethod.getMethod().getName(),
+                "status", String.valueOf(status));
+
+        Timer.builder(LATENCY)
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        summary(SQL_STATEMENTS, "statements", tags).record(metrics.getSqlStatements());
+        summary(REDIS_COMMANDS, "commands", tags).record(metrics.getRedisCommands());
+        summary(ROWS_HYDRATED, "rows", tags).record(metrics.getRowsHydrated());
+        summary(ALLOCATED, "bytes", tags).record(metrics.getAllocatedBytes());
+    }
+
+    private DistributionSummary summary(String name, String baseUnit, Tags tags) {
+        return DistributionSummary.builder(name)
+                .baseUnit(baseUnit)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
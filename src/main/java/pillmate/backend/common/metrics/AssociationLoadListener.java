@@ -0,0 +1,51 @@
+package pillmate.backend.common.metrics;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.LoadEvent;
+import org.hibernate.event.spi.LoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * 프록시 초기화와 컬렉션 초기화처럼 연관을 따라 따로 SELECT 하는 순간을 잡아 연관 경로로 남긴다.
+ * 경로는 RowHydrationCounter 가 남겨 둔 것을 쓰므로 "Alarm.medicinePerMember.medicine" 처럼 처음 읽은 엔티티부터 이어진다.
+ */
+public class AssociationLoadListener implements Integrator, LoadEventListener, InitializeCollectionEventListener {
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.LOAD, this);
+        registry.appendListeners(EventType.INIT_COLLECTION, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    @Override
+    public void onLoad(LoadEvent event, LoadType loadType) {
+        // 프록시를 처음 건드렸을 때만 IMMEDIATE_LOAD 로 온다 (findById, 쿼리 결과는 해당 없음)
+        RequestMetrics metrics = RequestMetrics.current();
+        if (loadType != IMMEDIATE_LOAD || metrics == null || !metrics.isTrackingAssociationLoads()) {
+            return;
+        }
+        metrics.associationLoaded(metrics.pathOf(event.getEntityClassName(), event.getEntityId()));
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null || !metrics.isTrackingAssociationLoads() || event.getAffectedOwnerIdOrNull() == null) {
+            return;
+        }
+        String role = event.getCollection().getRole();
+        metrics.associationLoaded(metrics.pathOf(event.getAffectedOwnerEntityName(), event.getAffectedOwnerIdOrNull())
+                + role.substring(role.lastIndexOf('.')));
+    }
+}
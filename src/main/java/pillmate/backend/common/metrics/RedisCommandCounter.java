@@ -0,0 +1,15 @@
+package pillmate.backend.common.metrics;
+
+import io.lettuce.core.event.command.CommandListener;
+import io.lettuce.core.event.command.CommandStartedEvent;
+
+/**
+ * Lettuce 가 보내는 Redis 명령을 요청 단위로 센다.
+ * commandStarted 는 명령을 보내는 스레드에서 불리므로 요청 스레드의 RequestMetrics 에 더해진다.
+ */
+public class RedisCommandCounter implements CommandListener {
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        RequestMetrics.redisCommand();
+    }
+}
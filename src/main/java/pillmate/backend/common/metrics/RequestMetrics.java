@@ -0,0 +1,127 @@
+package pillmate.backend.common.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 요청 하나에서 나간 SQL 문, Redis 명령, 읽어 들인 엔티티 수와 할당한 바이트 수
+ * RequestMetricsFilter(또는 요청 밖에서는 SqlBudgetAspect)가 스레드에 열고 닫으며, 열려 있지 않은 스레드(스케줄러 등)에서는 아무것도 세지 않는다.
+ * 응답을 비동기 스레드에서 쓰는 요청(StreamingJson)은 그 스레드에도 같은 지표를 붙여서 함께 센다.
+ */
+public final class RequestMetrics {
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private int sqlStatements;
+    private int redisCommands;
+    private int rowsHydrated;
+    private long allocatedBytes;
+    // 연관 경로 추적은 SqlBudgetAspect 가 켤 때만 한다 (프록시 "엔티티명#id" -> "Alarm.medicinePerMember")
+    private Map<String, String> associationPaths;
+    private List<String> associationLoads;
+
+    private RequestMetrics() {
+    }
+
+    public static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * 다른 스레드에서 시작한 요청의 지표를 현재 스레드에 붙인다. (요청 스레드가 지표를 더 건드리지 않을 때만)
+     */
+    public static void bind(RequestMetrics metrics) {
+        CURRENT.set(metrics);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    static void sqlStatement() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.sqlStatements++;
+        }
+    }
+
+    static void redisCommand() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.redisCommands++;
+        }
+    }
+
+    public void allocated(long bytes) {
+        allocatedBytes += bytes;
+    }
+
+    void rowHydrated() {
+        rowsHydrated++;
+    }
+
+    public void trackAssociationLoads() {
+        if (associationPaths == null) {
+            associationPaths = new HashMap<>();
+            associationLoads = new ArrayList<>();
+        }
+    }
+
+    boolean isTrackingAssociationLoads() {
+        return associationPaths != null;
+    }
+
+    /**
+     * 엔티티에 이르는 연관 경로. 다른 엔티티의 연관으로 읽힌 적이 없으면 엔티티 이름이다.
+     */
+    String pathOf(String entityName, Object id) {
+        return associationPaths.getOrDefault(key(entityName, id), simpleName(entityName));
+    }
+
+    void associationPath(String entityName, Object id, String path) {
+        associationPaths.putIfAbsent(key(entityName, id), path);
+    }
+
+    void associationLoaded(String path) {
+        associationLoads.add(path);
+    }
+
+    /**
+     * 지연 로딩/추가 SELECT 로 따로 읽힌 연관 경로들 (읽힌 순서대로, 같은 경로가 여러 번 나올 수 있다)
+     */
+    public List<String> getAssociationLoads() {
+        return associationLoads == null ? Collections.emptyList() : associationLoads;
+    }
+
+    static String simpleName(String entityName) {
+        return entityName.substring(entityName.lastIndexOf('.') + 1);
+    }
+
+    private static String key(String entityName, Object id) {
+        return entityName + "#" + id;
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public int getRedisCommands() {
+        return redisCommands;
+    }
+
+    public int getRowsHydrated() {
+        return rowsHydrated;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+}
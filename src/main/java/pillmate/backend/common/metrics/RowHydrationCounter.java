@@ -0,0 +1,37 @@
+package pillmate.backend.common.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.Type;
+
+/**
+ * 영속성 컨텍스트에 읽어 들인 엔티티 수를 요청 단위로 센다.
+ * 지연 로딩으로 하나씩 끌려오는 엔티티도 여기에 잡히므로 N+1 이 생기면 SQL 문 수와 함께 늘어난다.
+ * 연관 경로를 추적 중이면 아직 초기화되지 않은 프록시마다 어떤 경로로 닿았는지 남겨 둔다. (AssociationLoadListener 가 쓴다)
+ */
+public class RowHydrationCounter implements Interceptor {
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return false;
+        }
+        metrics.rowHydrated();
+        if (!metrics.isTrackingAssociationLoads()) {
+            return false;
+        }
+
+        String ownerPath = metrics.pathOf(entity.getClass().getName(), id);
+        for (int i = 0; i < state.length; i++) {
+            if (types[i].isEntityType() && state[i] instanceof HibernateProxy proxy) {
+                LazyInitializer initializer = proxy.getHibernateLazyInitializer();
+                if (initializer.isUninitialized()) {
+                    metrics.associationPath(initializer.getEntityName(), initializer.getInternalIdentifier(),
+                            ownerPath + "." + propertyNames[i]);
+                }
+            }
+        }
+        return false;
+    }
+}
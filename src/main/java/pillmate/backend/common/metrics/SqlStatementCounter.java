@@ -0,0 +1,14 @@
+package pillmate.backend.common.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate 가 준비하는 SQL 문을 요청 단위로 센다. (batch 로 묶인 INSERT 는 한 번으로 센다)
+ */
+public class SqlStatementCounter implements StatementInspector {
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.sqlStatement();
+        return sql;
+    }
+}
@@ -0,0 +1,36 @@
+package pillmate.backend.common.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * 현재 스레드가 지금까지 할당한 힙 바이트 수 (HotSpot 의 스레드별 할당 카운터)
+ * 요청 전후 값의 차이로 요청 하나가 만든 객체 크기를 잰다. 지원하지 않는 JVM 에서는 -1 이다.
+ */
+public final class ThreadAllocation {
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+    private ThreadAllocation() {
+    }
+
+    public static long currentBytes() {
+        return THREAD_MX_BEAN == null ? -1 : THREAD_MX_BEAN.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * @return start 이후 현재 스레드가 할당한 바이트 수 (잴 수 없으면 0)
+     */
+    public static long since(long start) {
+        return start < 0 ? 0 : Math.max(0, currentBytes() - start);
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean hotSpot
+                && hotSpot.isThreadAllocatedMemorySupported()
+                && hotSpot.isThreadAllocatedMemoryEnabled()) {
+            return hotSpot;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,38 @@
+package pillmate.backend.common.shard;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.TableGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+import pillmate.backend.common.config.JpaConfig;
+
+import java.util.Properties;
+
+/**
+ * 샤드가 나뉘어도 겹치지 않는 id 를 주는 테이블 기반 generator
+ * 전역 샤드의 id_sequence 에서만 블록을 받아오므로, 어느 샤드에 저장되는 엔티티든 id 가 전체에서 유일하다.
+ * 회원을 다른 샤드로 옮길 때 id 를 바꾸지 않아도 된다. (ShardRebalancer)
+ * id_sequence 에서 50개(JpaConfig.BATCH_SIZE)씩 받아오는 기존 @TableGenerator 설정을 기본값으로 쓰고, segment_value 만 엔티티마다 준다.
+ * <pre>
+ * &#064;GeneratedValue(generator = "alarm_id")
+ * &#064;GenericGenerator(name = "alarm_id", type = GlobalTableGenerator.class,
+ *         parameters = &#064;Parameter(name = TableGenerator.SEGMENT_VALUE_PARAM, value = "alarm"))
+ * </pre>
+ */
+public class GlobalTableGenerator extends TableGenerator {
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.putIfAbsent(TABLE_PARAM, "id_sequence");
+        parameters.putIfAbsent(SEGMENT_COLUMN_PARAM, "name");
+        parameters.putIfAbsent(VALUE_COLUMN_PARAM, "next_val");
+        parameters.putIfAbsent(INCREMENT_PARAM, String.valueOf(JpaConfig.BATCH_SIZE));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        // 블록을 받아올 때는 별도 커넥션을 쓰므로, 그 커넥션이 전역 샤드로 가도록 지정한다
+        return ShardContext.callOnGlobal(() -> super.generate(session, object));
+    }
+}
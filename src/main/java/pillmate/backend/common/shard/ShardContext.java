@@ -0,0 +1,59 @@
+package pillmate.backend.common.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * 현재 스레드가 사용할 샤드
+ * ShardRoutingDataSource 가 커넥션을 가져올 때 읽는다. 지정되지 않았으면 전역 샤드로 간다.
+ * 트랜잭션의 커넥션은 첫 SQL 에서 정해지므로, 트랜잭션이 SQL 을 보내기 전에 지정해야 한다.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    // 샤딩을 켰을 때만 지정된다 (ShardTemplate). Hibernate 가 만드는 GlobalTableGenerator 가 읽으므로 static 이다.
+    private static volatile String globalShard;
+
+    private ShardContext() {
+    }
+
+    public static void bind(String shard) {
+        CURRENT.set(shard);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    static void setGlobalShard(String shard) {
+        globalShard = shard;
+    }
+
+    /**
+     * 주어진 샤드에서 실행하고, 이전에 지정되어 있던 샤드로 되돌린다.
+     */
+    public static <T> T call(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * 전역 샤드에서 실행한다. 샤딩을 켜지 않았으면 그대로 실행한다.
+     */
+    public static <T> T callOnGlobal(Supplier<T> work) {
+        String shard = globalShard;
+        return shard == null ? work.get() : call(shard, work);
+    }
+}
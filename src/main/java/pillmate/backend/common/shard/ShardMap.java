@@ -0,0 +1,60 @@
+package pillmate.backend.common.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 회원 id -> 샤드 이름 consistent hash 링
+ * 샤드마다 가상 노드를 여러 개 링에 올려서, 샤드를 하나 더하거나 빼도 그 샤드 몫(약 1/N)의 회원만 옮겨진다.
+ * 첫 번째 샤드는 전역 샤드로, 약 카탈로그/건강 용어/id_sequence 처럼 회원에 속하지 않는 데이터를 가진다.
+ */
+public final class ShardMap {
+    private final List<String> shards;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    public ShardMap(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("at least one shard is required");
+        }
+        this.shards = List.copyOf(shards);
+        for (String shard : this.shards) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash(shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public String shardOf(long memberId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(memberId));
+        return entry == null ? ring.firstEntry().getValue() : entry.getValue();
+    }
+
+    public String global() {
+        return shards.get(0);
+    }
+
+    public List<String> shards() {
+        return shards;
+    }
+
+    // 64-bit FNV-1a
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    // 연속된 id 가 링 위에서 흩어지도록 섞는다 (SplitMix64 마무리 단계)
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
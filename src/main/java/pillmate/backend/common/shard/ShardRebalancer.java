@@ -0,0 +1,196 @@
+package pillmate.backend.common.shard;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 샤드를 더하거나 뺀 뒤, 새 ShardMap 에서 주인이 바뀐 회원의 데이터를 옮긴다.
+ * 각 샤드에 실제로 있는 회원을 보고 계획을 세우므로, 중간에 실패해도 다시 실행하면 이어서 옮긴다.
+ * 회원 하나씩 대상 샤드에 복사해서 커밋한 다음 원래 샤드에서 지운다. 복사만 되고 지우지 못했으면 다음 실행에서
+ * 대상 샤드의 복사본을 지우고 다시 복사한다. id 는 GlobalTableGenerator 가 전체에서 유일하게 주므로 그대로 옮긴다.
+ * 아직 발행되지 않은 outbox 이벤트도 회원과 함께 옮겨서, 대상 샤드의 OutboxPoller 가 발행한다. (빼는 샤드에 남아 버려지지 않게)
+ * 옮기는 동안 해당 회원의 쓰기가 없어야 하므로 서비스를 내린 상태에서 실행한다. (ShardConfig 의 shard.rebalance.enabled)
+ */
+@Slf4j
+public class ShardRebalancer {
+    // 복사 순서 (외래 키를 따라 부모부터). 지울 때는 반대 순서로 지운다.
+    private static final List<MemberTable> MEMBER_TABLES = List.of(
+            new MemberTable("member", "id = ?"),
+            new MemberTable("role", "member_id = ?"),
+            new MemberTable("member_disease", "member_id = ?"),
+            new MemberTable("member_symptom", "member_id = ?"),
+            new MemberTable("medicine_per_member", "member_id = ?"),
+            new MemberTable("alarm", "medicine_per_member_id IN (SELECT id FROM medicine_per_member WHERE member_id = ?)"),
+            new MemberTable("medicine_record", "member_id = ?"),
+            new MemberTable("diary", "member_id = ?"),
+            new MemberTable("diary_symptom", "diary_id IN (SELECT id FROM diary WHERE member_id = ?)"),
+            new MemberTable("outbox_event", "member_id = ?"));
+
+    // 회원 데이터가 가리키는 약 카탈로그 행. 대상 샤드에 없는 것만 복사하고 원래 샤드에서는 지우지 않는다.
+    private static final MemberTable REFERENCED_MEDICINES = new MemberTable("medicine",
+            "id IN (SELECT medicine_id FROM medicine_per_member WHERE member_id = ?) " +
+                    "OR id IN (SELECT medicine_id FROM medicine_record WHERE member_id = ?)");
+
+    private final Map<String, DataSource> shardDataSources;
+
+    public ShardRebalancer(Map<String, DataSource> shardDataSources) {
+        this.shardDataSources = shardDataSources;
+    }
+
+    public record Move(long memberId, String from, String to) {
+    }
+
+    private record MemberTable(String name, String condition) {
+    }
+
+    /**
+     * 모든 샤드(빼려는 샤드 포함)의 회원 중 target 에서 다른 샤드가 주인인 회원
+     */
+    public List<Move> plan(ShardMap target) throws SQLException {
+        List<Move> moves = new ArrayList<>();
+        for (Map.Entry<String, DataSource> shard : shardDataSources.entrySet()) {
+            try (Connection connection = shard.getValue().getConnection();
+                 PreparedStatement statement = connection.prepareStatement("SELECT id FROM member");
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    long memberId = resultSet.getLong(1);
+                    String owner = target.shardOf(memberId);
+                    if (!owner.equals(shard.getKey())) {
+                        moves.add(new Move(memberId, shard.getKey(), owner));
+                    }
+                }
+            }
+        }
+        return moves;
+    }
+
+    public List<Move> rebalance(ShardMap target) throws SQLException {
+        List<Move> moves = plan(target);
+        log.info("shard rebalance planned. moves = {}", moves.size());
+        for (Move move : moves) {
+            move(move);
+        }
+        log.info("shard rebalance finished. moves = {}", moves.size());
+        return moves;
+    }
+
+    public void move(Move move) throws SQLException {
+        try (Connection source = dataSource(move.from()).getConnection();
+             Connection target = dataSource(move.to()).getConnection()) {
+            source.setAutoCommit(false);
+            target.setAutoCommit(false);
+            try {
+                // 이전 실행에서 복사만 되고 원래 샤드에서 지우지 못한 복사본
+                delete(target, move.memberId());
+                copyMissingMedicines(source, target, move.memberId());
+                for (MemberTable table : MEMBER_TABLES) {
+                    copy(source, target, table, move.memberId());
+                }
+                target.commit();
+            } catch (SQLException e) {
+                target.rollback();
+                throw e;
+            }
+            try {
+                delete(source, move.memberId());
+                source.commit();
+            } catch (SQLException e) {
+                source.rollback();
+                throw e;
+            }
+        }
+        log.info("member moved. memberId = {}, from = {}, to = {}", move.memberId(), move.from(), move.to());
+    }
+
+    private DataSource dataSource(String shard) {
+        DataSource dataSource = shardDataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("unknown shard. shard = " + shard);
+        }
+        return dataSource;
+    }
+
+    private void copy(Connection source, Connection target, MemberTable table, long memberId) throws SQLException {
+        try (PreparedStatement select = prepare(source, "SELECT * FROM " + table.name() + " WHERE " + table.condition(), memberId);
+             ResultSet rows = select.executeQuery()) {
+            insert(target, table.name(), rows, row -> true);
+        }
+    }
+
+    private void copyMissingMedicines(Connection source, Connection target, long memberId) throws SQLException {
+        try (PreparedStatement select = prepare(source,
+                "SELECT * FROM " + REFERENCED_MEDICINES.name() + " WHERE " + REFERENCED_MEDICINES.condition(), memberId);
+             ResultSet rows = select.executeQuery()) {
+            insert(target, REFERENCED_MEDICINES.name(), rows, row -> !exists(target, row.getLong("id")));
+        }
+    }
+
+    private boolean exists(Connection connection, long medicineId) throws SQLException {
+        try (PreparedStatement statement = prepare(connection, "SELECT 1 FROM medicine WHERE id = ?", medicineId);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next();
+        }
+    }
+
+    private void insert(Connection target, String table, ResultSet rows, RowFilter filter) throws SQLException {
+        ResultSetMetaData metaData = rows.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int column = 1; column <= columnCount; column++) {
+            columns.add(metaData.getColumnName(column));
+        }
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(column -> "?").toList()) + ")";
+
+        try (PreparedStatement insert = target.prepareStatement(sql)) {
+            int batched = 0;
+            while (rows.next()) {
+                if (!filter.test(rows)) {
+                    continue;
+                }
+                for (int column = 1; column <= columnCount; column++) {
+                    insert.setObject(column, rows.getObject(column));
+                }
+                insert.addBatch();
+                batched++;
+            }
+            if (batched > 0) {
+                insert.executeBatch();
+            }
+        }
+    }
+
+    private void delete(Connection connection, long memberId) throws SQLException {
+        for (int index = MEMBER_TABLES.size() - 1; index >= 0; index--) {
+            MemberTable table = MEMBER_TABLES.get(index);
+            try (PreparedStatement statement = prepare(connection,
+                    "DELETE FROM " + table.name() + " WHERE " + table.condition(), memberId)) {
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    // 조건의 ? 는 모두 회원 id 다
+    private PreparedStatement prepare(Connection connection, String sql, long memberId) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        for (int parameter = 1; parameter <= parameters; parameter++) {
+            statement.setLong(parameter, memberId);
+        }
+        return statement;
+    }
+
+    @FunctionalInterface
+    private interface RowFilter {
+        boolean test(ResultSet row) throws SQLException;
+    }
+}
@@ -0,0 +1,45 @@
+package pillmate.backend.common.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ShardContext 에 지정된 샤드의 DataSource 로 보낸다. 지정되지 않았으면 전역 샤드로 간다.
+ * 트랜잭션이 시작될 때가 아니라 첫 SQL 을 보낼 때 커넥션을 가져오도록 LazyConnectionDataSourceProxy 로 감싸서 쓴다. (ShardConfig)
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private final Map<String, DataSource> shardDataSources;
+
+    public ShardRoutingDataSource(Map<String, DataSource> shardDataSources, String globalShard) {
+        this.shardDataSources = shardDataSources;
+        setTargetDataSources(new HashMap<>(shardDataSources));
+        setDefaultTargetDataSource(shardDataSources.get(globalShard));
+        // 설정에 없는 샤드 이름이 오면 전역 샤드에 잘못 쓰지 않도록 실패시킨다
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+
+    public Map<String, DataSource> getShardDataSources() {
+        return shardDataSources;
+    }
+
+    /**
+     * 샤드 풀들은 bean 이 아니므로 여기서 닫는다.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource dataSource : shardDataSources.values()) {
+            if (dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package pillmate.backend.common.shard;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * 샤드를 골라서 일을 실행한다.
+ * 트랜잭션의 커넥션은 첫 SQL 에서 한 번 정해지므로, 트랜잭션 안에서 다른 샤드를 읽고 쓰는 일은 그 샤드에 묶인 새 트랜잭션에서 한다.
+ * shard.names 가 없으면 샤딩을 하지 않고, 샤드가 하나인 것처럼 현재 트랜잭션에서 그대로 실행한다.
+ * <pre>
+ * shard.names=shard-0,shard-1,shard-2
+ * shard.virtual-nodes=128
+ * </pre>
+ */
+@Component
+public class ShardTemplate {
+    private static final String SINGLE_SHARD = "default";
+
+    private final ShardMap shardMap;
+    private final boolean enabled;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardTemplate(@Value("${shard.names:}") List<String> names,
+                         @Value("${shard.virtual-nodes:128}") int virtualNodes,
+                         PlatformTransactionManager transactionManager) {
+        this.enabled = !names.isEmpty();
+        this.shardMap = new ShardMap(enabled ? names : List.of(SINGLE_SHARD), virtualNodes);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ShardContext.setGlobalShard(enabled ? shardMap.global() : null);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ShardMap getShardMap() {
+        return shardMap;
+    }
+
+    public String shardOf(Long memberId) {
+        return shardMap.shardOf(memberId);
+    }
+
+    /**
+     * 아직 SQL 을 보내지 않은 현재 트랜잭션을 회원의 샤드로 보낸다. (요청 스레드는 요청이 끝날 때 ShardContext 를 비운다)
+     */
+    public void bindMember(Long memberId) {
+        if (enabled) {
+            ShardContext.bind(shardMap.shardOf(memberId));
+        }
+    }
+
+    /**
+     * 이메일처럼 회원 id 가 아닌 값으로 찾는 회원의 샤드를 찾아서, 아직 SQL 을 보내지 않은 현재 트랜잭션을 그 샤드로 보낸다.
+     */
+    public void bindWhere(Supplier<Boolean> exists) {
+        if (enabled) {
+            findShard(exists).ifPresent(ShardContext::bind);
+        }
+    }
+
+    /**
+     * 샤드에서 실행한다. 이미 트랜잭션 안이면 그 트랜잭션의 커넥션이 다른 샤드일 수 있으므로 새 트랜잭션을 연다.
+     * 트랜잭션 밖이면 샤드만 지정하고, work 안에서 시작하는 트랜잭션이 그 샤드로 간다.
+     */
+    public <T> T onShard(String shard, Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        return ShardContext.call(shard, () -> TransactionSynchronizationManager.isActualTransactionActive()
+                ? transactionTemplate.execute(status -> work.get())
+                : work.get());
+    }
+
+    public <T> T onMember(Long memberId, Supplier<T> work) {
+        return onShard(shardMap.shardOf(memberId), work);
+    }
+
+    /**
+     * 약 카탈로그처럼 회원에 속하지 않는 데이터는 전역 샤드에서 읽는다.
+     */
+    public <T> T onGlobal(Supplier<T> work) {
+        return onShard(shardMap.global(), work);
+    }
+
+    /**
+     * 모든 샤드에서 차례로 실행하고 결과를 샤드 순서대로 모은다. (scatter-gather)
+     */
+    public <T> List<T> onEachShard(Supplier<T> work) {
+        List<T> results = new ArrayList<>(shardMap.shards().size());
+        for (String shard : shardMap.shards()) {
+            results.add(onShard(shard, work));
+        }
+        return results;
+    }
+
+    public void forEachShard(Runnable work) {
+        for (String shard : shardMap.shards()) {
+            onShard(shard, () -> {
+                work.run();
+                return null;
+            });
+        }
+    }
+
+    /**
+     * 이메일처럼 회원 id 가 아닌 값으로 찾는 회원이 어느 샤드에 있는지 모든 샤드에 물어본다.
+     */
+    public Optional<String> findShard(Supplier<Boolean> exists) {
+        for (String shard : shardMap.shards()) {
+            if (Boolean.TRUE.equals(onShard(shard, exists))) {
+                return Optional.of(shard);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,113 @@
+package pillmate.backend.common.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 샘플링된 trace 를 메모리에 모았다가, 루트 span(요청)이 threshold 보다 오래 걸렸으면 어떤 하위 호출이 시간을 썼는지 남긴다.
+ * 같은 이름의 span 은 합쳐서 보여주므로 N+1 처럼 짧은 호출이 여러 번 반복된 경우도 드러난다.
+ * 자식 span 이 먼저 끝나서 먼저 도착하고, 루트가 도착하면 해당 trace 를 정리한다.
+ */
+@Slf4j
+public class SlowRequestSpanExporter implements SpanExporter {
+    // 루트가 끝내 오지 않는 trace (다른 서버에서 시작된 요청 등) 로 메모리가 늘지 않게 한다
+    private static final int MAX_PENDING_TRACES = 1_000;
+
+    private final long thresholdNanos;
+    private final int topSpans;
+    private final int keptSlowRequests;
+    private final Map<String, List<SpanData>> pendingTraces = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<SpanData>> eldest) {
+            return size() > MAX_PENDING_TRACES;
+        }
+    };
+    private final Deque<SlowRequest> slowRequests = new ArrayDeque<>();
+
+    public SlowRequestSpanExporter(Duration threshold, int topSpans, int keptSlowRequests) {
+        this.thresholdNanos = threshold.toNanos();
+        this.topSpans = topSpans;
+        this.keptSlowRequests = keptSlowRequests;
+    }
+
+    /**
+     * 요청 하나의 소요 시간과 하위 호출 이름별 합계 (오래 걸린 순)
+     */
+    public record SlowRequest(String traceId, String name, long durationMillis, List<SpanSummary> topSpans) {
+    }
+
+    public record SpanSummary(String name, int count, long totalMillis) {
+        @Override
+        public String toString() {
+            return name + " x" + count + " " + totalMillis + "ms";
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        for (SpanData span : spans) {
+            if (span.getParentSpanContext().isValid() && !span.getParentSpanContext().isRemote()) {
+                pendingTraces.computeIfAbsent(span.getTraceId(), traceId -> new ArrayList<>()).add(span);
+                continue;
+            }
+            List<SpanData> children = pendingTraces.remove(span.getTraceId());
+            long durationNanos = span.getEndEpochNanos() - span.getStartEpochNanos();
+            if (durationNanos >= thresholdNanos) {
+                slow(span, durationNanos, children == null ? List.of() : children);
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void slow(SpanData root, long durationNanos, List<SpanData> children) {
+        List<SpanSummary> summaries = children.stream()
+                .collect(Collectors.groupingBy(SpanData::getName))
+                .entrySet().stream()
+                .map(entry -> new SpanSummary(entry.getKey(), entry.getValue().size(), TimeUnit.NANOSECONDS.toMillis(
+                        entry.getValue().stream().mapToLong(span -> span.getEndEpochNanos() - span.getStartEpochNanos()).sum())))
+                .sorted(Comparator.comparingLong(SpanSummary::totalMillis).reversed())
+                .limit(topSpans)
+                .toList();
+        SlowRequest slowRequest = new SlowRequest(root.getTraceId(), root.getName(),
+                TimeUnit.NANOSECONDS.toMillis(durationNanos), summaries);
+
+        slowRequests.addFirst(slowRequest);
+        if (slowRequests.size() > keptSlowRequests) {
+            slowRequests.removeLast();
+        }
+        log.warn("slow request. name = {}, duration = {}ms, traceId = {}, top spans = {}",
+                slowRequest.name(), slowRequest.durationMillis(), slowRequest.traceId(), slowRequest.topSpans());
+    }
+
+    /**
+     * 최근 느린 요청들 (최근 것부터)
+     */
+    public synchronized List<SlowRequest> recentSlowRequests() {
+        return List.copyOf(slowRequests);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        pendingTraces.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+}
@@ -0,0 +1,77 @@
+package pillmate.backend.common.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import pillmate.backend.common.exception.errorcode.ErrorCode;
+import pillmate.backend.common.exception.response.ExceptionResponse;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Spring 의 HTTP 용 ObjectMapper 밖(필터, outbox, Redis 캐시, 요청 파라미터 변환)에서 쓰는 공용 ObjectMapper/ObjectWriter
+ * 매퍼는 만들고 나서 처음 직렬화할 때 타입마다 serializer 를 만들어 캐시하므로, 요청마다 새로 만들지 않고 여기 것을 같이 쓴다.
+ * 모두 Blackbird 로 getter/setter 호출을 리플렉션 대신 생성된 람다로 바꾼다. (HTTP 용 매퍼는 JacksonConfig)
+ * 만든 뒤에는 설정을 바꾸지 않는다. (ObjectMapper 는 설정만 바꾸지 않으면 스레드 안전하다)
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class JsonMappers {
+    /**
+     * 날짜는 ISO 문자열로 쓴다. (outbox payload, 도메인 이벤트 메시지, 요청 파라미터 변환)
+     */
+    public static final ObjectMapper DEFAULT = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new BlackbirdModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    /**
+     * Redis 캐시 값. 타입 정보를 함께 써서 읽을 때 원래 클래스로 되돌린다. (RedisConfig)
+     */
+    public static final ObjectMapper REDIS_CACHE = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(new BlackbirdModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .activateDefaultTyping(BasicPolymorphicTypeValidator.builder()
+                    .allowIfSubType(Object.class)
+                    .build(), ObjectMapper.DefaultTyping.NON_FINAL)
+            .enable(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+            .enable(DeserializationFeature.READ_ENUMS_USING_TO_STRING);
+
+    /**
+     * 필터/AuthenticationEntryPoint 의 에러 응답. serializer 를 미리 찾아 둔다.
+     */
+    public static final ObjectWriter ERROR_RESPONSE = DEFAULT.writerFor(ExceptionResponse.class);
+
+    // 메시지가 ErrorCode 로 정해지는 에러 응답은 본문을 미리 만들어 둔다
+    private static final Map<ErrorCode, byte[]> ERROR_BODIES = new EnumMap<>(ErrorCode.class);
+
+    static {
+        for (ErrorCode errorCode : ErrorCode.values()) {
+            ERROR_BODIES.put(errorCode, errorBody(ExceptionResponse.from(errorCode)));
+        }
+    }
+
+    /**
+     * @return ErrorCode 의 메시지로 만든 UTF-8 JSON 에러 응답 본문 (미리 만든 것을 그대로 돌려주므로 고치지 않는다)
+     */
+    public static byte[] errorBody(ErrorCode errorCode) {
+        return ERROR_BODIES.get(errorCode);
+    }
+
+    private static byte[] errorBody(ExceptionResponse exceptionResponse) {
+        try {
+            return ERROR_RESPONSE.writeValueAsBytes(exceptionResponse);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package pillmate.backend.common.util;
 
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -17,12 +16,10 @@ import java.util.Map;
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public abstract class MultiValueMapConverter {
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
     public static MultiValueMap<String, String> convert(Object dto) {
         try {
             MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-            Map<String, String> map = objectMapper.convertValue(dto, new TypeReference<>() {});
+            Map<String, String> map = JsonMappers.DEFAULT.convertValue(dto, new TypeReference<>() {});
             params.setAll(map);
             return params;
         } catch (Exception e) {
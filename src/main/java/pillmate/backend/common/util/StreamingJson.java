@@ -0,0 +1,130 @@
+package pillmate.backend.common.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.datasource.PrimaryReadContext;
+import pillmate.backend.common.metrics.RequestMetrics;
+import pillmate.backend.common.metrics.ThreadAllocation;
+import pillmate.backend.common.shard.ShardTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 목록을 List 로 모으지 않고 JPA 스트림에서 한 행씩 JSON 으로 쓰는 응답 (목록 API 에 ?stream=true 로 요청한 경우)
+ * StreamingResponseBody 는 요청 스레드가 아닌 MVC 비동기 스레드에서 실행되므로, 회원의 샤드를 다시 지정하고 읽기 전용 트랜잭션을 직접 연다.
+ * 행을 JpaConfig.BATCH_SIZE 개 쓸 때마다 영속성 컨텍스트를 비워서 메모리가 목록 길이에 비례하지 않게 한다.
+ * 요청 스레드의 RequestMetrics 를 비동기 스레드에도 붙여서 SQL 문 수와 할당 바이트 수가 같은 요청으로 기록된다.
+ * ETag 를 붙인 응답이면 비동기 스레드에서도 primary 에서 읽는다. (PrimaryReadContext)
+ */
+@Component
+public class StreamingJson {
+    private final ObjectMapper objectMapper;
+    private final ShardTemplate shardTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+
+    public StreamingJson(ObjectMapper objectMapper, ShardTemplate shardTemplate,
+                         PlatformTransactionManager transactionManager, EntityManager entityManager) {
+        this.objectMapper = objectMapper;
+        this.shardTemplate = shardTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.entityManager = entityManager;
+    }
+
+    @FunctionalInterface
+    public interface Body {
+        void write(Writer writer) throws IOException;
+    }
+
+    /**
+     * @param memberId 읽을 데이터의 회원 (샤드를 고른다)
+     * @param body 트랜잭션 안에서 응답 JSON 을 쓰는 작업
+     */
+    public ResponseEntity<StreamingResponseBody> respond(Long memberId, Body body) {
+        RequestMetrics metrics = RequestMetrics.current();
+        boolean primaryRead = PrimaryReadContext.isForced();
+        StreamingResponseBody stream = outputStream -> {
+            if (metrics != null) {
+                RequestMetrics.bind(metrics);
+            }
+            long allocationStart = ThreadAllocation.currentBytes();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // 응답 스트림은 MVC 가 닫는다
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                Writer writer = new Writer(generator, entityManager::clear);
+                PrimaryReadContext.call(primaryRead, () -> shardTemplate.onMember(memberId, () -> transactionTemplate.execute(status -> {
+                    try {
+                        body.write(writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                })));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                if (metrics != null) {
+                    metrics.allocated(ThreadAllocation.since(allocationStart));
+                    RequestMetrics.clear();
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stream);
+    }
+
+    /**
+     * 행들을 JSON 배열 하나로 응답한다. rows 는 트랜잭션 안에서 만든다.
+     */
+    public ResponseEntity<StreamingResponseBody> respondArray(Long memberId, Supplier<? extends Stream<?>> rows) {
+        return respond(memberId, writer -> writer.writeArray(rows.get()));
+    }
+
+    public static class Writer {
+        private final JsonGenerator generator;
+        private final Runnable afterBatch;
+
+        /**
+         * @param afterBatch 행을 JpaConfig.BATCH_SIZE 개 쓸 때마다 실행할 작업 (영속성 컨텍스트 비우기)
+         */
+        public Writer(JsonGenerator generator, Runnable afterBatch) {
+            this.generator = generator;
+            this.afterBatch = afterBatch;
+        }
+
+        public JsonGenerator generator() {
+            return generator;
+        }
+
+        /**
+         * 스트림의 행을 하나씩 배열 원소로 쓰고 스트림을 닫는다.
+         */
+        public void writeArray(Stream<?> rows) throws IOException {
+            generator.writeStartArray();
+            try (rows) {
+                int written = 0;
+                for (Iterator<?> iterator = rows.iterator(); iterator.hasNext(); ) {
+                    generator.writeObject(iterator.next());
+                    if (++written % JpaConfig.BATCH_SIZE == 0) {
+                        afterBatch.run();
+                    }
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+}
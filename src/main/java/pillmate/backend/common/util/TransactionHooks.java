@@ -0,0 +1,51 @@
+package pillmate.backend.common.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 트랜잭션 커밋 이후에 실행할 작업을 등록하는 유틸
+ * 메모리 캐시처럼 롤백되면 안 되는 곳에 변경 사항을 반영할 때 사용한다.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public abstract class TransactionHooks {
+
+    /**
+     * 진행 중인 트랜잭션이 있으면 커밋 후에, 없으면 바로 실행한다.
+     * @param runnable 실행할 작업
+     */
+    public static void afterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    /**
+     * 진행 중인 트랜잭션이 롤백되면 실행한다. 트랜잭션이 없으면 아무것도 하지 않는다.
+     * @param runnable 실행할 작업
+     */
+    public static void afterRollback(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    runnable.run();
+                }
+            }
+        });
+    }
+}
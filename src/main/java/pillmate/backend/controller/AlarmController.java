@@ -8,7 +8,11 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pillmate.backend.common.etag.ConditionalGet;
+import pillmate.backend.common.etag.VersionedResource;
 import pillmate.backend.common.util.LoggedInMember;
+import pillmate.backend.common.util.StreamingJson;
 import pillmate.backend.dto.alarm.AlarmInfo;
 import pillmate.backend.service.AlarmService;
 
@@ -20,12 +24,19 @@ import java.util.List;
 @RequestMapping("/api/v1/alarms")
 public class AlarmController {
     private final AlarmService alarmService;
+    private final StreamingJson streamingJson;
 
+    @ConditionalGet(VersionedResource.ALARMS)
     @GetMapping
     public List<AlarmInfo> showAll(@LoggedInMember Long memberId) {
         return alarmService.showAll(memberId);
     }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAll(@LoggedInMember Long memberId) {
+        return streamingJson.respondArray(memberId, () -> alarmService.streamAll(memberId));
+    }
+
     @PatchMapping("{alarmId}/{available}")
     public ResponseEntity<String> updateAlarmOnOff(@PathVariable("alarmId") Long alarmId,
                                                    @PathVariable("available") Boolean available,
@@ -11,13 +11,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pillmate.backend.common.etag.ConditionalGet;
+import pillmate.backend.common.etag.VersionedResource;
 import pillmate.backend.common.util.LoggedInMember;
+import pillmate.backend.common.util.StreamingJson;
 import pillmate.backend.dto.diary.CreateDiaryRequest;
 import pillmate.backend.dto.diary.CreateDiaryResponse;
 import pillmate.backend.dto.diary.EditDiaryRequest;
+import pillmate.backend.dto.diary.PainTrend;
 import pillmate.backend.dto.diary.ShowDiaryResponse;
 import pillmate.backend.dto.diary.Today;
-import pillmate.backend.entity.member.Symptom;
+import pillmate.backend.dto.member.SymptomInfo;
 import pillmate.backend.service.DiaryService;
 
 import java.time.LocalDate;
@@ -29,6 +34,7 @@ import java.util.List;
 @RequestMapping("/api/v1/diaries")
 public class DiaryController {
     private final DiaryService diaryService;
+    private final StreamingJson streamingJson;
 
     @PostMapping
     public CreateDiaryResponse create(@LoggedInMember Long memberId, @RequestBody CreateDiaryRequest createDiaryRequest) {
@@ -41,6 +47,11 @@ public class DiaryController {
         return ResponseEntity.ok("건강 일지 수정이 완료 되었습니다.");
     }
 
+    @GetMapping("/trend")
+    public PainTrend showTrend(@LoggedInMember Long memberId) {
+        return diaryService.showTrend(memberId);
+    }
+
     @GetMapping("/{date}")
     public Today showOneDay(@LoggedInMember Long memberId, @PathVariable("date") LocalDate date) {
         return diaryService.show(memberId, date);
@@ -51,8 +62,14 @@ public class DiaryController {
         return diaryService.showMonthly(memberId, date);
     }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamMonthly(@LoggedInMember Long memberId, @RequestParam("date") LocalDate date) {
+        return streamingJson.respond(memberId, writer -> diaryService.writeMonthly(memberId, date, writer));
+    }
+
+    @ConditionalGet(VersionedResource.SYMPTOMS)
     @GetMapping("/symptoms")
-    public List<Symptom> showSymptoms(@LoggedInMember Long memberId) {
+    public List<SymptomInfo> showSymptoms(@LoggedInMember Long memberId) {
         return diaryService.showSymptoms(memberId);
     }
 }
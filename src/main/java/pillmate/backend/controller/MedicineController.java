@@ -11,7 +11,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pillmate.backend.common.etag.ConditionalGet;
+import pillmate.backend.common.etag.VersionedResource;
 import pillmate.backend.common.util.LoggedInMember;
+import pillmate.backend.common.util.StreamingJson;
 import pillmate.backend.dto.medicine.AddRequest;
 import pillmate.backend.dto.medicine.MedicineBasicInfo;
 import pillmate.backend.dto.medicine.MedicineInfo;
@@ -29,6 +33,7 @@ import java.util.List;
 @RequestMapping("/api/v1/medicines")
 public class MedicineController {
     private final MedicineService medicineService;
+    private final StreamingJson streamingJson;
 
     @GetMapping
     public UpcomingAlarm getUpcomingAlarm(@LoggedInMember Long memberId, @RequestParam("time") LocalTime currentTime, @RequestParam("medicineId") Long medicineId) {
@@ -40,17 +45,35 @@ public class MedicineController {
         return medicineService.getMedicineInfo(memberId, nameList);
     }
 
+    @GetMapping("/search")
+    public List<MedicineBasicInfo> search(@RequestParam("keyword") String keyword,
+                                          @RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+        return medicineService.search(keyword, limit);
+    }
+
     @PostMapping
     public ResponseEntity<String> add(@LoggedInMember Long memberId, @RequestBody AddRequest addRequest) {
         medicineService.add(memberId, addRequest);
         return ResponseEntity.ok("알약 저장이 완료되었습니다.");
     }
 
+    @PostMapping("/prescription")
+    public ResponseEntity<String> addAll(@LoggedInMember Long memberId, @RequestBody List<AddRequest> addRequests) {
+        medicineService.addAll(memberId, addRequests);
+        return ResponseEntity.ok("처방전 저장이 완료되었습니다.");
+    }
+
+    @ConditionalGet(VersionedResource.MEDICINES)
     @GetMapping("/all")
     public List<MedicineInfo> showAll(@LoggedInMember Long memberId) {
         return medicineService.showAll(memberId);
     }
 
+    @GetMapping(value = "/all", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAll(@LoggedInMember Long memberId) {
+        return streamingJson.respondArray(memberId, () -> medicineService.streamAll(memberId));
+    }
+
     @PatchMapping
     public ResponseEntity<String> modify(@LoggedInMember Long memberId, @RequestBody ModifyMedicineInfo modifyMedicineInfo) {
         medicineService.modify(memberId, modifyMedicineInfo);
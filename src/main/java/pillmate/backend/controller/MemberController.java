@@ -14,6 +14,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import pillmate.backend.common.etag.ConditionalGet;
+import pillmate.backend.common.etag.VersionedResource;
 import pillmate.backend.common.util.LoggedInMember;
 import pillmate.backend.dto.member.CheckEmailRequest;
 import pillmate.backend.dto.member.CheckPasswordRequest;
@@ -85,6 +87,7 @@ public class MemberController {
         memberService.modifyPassword(memberId, modifyPasswordRequest);
     }
 
+    @ConditionalGet(VersionedResource.HEALTH_INFO)
     @GetMapping("/healthinfo")
     public MyHealthInfo healthInfo(@LoggedInMember Long memberId) {
         return memberService.getHealthInfo(memberId);
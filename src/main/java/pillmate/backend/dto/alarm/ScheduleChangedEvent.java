@@ -0,0 +1,19 @@
+package pillmate.backend.dto.alarm;
+
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * 복용 시간 변경 내용 (AlarmService.updateTime)
+ * 바뀐 것이 있으면 SCHEDULE_CHANGED outbox 이벤트의 payload 로 저장된다.
+ * 이 서버의 캐시는 OutboxService 가 발행하는 MemberDataChangedEvent 로, 다른 서버는 OutboxPublisher 가 보내는 DomainEvent 로 갱신한다.
+ */
+public record ScheduleChangedEvent(Long memberId,
+                                   Long medicinePerMemberId,
+                                   List<LocalTime> added,
+                                   List<LocalTime> updated,
+                                   List<LocalTime> removed) {
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+}
@@ -19,11 +19,11 @@ public class CreateDiaryRequest {
 
     private String record;
 
-    public Diary toEntity(Member member) {
+    public Diary toEntity(Member member, List<Integer> symptomIds) {
         return Diary.builder()
                 .date(date)
                 .member(member)
-                .symptom(symptom)
+                .symptomIds(symptomIds)
                 .score(score)
                 .record(record)
                 .build();
@@ -0,0 +1,17 @@
+package pillmate.backend.dto.diary;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Builder
+@Data
+public class PainTrend {
+    private LocalDate date;
+    private Double weeklyAverage;
+    private Double monthlyAverage;
+    // 최근 30일 일별 통증 점수와 복용률의 상관계수 (-1 ~ 1, 계산할 수 없으면 null)
+    private Double adherenceCorrelation;
+    private Boolean deteriorating;
+}
@@ -0,0 +1,39 @@
+package pillmate.backend.dto.dose;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Map;
+
+/**
+ * 복용 이벤트 (MedicineService.getUpcomingAlarm)
+ * 요청 시점에는 Redis Stream 에 쌓기만 하고, DoseEventConsumer 가 모아서 medicine_record 에 기록한다.
+ */
+public record DoseTakenEvent(Long memberId,
+                             Long medicineId,
+                             Long alarmId,
+                             LocalDate date,
+                             LocalTime time) {
+
+    public Map<String, String> toFields() {
+        return Map.of("memberId", memberId.toString(),
+                "medicineId", medicineId.toString(),
+                "alarmId", alarmId.toString(),
+                "date", date.toString(),
+                "time", time.toString());
+    }
+
+    public static DoseTakenEvent fromFields(Map<?, ?> fields) {
+        return new DoseTakenEvent(Long.valueOf(fields.get("memberId").toString()),
+                Long.valueOf(fields.get("medicineId").toString()),
+                Long.valueOf(fields.get("alarmId").toString()),
+                LocalDate.parse(fields.get("date").toString()),
+                LocalTime.parse(fields.get("time").toString()));
+    }
+
+    /**
+     * (alarm_id, date) 유니크 키와 같은 기준의 중복 판별 키
+     */
+    public String recordKey() {
+        return alarmId + ":" + date;
+    }
+}
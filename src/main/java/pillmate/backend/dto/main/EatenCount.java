@@ -0,0 +1,7 @@
+package pillmate.backend.dto.main;
+
+/**
+ * 약별로 먹은 기록 수 (MedicineRecordRepository.countEatenPerMedicine)
+ */
+public record EatenCount(Long medicineId, Long count) {
+}
@@ -0,0 +1,10 @@
+package pillmate.backend.dto.main;
+
+import java.time.LocalTime;
+
+/**
+ * 놓친 알람 한 개 (AlarmRepository.findMissedAlarms)
+ * idx_alarm_missed 와 medicine_per_member 의 회원 인덱스에 있는 컬럼만 읽는다.
+ */
+public record MissedAlarmTime(Long alarmId, Long medicinePerMemberId, LocalTime pickerTime) {
+}
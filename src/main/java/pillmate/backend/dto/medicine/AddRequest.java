@@ -2,6 +2,7 @@ package pillmate.backend.dto.medicine;
 
 import lombok.Builder;
 import lombok.Data;
+import pillmate.backend.entity.Alarm;
 import pillmate.backend.entity.Medicine;
 import pillmate.backend.entity.MedicinePerMember;
 import pillmate.backend.entity.TimeSlot;
@@ -20,21 +21,21 @@ public class AddRequest {
     private List<TimeSlot> timeSlotList;
 
     public MedicinePerMember toEntity(Member member, Medicine medicine) {
-        MedicinePerMember medicinePerMember = MedicinePerMember.builder()
+        return MedicinePerMember.builder()
                 .member(member)
                 .medicine(medicine)
                 .amount(amount)
                 .times(timesPerDay)
                 .day(day)
                 .build();
+    }
 
-        timeSlotList.stream().map(
-                t -> TimeSlot.builder()
-                        .spinnerTime(t.getSpinnerTime())
-                        .pickerTime(t.getPickerTime())
-                        .build()
-        ).forEach(medicinePerMember::addTimeSlot);
-
-        return medicinePerMember;
+    public List<Alarm> toAlarms(MedicinePerMember medicinePerMember) {
+        return timeSlotList.stream()
+                .map(timeSlot -> Alarm.builder()
+                        .medicinePerMember(medicinePerMember)
+                        .timeSlot(timeSlot)
+                        .build())
+                .toList();
     }
 }
@@ -3,10 +3,14 @@ package pillmate.backend.dto.medicine;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.List;
+
 @Builder
 @Data
 public class MedicineBasicInfo {
     private String name;
     private String photo;
     private String category;
+    // db 에서 같은 이름을 찾지 못했을 때 비슷한 이름의 약 목록
+    private List<MedicineCandidate> candidates;
 }
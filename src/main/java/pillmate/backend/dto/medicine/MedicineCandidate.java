@@ -0,0 +1,13 @@
+package pillmate.backend.dto.medicine;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class MedicineCandidate {
+    private Long id;
+    private String name;
+    // 유사도 (0 ~ 1)
+    private Double score;
+}
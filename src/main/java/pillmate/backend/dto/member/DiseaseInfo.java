@@ -0,0 +1,18 @@
+package pillmate.backend.dto.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class DiseaseInfo {
+    private Integer id;
+    private String disease;
+    private LocalDate startDate;
+}
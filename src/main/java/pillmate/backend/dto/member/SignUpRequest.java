@@ -13,7 +13,6 @@ import pillmate.backend.entity.member.Member;
 import pillmate.backend.entity.member.MemberRole;
 import pillmate.backend.entity.member.MemberType;
 import pillmate.backend.entity.member.Role;
-import pillmate.backend.entity.member.Symptom;
 
 import java.util.List;
 
@@ -31,16 +30,23 @@ public class SignUpRequest {
     private String name;
 
     @NotNull(message = "질병은 필수입니다.")
-    private List<Disease> diseases;
+    private List<DiseaseInfo> diseases;
 
     @NotNull(message = "증상은 필수입니다.")
-    private List<Symptom> symptoms;
+    private List<SymptomInfo> symptoms;
 
     @NotNull(message = "권한은 필수입니다.")
     @Size(min = 1, message = "권한은 최소 1개 이상이여야 합니다.")
     private List<String> roles;
 
-    public Member toEntity(String encodedPassword) {
+    /**
+     * 회원 엔티티를 만드는 메소드
+     * @param encodedPassword 인코딩된 비밀번호
+     * @param diseaseList 사전 id 로 바꾼 질병 목록
+     * @param symptomIds 사전 id 로 바꾼 증상 목록
+     * @return 회원 엔티티
+     */
+    public Member toEntity(String encodedPassword, List<Disease> diseaseList, List<Integer> symptomIds) {
         Member member = Member.builder()
                 .email(email)
                 .password(encodedPassword)
@@ -55,18 +61,8 @@ public class SignUpRequest {
                         .build()
         ).forEach(member::addRole);
 
-        diseases.stream().map(
-                d -> Disease.builder()
-                        .disease(d.getDisease())
-                        .startDate(d.getStartDate())
-                        .build()
-        ).forEach(member::addDisease);
-
-        symptoms.stream().map(
-                s -> Symptom.builder()
-                        .name(s.getName())
-                        .build()
-        ).forEach(member::addSymptom);
+        diseaseList.forEach(member::addDisease);
+        symptomIds.forEach(member::addSymptom);
 
         return member;
     }
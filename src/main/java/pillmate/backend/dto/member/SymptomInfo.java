@@ -0,0 +1,15 @@
+package pillmate.backend.dto.member;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@Builder
+@Data
+@NoArgsConstructor
+public class SymptomInfo {
+    private Integer id;
+    private String name;
+}
@@ -0,0 +1,29 @@
+package pillmate.backend.dto.outbox;
+
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * outbox 에서 발행된 도메인 이벤트
+ * 캐시/집계는 @EventListener 로 이 이벤트를 받아 memberId 의 항목만 갱신하면 된다.
+ * local 은 이 서버가 outbox 에서 꺼낸 이벤트인지 여부 (false 면 다른 서버가 Redis pub/sub 으로 보낸 것)
+ * 같은 이벤트가 여러 번 올 수 있으므로 (at-least-once) 리스너는 멱등해야 한다.
+ */
+public record DomainEvent(Long id,
+                          DomainEventType type,
+                          Long memberId,
+                          String payload,
+                          LocalDateTime occurredAt,
+                          boolean local) {
+
+    public static DomainEvent from(OutboxEvent outboxEvent) {
+        return new DomainEvent(outboxEvent.getId(), outboxEvent.getType(), outboxEvent.getMemberId(),
+                outboxEvent.getPayload(), outboxEvent.getCreatedAt(), true);
+    }
+
+    public DomainEvent toRemote() {
+        return new DomainEvent(id, type, memberId, payload, occurredAt, false);
+    }
+}
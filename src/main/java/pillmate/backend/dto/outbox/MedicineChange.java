@@ -0,0 +1,19 @@
+package pillmate.backend.dto.outbox;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * MEDICINE_ADDED, MEDICINE_MODIFIED 이벤트의 약 한 개 (다른 서버의 약 카탈로그 검색 인덱스를 맞춘다)
+ * oldName 은 이름이 바뀌었을 때의 이전 이름이고, 바뀌지 않았으면 name 과 같거나 null 이다.
+ */
+public record MedicineChange(Long id, String name, String oldName) {
+
+    public static MedicineChange added(Long id, String name) {
+        return new MedicineChange(id, name, null);
+    }
+
+    @JsonIgnore
+    public boolean isRenamed() {
+        return oldName != null && !oldName.equals(name);
+    }
+}
@@ -0,0 +1,15 @@
+package pillmate.backend.dto.outbox;
+
+import pillmate.backend.entity.DomainEventType;
+
+/**
+ * 회원 데이터가 바뀌었다는 서버 내부 이벤트 (ResourceVersionStore 가 커밋 후에 자원 버전을 올린다)
+ * outbox 를 거치는 DomainEvent 와 달리 변경한 트랜잭션 안에서 바로 발행된다.
+ * memberId 가 null 이면 모든 회원의 자원이 바뀐 것이다. (카탈로그 약 이름 변경 등)
+ */
+public record MemberDataChangedEvent(Long memberId, DomainEventType type) {
+
+    public static MemberDataChangedEvent allMembers(DomainEventType type) {
+        return new MemberDataChangedEvent(null, type);
+    }
+}
@@ -1,55 +1,65 @@
 package pillmate.backend.entity;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import pillmate.backend.common.shard.GlobalTableGenerator;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 
-@Builder
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        // findMissedAlarms: 복용 약별로 켜져 있고 안 먹은 알람을 picker_time 범위로 찾는다 (id, picker_time 만 읽으므로 테이블 접근 없이 인덱스만으로 처리)
+        @Index(name = "idx_alarm_missed", columnList = "medicine_per_member_id, isAvailable, isEaten, picker_time")
+})
 public class Alarm {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "alarm_id")
+    @GenericGenerator(name = "alarm_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "alarm"))
     private Long id;
 
     @JoinColumn(name = "medicine_per_member_id", nullable = false)
     @ManyToOne(fetch = FetchType.LAZY)
     private MedicinePerMember medicinePerMember;
 
-    @OneToOne(cascade = CascadeType.PERSIST)
-    @JoinColumn(name = "timeSlot_id")
+    @Embedded
     private TimeSlot timeSlot;
 
-    @Builder.Default
     @Column(name = "isEaten", nullable = false)
     private Boolean isEaten = FALSE;
 
-    @Builder.Default
     @Column(name = "isAvailable", nullable = false)
     private Boolean isAvailable = TRUE;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Builder
     public Alarm(Long id, MedicinePerMember medicinePerMember, TimeSlot timeSlot, Boolean isEaten, Boolean isAvailable) {
         this.id = id;
         this.medicinePerMember = medicinePerMember;
         this.timeSlot = timeSlot;
-        this.isEaten = isEaten;
-        this.isAvailable = isAvailable;
+        this.isEaten = isEaten == null ? FALSE : isEaten;
+        this.isAvailable = isAvailable == null ? TRUE : isAvailable;
     }
 
     public void updateTimeSlot(TimeSlot newTimeSlot) {
@@ -6,14 +6,18 @@ import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import pillmate.backend.common.shard.GlobalTableGenerator;
 import pillmate.backend.entity.member.Member;
 
 import java.time.LocalDate;
@@ -23,9 +27,15 @@ import java.util.List;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = {
+        // 하루에 일기는 하나 (findByMemberIdAndAndDate, findDiariesByMemberIdAndDateRange 도 이 인덱스를 탄다)
+        @UniqueConstraint(name = "uk_diary_member_date", columnNames = {"member_id", "date"})
+})
 public class Diary {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "diary_id")
+    @GenericGenerator(name = "diary_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "diary"))
     private Long id;
 
     @JoinColumn(name = "member_id", nullable = false)
@@ -35,10 +45,11 @@ public class Diary {
     @Column(name = "date", nullable = false)
     private LocalDate date;
 
+    // 증상 사전(health_term) id
     @ElementCollection
-    @CollectionTable(name = "diary_symptoms", joinColumns = @JoinColumn(name = "diary_id"))
-    @Column(name = "symptom", nullable = false)
-    private List<String> symptom = new ArrayList<>();
+    @CollectionTable(name = "diary_symptom", joinColumns = @JoinColumn(name = "diary_id"))
+    @Column(name = "symptom_id", nullable = false)
+    private List<Integer> symptomIds = new ArrayList<>();
 
     @Column(name = "score", nullable = false)
     private Integer score;
@@ -47,24 +58,24 @@ public class Diary {
     private String record;
 
     @Builder
-    public Diary(Long id, Member member, LocalDate date, List<String> symptom, Integer score, String record) {
+    public Diary(Long id, Member member, LocalDate date, List<Integer> symptomIds, Integer score, String record) {
         this.id = id;
         this.member = member;
         this.date = date;
-        this.symptom = symptom;
+        this.symptomIds = symptomIds;
         this.score = score;
         this.record = record;
     }
 
-    public void update(final List<String> symptom, final Integer score, final String record) {
-        updateSymptom(symptom);
+    public void update(final List<Integer> symptomIds, final Integer score, final String record) {
+        updateSymptom(symptomIds);
         updateScore(score);
         updateRecord(record);
     }
 
-    private void updateSymptom(List<String> symptom) {
-        if (symptom != null) {
-            this.symptom = symptom;
+    private void updateSymptom(List<Integer> symptomIds) {
+        if (symptomIds != null) {
+            this.symptomIds = symptomIds;
         }
     }
 
@@ -0,0 +1,5 @@
+package pillmate.backend.entity;
+
+public enum DomainEventType {
+    MEDICINE_ADDED, MEDICINE_MODIFIED, MEDICINE_DELETED, SCHEDULE_CHANGED, DOSE_TAKEN, DIARY_EDITED, HEALTH_INFO_CHANGED
+}
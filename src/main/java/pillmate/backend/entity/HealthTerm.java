@@ -0,0 +1,49 @@
+package pillmate.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import pillmate.backend.common.shard.GlobalTableGenerator;
+
+/**
+ * 증상/질병 이름 사전
+ * 같은 문자열("두통", "고혈압" 등)을 한 번만 저장하고, 일지와 회원 정보는 정수 id 로 참조한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "health_term", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_health_term_type_name", columnNames = {"type", "name"})
+})
+public class HealthTerm {
+    @Id
+    @GeneratedValue(generator = "health_term_id")
+    @GenericGenerator(name = "health_term_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "health_term"))
+    private Integer id;
+
+    @Column(name = "type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private HealthTermType type;
+
+    @Column(name = "name", nullable = false)
+    private String name;
+
+    @Builder
+    public HealthTerm(Integer id, HealthTermType type, String name) {
+        this.id = id;
+        this.type = type;
+        this.name = name;
+    }
+}
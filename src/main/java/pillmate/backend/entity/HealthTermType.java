@@ -0,0 +1,5 @@
+package pillmate.backend.entity;
+
+public enum HealthTermType {
+    SYMPTOM, DISEASE
+}
@@ -3,19 +3,28 @@ package pillmate.backend.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import pillmate.backend.common.shard.GlobalTableGenerator;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = {
+        @UniqueConstraint(name = "uk_medicine_name", columnNames = "name")
+})
 public class Medicine {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "medicine_id")
+    @GenericGenerator(name = "medicine_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "medicine"))
     private Long id;
 
     @Column(name = "name", nullable = false)
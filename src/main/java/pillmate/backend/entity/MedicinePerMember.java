@@ -1,36 +1,47 @@
 package pillmate.backend.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import pillmate.backend.common.shard.GlobalTableGenerator;
 import pillmate.backend.entity.member.Member;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        // findAllByMemberId, findByMemberIdAndMedicineId
+        @Index(name = "idx_medicine_per_member_member_medicine", columnList = "member_id, medicine_id")
+})
 public class MedicinePerMember {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "medicine_per_member_id")
+    @GenericGenerator(name = "medicine_per_member_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "medicine_per_member"))
     private Long id;
 
     @JoinColumn(name = "member_id", nullable = false)
@@ -52,19 +63,24 @@ public class MedicinePerMember {
     @Column(name = "day", nullable = false)
     private Integer day;
 
-    // 투여시간대
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // 투여시간대는 알람에 함께 저장된다
+    @OneToMany(mappedBy = "medicinePerMember", fetch = FetchType.LAZY)
     @JsonIgnore
-    private List<TimeSlot> timeSlots = new ArrayList<>();
+    private List<Alarm> alarms = new ArrayList<>();
 
     @Column(name = "created", nullable = true)
     @CreatedDate
     private LocalDate created;
 
-    public void addTimeSlot(TimeSlot timeSlot) {
-        if (timeSlot != null) {
-            timeSlots.add(timeSlot);
-        }
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public List<TimeSlot> getTimeSlots() {
+        return alarms.stream()
+                .map(Alarm::getTimeSlot)
+                .sorted(Comparator.comparing(TimeSlot::getPickerTime))
+                .toList();
     }
 
     @Builder
@@ -78,11 +94,10 @@ public class MedicinePerMember {
         this.created = created;
     }
 
-    public void update(final Integer amount, final Integer times, final Integer day, final List<TimeSlot> timeSlots) {
+    public void update(final Integer amount, final Integer times, final Integer day) {
         updateAmount(amount);
         updateTimes(times);
         updateDay(day);
-        updateTimeSlots(timeSlots);
     }
 
     private void updateAmount(Integer amount) {
@@ -102,22 +117,4 @@ public class MedicinePerMember {
             this.day = day;
         }
     }
-
-    private void updateTimeSlots(List<TimeSlot> timeSlots) {
-        if (timeSlots != null) {
-            // 기존 항목과 새로운 항목 비교하여 업데이트
-            for (TimeSlot newSlot : timeSlots) {
-                boolean exists = this.timeSlots.stream()
-                        .anyMatch(existingSlot -> existingSlot.getPickerTime().equals(newSlot.getPickerTime())); // time 속성으로 비교
-                if (!exists) {
-                    this.timeSlots.add(newSlot); // 새로운 항목 추가
-                }
-
-                // 새로운 리스트에 없는 기존 항목 제거 (time으로 비교)
-                this.timeSlots.removeIf(existingSlot ->
-                        timeSlots.stream().noneMatch(ns -> ns.getPickerTime().equals(existingSlot.getPickerTime()))
-                );
-            }
-        }
-    }
 }
@@ -2,19 +2,21 @@ package pillmate.backend.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
-import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.CreatedDate;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import pillmate.backend.common.shard.GlobalTableGenerator;
 import pillmate.backend.entity.member.Member;
 
 import java.time.LocalDate;
@@ -23,10 +25,20 @@ import java.time.LocalTime;
 @Entity
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@EntityListeners(AuditingEntityListener.class)
+@Table(uniqueConstraints = {
+        // 알람 하나당 하루 한 번만 기록 (복용 요청 재시도 방지)
+        @UniqueConstraint(name = "uk_medicine_record_alarm_date", columnNames = {"alarm_id", "date"})
+}, indexes = {
+        // countEatenPerMedicine
+        @Index(name = "idx_medicine_record_member_medicine_eaten", columnList = "member_id, medicine_id, isEaten"),
+        // countEatenDates, findAllByMemberAndDateBetween
+        @Index(name = "idx_medicine_record_member_date", columnList = "member_id, date, isEaten")
+})
 public class MedicineRecord {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "medicine_record_id")
+    @GenericGenerator(name = "medicine_record_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "medicine_record"))
     private Long id;
 
     @JoinColumn(name = "member_id", nullable = false)
@@ -37,8 +49,12 @@ public class MedicineRecord {
     @ManyToOne(fetch = FetchType.LAZY)
     private Medicine medicine;
 
+    // 복용한 알람 (알람이 삭제돼도 기록은 남도록 연관관계 없이 id 만 저장)
+    @Column(name = "alarm_id", nullable = true)
+    private Long alarmId;
+
+    // 복용한 날짜 (write-behind 로 자정 이후에 기록되어도 요청한 날짜가 들어가도록 직접 넣는다)
     @Column(name = "date", nullable = false)
-    @CreatedDate
     private LocalDate date;
 
     @Column(name = "time", nullable = false)
@@ -48,10 +64,11 @@ public class MedicineRecord {
     private Boolean isEaten;
 
     @Builder
-    public MedicineRecord(Long id, Member member, Medicine medicine, LocalDate date, LocalTime time, Boolean isEaten) {
+    public MedicineRecord(Long id, Member member, Medicine medicine, Long alarmId, LocalDate date, LocalTime time, Boolean isEaten) {
         this.id = id;
         this.member = member;
         this.medicine = medicine;
+        this.alarmId = alarmId;
         this.date = date;
         this.time = time;
         this.isEaten = isEaten;
@@ -0,0 +1,68 @@
+package pillmate.backend.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import pillmate.backend.common.shard.GlobalTableGenerator;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도메인 이벤트 outbox
+ * 도메인 변경과 같은 트랜잭션에서 INSERT 하고, OutboxPoller 가 발행한 뒤 publishedAt 을 채운다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+        // findUnpublished, deletePublishedBefore
+        @Index(name = "idx_outbox_event_published_at", columnList = "published_at, id")
+})
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(generator = "outbox_event_id")
+    @GenericGenerator(name = "outbox_event_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "outbox_event"))
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 40)
+    private DomainEventType type;
+
+    @Column(name = "member_id", nullable = false)
+    private Long memberId;
+
+    // 이벤트 내용 (JSON)
+    @Column(name = "payload", nullable = true, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at", nullable = true)
+    private LocalDateTime publishedAt;
+
+    @Builder
+    public OutboxEvent(Long id, DomainEventType type, Long memberId, String payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.type = type;
+        this.memberId = memberId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    public void markPublished(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+}
@@ -1,30 +1,27 @@
 package pillmate.backend.entity;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.validation.constraints.NotNull;
+import jakarta.persistence.Embeddable;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalTime;
 
+/**
+ * 복용 시간 (값 타입)
+ * Alarm 테이블에 spinner_time, picker_time 컬럼으로 함께 저장된다.
+ */
 @AllArgsConstructor
 @Builder
-@Entity
+@Embeddable
 @Getter
+@EqualsAndHashCode
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class TimeSlot {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Column(name = "timeSlot_id")
-    private Long id;
-
     // 투여시간대
     @Column(name = "spinner_time", nullable = false)
     private String spinnerTime;
@@ -1,14 +1,7 @@
 package pillmate.backend.entity.member;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.Column;
-import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
-import jakarta.persistence.Id;
-import jakarta.persistence.JoinColumn;
-import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Embeddable;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,18 +10,18 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 
+/**
+ * 회원의 질병 정보
+ * 질병 이름은 health_term 사전의 id 로 저장한다.
+ */
 @AllArgsConstructor
 @Builder
-@Entity
+@Embeddable
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Disease {
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(name = "disease", nullable = false)
-    private String disease;
+    @Column(name = "disease_id", nullable = false)
+    private Integer diseaseId;
 
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
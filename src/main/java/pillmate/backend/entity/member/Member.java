@@ -2,25 +2,32 @@ package pillmate.backend.entity.member;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import pillmate.backend.common.shard.GlobalTableGenerator;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -32,9 +39,17 @@ import java.util.stream.Collectors;
 @Entity
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EntityListeners(AuditingEntityListener.class)
+@Table(indexes = {
+        // findByEmail, findByEmailAndType, existsByEmailAndType
+        @Index(name = "idx_member_email_type", columnList = "email, type"),
+        // findByProviderIdAndType, existsByProviderIdAndType
+        @Index(name = "idx_member_provider_type", columnList = "provider_id, type")
+})
 public class Member implements UserDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "member_id")
+    @GenericGenerator(name = "member_id", type = GlobalTableGenerator.class,
+            parameters = @Parameter(name = "segment_value", value = "member"))
     private Long id;
 
     @Column(name = "email", nullable = true)
@@ -50,13 +65,17 @@ public class Member implements UserDetails {
     @CreatedDate
     private LocalDate created;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "member_disease", joinColumns = @JoinColumn(name = "member_id"))
     @JsonIgnore
     private List<Disease> diseases = new ArrayList<>();
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    // 증상 사전(health_term) id
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "member_symptom", joinColumns = @JoinColumn(name = "member_id"))
+    @Column(name = "symptom_id", nullable = false)
     @JsonIgnore
-    private List<Symptom> symptoms = new ArrayList<>();
+    private List<Integer> symptomIds = new ArrayList<>();
 
     @Column(name = "provider_id", nullable = true)
     private Long providerId;
@@ -97,15 +116,15 @@ public class Member implements UserDetails {
         }
     }
 
-    public void addSymptom(Symptom symptom) {
-        if (symptom != null) {
-            symptoms.add(symptom);
+    public void addSymptom(Integer symptomId) {
+        if (symptomId != null) {
+            symptomIds.add(symptomId);
         }
     }
 
-    public void updateHealthInfo(List<Disease> diseaseList, List<Symptom> symptomList) {
+    public void updateHealthInfo(List<Disease> diseaseList, List<Integer> symptomIdList) {
         updateDisease(diseaseList);
-        updateSymptoms(symptomList);
+        updateSymptoms(symptomIdList);
     }
 
     private void updateDisease(List<Disease> diseaseList) {
@@ -115,10 +134,10 @@ public class Member implements UserDetails {
         }
     }
 
-    private void updateSymptoms(List<Symptom> symptomList) {
-        if (symptomList != null) {
-            symptoms.clear();
-            symptoms.addAll(symptomList);
+    private void updateSymptoms(List<Integer> symptomIdList) {
+        if (symptomIdList != null) {
+            symptomIds.clear();
+            symptomIds.addAll(symptomIdList);
         }
     }
 
@@ -1,22 +1,37 @@
 package pillmate.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import pillmate.backend.dto.main.MissedAlarmTime;
 import pillmate.backend.entity.Alarm;
 
 import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AlarmRepository extends JpaRepository<Alarm, Long> {
+    // 알람마다 약 정보를 쓰므로 함께 읽는다 (알람 수만큼 지연 로딩하지 않게)
     @Query("SELECT a FROM Alarm a " +
-            "JOIN a.medicinePerMember mpm " +
-            "JOIN mpm.member m " +
-            "WHERE m.id = :memberId")
+            "JOIN FETCH a.medicinePerMember mpm " +
+            "JOIN FETCH mpm.medicine " +
+            "WHERE mpm.member.id = :memberId")
     List<Alarm> findAllByMemberId(@Param("memberId") Long memberId);
 
+    // 목록 스트리밍용 (StreamingJson): 약 정보를 함께 읽고 알람 시간 순으로 보낸다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"))
+    @Query("SELECT a FROM Alarm a " +
+            "JOIN FETCH a.medicinePerMember mpm " +
+            "JOIN FETCH mpm.medicine " +
+            "WHERE mpm.member.id = :memberId " +
+            "ORDER BY a.timeSlot.pickerTime, a.id")
+    Stream<Alarm> streamAllByMemberId(@Param("memberId") Long memberId);
+
     @Query("SELECT a FROM Alarm a " +
             "JOIN a.medicinePerMember mpm " +
             "JOIN mpm.member m " +
@@ -26,6 +41,9 @@ public interface AlarmRepository extends JpaRepository<Alarm, Long> {
     List<Alarm> findAllByMemberIdAndMedicineName(@Param("memberId") Long memberId,
                                                  @Param("medicineName") String medicineName);
 
+    @Query("SELECT a FROM Alarm a WHERE a.medicinePerMember.id = :medicinePerMemberId")
+    List<Alarm> findAllByMedicinePerMemberId(@Param("medicinePerMemberId") Long medicinePerMemberId);
+
     @Query("SELECT a FROM Alarm a " +
             "WHERE a.medicinePerMember.member.id = :memberId " +
             "AND a.medicinePerMember.medicine.id = :medicineId " +
@@ -34,10 +52,18 @@ public interface AlarmRepository extends JpaRepository<Alarm, Long> {
                                                        @Param("medicineId") Long medicineId,
                                                        @Param("time") LocalTime time);
 
-    @Query("SELECT a FROM Alarm a WHERE a.medicinePerMember.member.id = :memberId AND a.timeSlot.pickerTime < :currentTime AND a.isAvailable = true AND a.isEaten = false")
-    List<Alarm> findMissedAlarms(@Param("memberId") Long memberId, @Param("currentTime") LocalTime currentTime);
+    // 인덱스에 있는 컬럼만 읽는다 (medicine_per_member 는 (member_id, medicine_id) 인덱스, alarm 은 idx_alarm_missed)
+    @Query("SELECT new pillmate.backend.dto.main.MissedAlarmTime(a.id, mpm.id, a.timeSlot.pickerTime) " +
+            "FROM Alarm a " +
+            "JOIN a.medicinePerMember mpm " +
+            "WHERE mpm.member.id = :memberId " +
+            "AND a.isAvailable = true " +
+            "AND a.isEaten = false " +
+            "AND a.timeSlot.pickerTime < :currentTime")
+    List<MissedAlarmTime> findMissedAlarms(@Param("memberId") Long memberId, @Param("currentTime") LocalTime currentTime);
 
+    // 버전도 올려서 자정 초기화와 겹친 수정이 덮어쓰지 않고 충돌로 감지되게 한다
     @Modifying
-    @Query("UPDATE Alarm a SET a.isEaten = false")
+    @Query("UPDATE Alarm a SET a.isEaten = false, a.version = a.version + 1")
     void updateAllIsEatenToFalse();
 }
@@ -0,0 +1,12 @@
+package pillmate.backend.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import pillmate.backend.entity.HealthTerm;
+import pillmate.backend.entity.HealthTermType;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface HealthTermRepository extends JpaRepository<HealthTerm, Integer> {
+    List<HealthTerm> findAllByTypeAndNameIn(HealthTermType type, Collection<String> names);
+}
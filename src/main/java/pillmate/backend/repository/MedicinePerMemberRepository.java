@@ -1,12 +1,32 @@
 package pillmate.backend.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import pillmate.backend.entity.MedicinePerMember;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MedicinePerMemberRepository extends JpaRepository<MedicinePerMember, Long> {
-    List<MedicinePerMember> findAllByMemberId(Long memberId);
+    // 약 이름/분류를 함께 쓰므로 약도 같이 읽는다
+    @Query("SELECT mpm FROM MedicinePerMember mpm " +
+            "JOIN FETCH mpm.medicine " +
+            "WHERE mpm.member.id = :memberId")
+    List<MedicinePerMember> findAllByMemberId(@Param("memberId") Long memberId);
     Optional<MedicinePerMember> findByMemberIdAndMedicineId(Long memberId, Long medicineId);
+
+    // 목록 스트리밍용 (StreamingJson): 약 이름 순으로 보낸다
+    // 투여시간대(getTimeSlots)가 알람에 있으므로 알람도 함께 읽는다. 같은 약의 행은 mpm.id 정렬로 이어서 나온다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"))
+    @Query("SELECT mpm FROM MedicinePerMember mpm " +
+            "JOIN FETCH mpm.medicine med " +
+            "LEFT JOIN FETCH mpm.alarms " +
+            "WHERE mpm.member.id = :memberId " +
+            "ORDER BY med.name, mpm.id")
+    Stream<MedicinePerMember> streamAllByMemberId(@Param("memberId") Long memberId);
 }
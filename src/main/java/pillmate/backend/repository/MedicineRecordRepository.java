@@ -3,27 +3,41 @@ package pillmate.backend.repository;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import pillmate.backend.dto.main.EatenCount;
 import pillmate.backend.entity.MedicineRecord;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface MedicineRecordRepository extends JpaRepository<MedicineRecord, Long> {
+    // 약 카탈로그는 전역 샤드에 있으므로 전체 약 개수는 회원 샤드에서 세지 않고 받는다 (MedicineCatalogService.count)
     @Query("SELECT mr.date " +
             "FROM MedicineRecord mr " +
             "WHERE mr.member.id = :memberId " +
             "AND mr.date BETWEEN :startDate AND :endDate " +
             "AND mr.isEaten = TRUE " +
             "GROUP BY mr.date " +
-            "HAVING COUNT(DISTINCT mr.medicine.id) = (SELECT COUNT(m.id) FROM Medicine m)")
+            "HAVING COUNT(DISTINCT mr.medicine.id) = :medicineCount")
     List<LocalDate> countEatenDates(@Param("memberId") Long memberId,
                             @Param("startDate") LocalDate startDate,
-                            @Param("endDate") LocalDate endDate);
+                            @Param("endDate") LocalDate endDate,
+                            @Param("medicineCount") long medicineCount);
 
-    @Query("SELECT COUNT(mr) FROM MedicineRecord mr WHERE mr.member.id = :memberId AND mr.medicine.id = :medicineId AND mr.isEaten = true")
-    Integer countByMemberIdAndMedicineIdAndIsEatenTrue(@Param("memberId") Long memberId, @Param("medicineId") Long medicineId);
+    // 약마다 따로 세지 않고 한 번에 센다 (MainService 복용률)
+    @Query("SELECT new pillmate.backend.dto.main.EatenCount(mr.medicine.id, COUNT(mr)) " +
+            "FROM MedicineRecord mr " +
+            "WHERE mr.member.id = :memberId " +
+            "AND mr.isEaten = true " +
+            "GROUP BY mr.medicine.id")
+    List<EatenCount> countEatenPerMedicine(@Param("memberId") Long memberId);
 
     @Query("SELECT m FROM MedicineRecord m WHERE m.member.id = :memberId AND m.date BETWEEN :startDate AND :currentDate")
     List<MedicineRecord> findAllByMemberAndDateBetween(@Param("memberId") Long memberId,
                                                        @Param("startDate") LocalDate startDate,
-                                                       @Param("currentDate") LocalDate currentDate);}
+                                                       @Param("currentDate") LocalDate currentDate);
+
+    boolean existsByAlarmIdAndDate(Long alarmId, LocalDate date);
+
+    List<MedicineRecord> findAllByAlarmIdInAndDateIn(Collection<Long> alarmIds, Collection<LocalDate> dates);
+}
@@ -1,10 +1,32 @@
 package pillmate.backend.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import pillmate.backend.entity.Medicine;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface MedicineRepository extends JpaRepository<Medicine, Long> {
     Optional<Medicine> findByName(String name);
+
+    List<Medicine> findAllByNameIn(Collection<String> names);
+
+    @Query("SELECT m.id AS id, m.name AS name FROM Medicine m")
+    List<MedicineName> findAllNames();
+
+    /**
+     * 전역 샤드의 약을 같은 id 로 회원 샤드에 복사한다. (MedicineCatalogService.copyToMemberShard)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO medicine (id, name, category, photo) VALUES (:id, :name, :category, :photo)", nativeQuery = true)
+    void insertCopy(@Param("id") Long id, @Param("name") String name, @Param("category") String category, @Param("photo") String photo);
+
+    interface MedicineName {
+        Long getId();
+        String getName();
+    }
 }
@@ -2,24 +2,38 @@ package pillmate.backend.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.aop.RetryOnOptimisticLock;
+import pillmate.backend.common.aop.SqlBudget;
 import pillmate.backend.common.exception.NotFoundException;
 import pillmate.backend.common.exception.errorcode.ErrorCode;
 import pillmate.backend.dto.alarm.AlarmInfo;
+import pillmate.backend.dto.alarm.ScheduleChangedEvent;
 import pillmate.backend.dto.medicine.UpcomingAlarm;
+import pillmate.backend.dto.outbox.MemberDataChangedEvent;
 import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.DomainEventType;
 import pillmate.backend.entity.MedicinePerMember;
 import pillmate.backend.entity.TimeSlot;
 import pillmate.backend.repository.AlarmRepository;
 import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.service.dose.DoseEventQueue;
+import pillmate.backend.service.outbox.OutboxService;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -28,27 +42,55 @@ import java.util.stream.Collectors;
 public class AlarmService {
     private final AlarmRepository alarmRepository;
     private final MedicinePerMemberRepository medicinePerMemberRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DoseEventQueue doseEventQueue;
+    private final OutboxService outboxService;
 
+    // 알람과 약 정보를 한 번에 읽는다
+    @SqlBudget(1)
     public List<AlarmInfo> showAll(Long memberId) {
+        LocalDate today = LocalDate.now();
         return alarmRepository.findAllByMemberId(memberId).stream()
-                .filter(alarm -> alarm.getMedicinePerMember().getCreated().plusDays(alarm.getMedicinePerMember().getDay()).isAfter(LocalDate.now()))
-                .map(alarm -> AlarmInfo.builder()
-                        .id(alarm.getId())
-                        .name(alarm.getMedicinePerMember().getMedicine().getName())
-                        .category(alarm.getMedicinePerMember().getMedicine().getCategory())
-                        .amount(alarm.getMedicinePerMember().getAmount())
-                        .timesPerDay(alarm.getMedicinePerMember().getTimes())
-                        .day(alarm.getMedicinePerMember().getDay())
-                        .timeSlot(alarm.getTimeSlot())
-                        .isAvailable(alarm.getIsAvailable())
-                        .build())
+                .filter(alarm -> isInCourse(alarm, today))
+                .map(this::toAlarmInfo)
                 .sorted(Comparator.comparing(alarmInfo -> alarmInfo.getTimeSlot().getPickerTime())) // pickerTime을 기준으로 정렬
                 .collect(Collectors.toList());
     }
 
+    /**
+     * showAll 과 같은 목록을 DB 에서 알람 시간 순으로 읽으면서 하나씩 만든다. (StreamingJson)
+     * 호출하는 쪽의 트랜잭션 안에서 다 읽고 닫아야 한다.
+     */
+    public Stream<AlarmInfo> streamAll(Long memberId) {
+        LocalDate today = LocalDate.now();
+        return alarmRepository.streamAllByMemberId(memberId)
+                .filter(alarm -> isInCourse(alarm, today))
+                .map(this::toAlarmInfo);
+    }
+
+    private boolean isInCourse(Alarm alarm, LocalDate today) {
+        return alarm.getMedicinePerMember().getCreated().plusDays(alarm.getMedicinePerMember().getDay()).isAfter(today);
+    }
+
+    private AlarmInfo toAlarmInfo(Alarm alarm) {
+        return AlarmInfo.builder()
+                .id(alarm.getId())
+                .name(alarm.getMedicinePerMember().getMedicine().getName())
+                .category(alarm.getMedicinePerMember().getMedicine().getCategory())
+                .amount(alarm.getMedicinePerMember().getAmount())
+                .timesPerDay(alarm.getMedicinePerMember().getTimes())
+                .day(alarm.getMedicinePerMember().getDay())
+                .timeSlot(alarm.getTimeSlot())
+                .isAvailable(alarm.getIsAvailable())
+                .build();
+    }
+
+    @RetryOnOptimisticLock("alarm.availability")
     @Transactional
     public ResponseEntity<String> updateAvailability(Long alarmId, Boolean available, Long memberId) {
         findByAlarmId(alarmId).updateAvailability(available);
+        // outbox 이벤트는 없지만 알람 목록의 on/off 가 바뀐다
+        eventPublisher.publishEvent(new MemberDataChangedEvent(memberId, DomainEventType.SCHEDULE_CHANGED));
         return ResponseEntity.ok("알람 on/off 설정이 변경되었습니다.");
     }
 
@@ -62,42 +104,58 @@ public class AlarmService {
         alarmRepository.updateAllIsEatenToFalse();
     }
 
+    /**
+     * pickerTime 기준으로 기존 알람과 새 복용 시간을 비교해서 바뀐 알람만 추가/수정/삭제한다.
+     * 추가는 saveAll, 삭제는 한 번의 DELETE, 수정은 dirty checking 으로 flush 시 batch 로 나간다.
+     */
     @Transactional
-    public void updateTime(Long memberId, String medicineName, List<TimeSlot> timeSlots) {
-        // 1. Alarm 리스트 가져오기
-        List<Alarm> alarms = findByMemberIdAndMedicineName(memberId, medicineName);
-        int currentAlarmCount = alarms.size();
-        int newTimeSlotCount = timeSlots.size();
-
-        // 2. Alarm의 개수를 TimeSlot에 맞추기
-        if (newTimeSlotCount > currentAlarmCount) {
-            // 부족한 알람 개수만큼 새로운 Alarm 추가
-            for (int i = currentAlarmCount; i < newTimeSlotCount; i++) {
-                Alarm newAlarm = Alarm.builder()
-                        .medicinePerMember(alarms.get(0).getMedicinePerMember()) // 기존 MedicinePerMember 사용
-                        .timeSlot(timeSlots.get(i))
+    public ScheduleChangedEvent updateTime(MedicinePerMember medicinePerMember, List<TimeSlot> timeSlots) {
+        // 1. 기존 알람과 새 복용 시간을 pickerTime 으로 묶기 (같은 시간이 여러 번 오면 마지막 것 사용)
+        Map<LocalTime, Alarm> alarms = alarmRepository.findAllByMedicinePerMemberId(medicinePerMember.getId()).stream()
+                .collect(Collectors.toMap(alarm -> alarm.getTimeSlot().getPickerTime(), Function.identity(), (a, b) -> a));
+        Map<LocalTime, TimeSlot> requested = timeSlots.stream()
+                .collect(Collectors.toMap(TimeSlot::getPickerTime, Function.identity(), (a, b) -> b, LinkedHashMap::new));
+
+        List<Alarm> added = new ArrayList<>();
+        List<LocalTime> updated = new ArrayList<>();
+        requested.forEach((pickerTime, timeSlot) -> {
+            Alarm alarm = alarms.remove(pickerTime);
+            if (alarm == null) {
+                added.add(Alarm.builder()
+                        .medicinePerMember(medicinePerMember)
+                        .timeSlot(timeSlot)
                         .isEaten(false)
                         .isAvailable(true)
-                        .build();
-                alarms.add(newAlarm);
+                        .build());
+            } else if (!alarm.getTimeSlot().equals(timeSlot)) {
+                // pickerTime 은 같고 투여시간대 이름만 바뀐 경우
+                alarm.updateTimeSlot(timeSlot);
+                updated.add(pickerTime);
             }
-        } else if (newTimeSlotCount < currentAlarmCount) {
-            // 초과한 알람 제거
-            alarms.subList(newTimeSlotCount, currentAlarmCount).clear();
-        }
+        });
+        // 남은 기존 알람은 새 복용 시간에 없는 것
+        List<Alarm> removed = new ArrayList<>(alarms.values());
 
-        // 3. 알람의 timeSlot 업데이트
-        for (int i = 0; i < newTimeSlotCount; i++) {
-            alarms.get(i).updateTimeSlot(timeSlots.get(i));
+        // 2. 변경분만 반영
+        alarmRepository.saveAll(added);
+        if (!removed.isEmpty()) {
+            alarmRepository.deleteAllInBatch(removed);
         }
 
-        // 4. 변경된 알람들 저장
-        alarmRepository.saveAll(alarms);
+        ScheduleChangedEvent event = new ScheduleChangedEvent(medicinePerMember.getMember().getId(), medicinePerMember.getId(),
+                added.stream().map(alarm -> alarm.getTimeSlot().getPickerTime()).toList(),
+                updated,
+                removed.stream().map(alarm -> alarm.getTimeSlot().getPickerTime()).toList());
+        if (!event.isEmpty()) {
+            outboxService.append(DomainEventType.SCHEDULE_CHANGED, event.memberId(), event);
+        }
+        return event;
     }
 
     public UpcomingAlarm getUpcomingAlarm(Long memberId, LocalTime currentTime) {
+        Set<Long> takenAlarmIds = doseEventQueue.findTakenAlarmIds(memberId, LocalDate.now());
         Alarm upcomingAlarm = alarmRepository.findAllByMemberId(memberId).stream()
-                .filter(alarm -> alarm.getIsAvailable().booleanValue() == Boolean.TRUE && alarm.getIsEaten().booleanValue() == Boolean.FALSE)
+                .filter(alarm -> alarm.getIsAvailable().booleanValue() == Boolean.TRUE && !isEaten(alarm, takenAlarmIds))
                 .filter(alarm -> alarm.getMedicinePerMember().getCreated().plusDays(alarm.getMedicinePerMember().getDay()).isAfter(LocalDate.now())
                         || alarm.getMedicinePerMember().getCreated().plusDays(alarm.getMedicinePerMember().getDay()).isEqual(LocalDate.now()))
                 .filter(alarm -> alarm.getTimeSlot().getPickerTime().isAfter(currentTime)) // 현재 시간 이후의 알람 필터링
@@ -105,7 +163,7 @@ public class AlarmService {
                 .findFirst() // 현재 시간 이후의 첫 번째 알람을 찾음
                 .orElseGet(() ->
                         alarmRepository.findAllByMemberId(memberId).stream() // 현재 시간 이후 알람이 없을 경우
-                                .filter(alarm -> Boolean.TRUE.equals(alarm.getIsAvailable()) && Boolean.FALSE.equals(alarm.getIsEaten()))
+                                .filter(alarm -> Boolean.TRUE.equals(alarm.getIsAvailable()) && !isEaten(alarm, takenAlarmIds))
                                 .sorted(Comparator.comparing(alarm -> alarm.getTimeSlot().getPickerTime())) // pickerTime 기준으로 정렬
                                 .findFirst() // 다음 날 첫 번째 알람을 찾음
                                 .orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_ALARM))
@@ -116,6 +174,13 @@ public class AlarmService {
                 .time(upcomingAlarm.getTimeSlot().getPickerTime()).build();
     }
 
+    /**
+     * db 의 isEaten 에 아직 기록되지 않은 복용 요청(write-behind 큐)까지 합쳐서 본다.
+     */
+    public boolean isEaten(Alarm alarm, Set<Long> takenAlarmIds) {
+        return Boolean.TRUE.equals(alarm.getIsEaten()) || takenAlarmIds.contains(alarm.getId());
+    }
+
     private Alarm findByAlarmId(Long alarmId) {
         return alarmRepository.findById(alarmId).orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_ALARM));
     }
@@ -1,31 +1,43 @@
 package pillmate.backend.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pillmate.backend.common.aop.SqlBudget;
+import pillmate.backend.common.util.StreamingJson;
 import pillmate.backend.common.exception.NotFoundException;
 import pillmate.backend.dto.alarm.SimpleAlarmInfo;
 import pillmate.backend.dto.diary.CreateDiaryRequest;
 import pillmate.backend.dto.diary.CreateDiaryResponse;
 import pillmate.backend.dto.diary.EditDiaryRequest;
 import pillmate.backend.dto.diary.PainInfo;
+import pillmate.backend.dto.diary.PainTrend;
 import pillmate.backend.dto.diary.ShowDiaryResponse;
 import pillmate.backend.dto.diary.TotalInfo;
 import pillmate.backend.dto.diary.Today;
+import pillmate.backend.dto.member.SymptomInfo;
 import pillmate.backend.entity.Alarm;
 import pillmate.backend.entity.Diary;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.HealthTermType;
 import pillmate.backend.entity.MedicinePerMember;
 import pillmate.backend.entity.member.Member;
-import pillmate.backend.entity.member.Symptom;
 import pillmate.backend.repository.AlarmRepository;
 import pillmate.backend.repository.DiaryRepository;
 import pillmate.backend.repository.MedicinePerMemberRepository;
 import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.outbox.OutboxService;
 
+import java.io.IOException;
 import java.time.temporal.ChronoUnit;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import static pillmate.backend.common.exception.errorcode.ErrorCode.*;
 
@@ -38,21 +50,53 @@ public class DiaryService {
     private final DiaryRepository diaryRepository;
     private final MedicinePerMemberRepository medicinePerMemberRepository;
     private final MemberRepository memberRepository;
-
-    @Transactional
+    private final HealthTermService healthTermService;
+    private final PainTrendService painTrendService;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxService outboxService;
+
+    /**
+     * 하루에 일기는 하나: (member_id, date) 유니크 키로 먼저 INSERT 하고, 이미 있으면 그 일기를 수정한다.
+     * INSERT 와 수정을 각각 별도 트랜잭션으로 실행해서 같은 날 요청이 동시에 와도 한 행만 남는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CreateDiaryResponse create(Long memberId, CreateDiaryRequest createDiaryRequest) {
-        Diary diary = diaryRepository.save(createDiaryRequest.toEntity(findByMemberId(memberId)));
+        Member member = findByMemberId(memberId);
+        List<Integer> symptomIds = healthTermService.intern(HealthTermType.SYMPTOM, createDiaryRequest.getSymptom());
+
+        Diary diary;
+        try {
+            diary = transactionTemplate.execute(status -> appendEdited(diaryRepository.saveAndFlush(createDiaryRequest.toEntity(member, symptomIds))));
+        } catch (DataIntegrityViolationException e) {
+            diary = transactionTemplate.execute(status -> {
+                Diary existing = getDiary(memberId, createDiaryRequest.getDate());
+                if (existing == null) {
+                    throw e;
+                }
+                existing.update(symptomIds, createDiaryRequest.getScore(), createDiaryRequest.getRecord());
+                return appendEdited(existing);
+            });
+        }
+        painTrendService.recordPain(memberId, diary.getDate(), diary.getScore());
         return CreateDiaryResponse.builder().diaryId(diary.getId()).build();
     }
 
     @Transactional
     public void edit(Long diaryId, EditDiaryRequest editDiaryRequest) {
         Diary diary = findById(diaryId);
-        diary.update(editDiaryRequest.getSymptom(), editDiaryRequest.getScore(), editDiaryRequest.getRecord());
+        List<Integer> symptomIds = editDiaryRequest.getSymptom() == null ? null
+                : healthTermService.intern(HealthTermType.SYMPTOM, editDiaryRequest.getSymptom());
+        diary.update(symptomIds, editDiaryRequest.getScore(), editDiaryRequest.getRecord());
+        painTrendService.recordPain(diary.getMember().getId(), diary.getDate(), diary.getScore());
+        appendEdited(diary);
+    }
+
+    public List<SymptomInfo> showSymptoms(Long memberId) {
+        return healthTermService.toSymptomInfos(findByMemberId(memberId).getSymptomIds());
     }
 
-    public List<Symptom> showSymptoms(Long memberId) {
-        return findByMemberId(memberId).getSymptoms();
+    public PainTrend showTrend(Long memberId) {
+        return painTrendService.getTrend(memberId);
     }
 
     public Today show(Long memberId, LocalDate date) {
@@ -73,31 +117,61 @@ public class DiaryService {
 
         return Today.builder().alarms(alarms)
                 .id(diary.getId())
-                .symptoms(diary.getSymptom())
+                .symptoms(healthTermService.getNames(diary.getSymptomIds()))
                 .record(diary.getRecord())
                 .score(diary.getScore())
                 .comment(findByScore(diary.getScore()))
                 .build();
     }
 
+    // 복용 약 1 + 회원 1 + 월간 일기 1 + 오늘 알람 1 + 오늘 일기와 증상 2 + 증상 이름 1 (약 수와 상관없다)
+    @SqlBudget(7)
     public ShowDiaryResponse showMonthly(Long memberId, LocalDate date) {
         List<MedicinePerMember> medicines = findMedicineByMemberId(memberId);
         List<TotalInfo> totalInfos = medicines.stream()
-                .map(medicinePerMember -> TotalInfo.builder()
-                        .name(medicinePerMember.getMedicine().getName())
-                        .category(medicinePerMember.getMedicine().getCategory())
-                        .startDate(medicinePerMember.getCreated())
-                        .endDate(medicinePerMember.getCreated().plusDays(medicinePerMember.getDay()))
-                        .build()).toList();
-        Long duration = ChronoUnit.DAYS.between(findByMemberId(memberId).getCreated(), LocalDate.now()) + 1;
+                .map(this::toTotalInfo)
+                .toList();
         return ShowDiaryResponse.builder()
-                .duration(duration)
+                .duration(getDuration(memberId))
                 .painsPerDay(getPainsPerDay(memberId, date))
                 .totalInfo(totalInfos)
                 .today(show(memberId, date))
                 .build();
     }
 
+    /**
+     * showMonthly 와 같은 JSON 을 쓰되, 지금까지 복용한 약 전체(totalInfo)는 모으지 않고 약 이름 순으로 한 행씩 쓴다. (StreamingJson)
+     */
+    public void writeMonthly(Long memberId, LocalDate date, StreamingJson.Writer writer) throws IOException {
+        JsonGenerator generator = writer.generator();
+        generator.writeStartObject();
+        generator.writeObjectField("painsPerDay", getPainsPerDay(memberId, date));
+        generator.writeNumberField("duration", getDuration(memberId));
+        generator.writeFieldName("totalInfo");
+        writer.writeArray(medicinePerMemberRepository.streamAllByMemberId(memberId).map(this::toTotalInfo));
+        generator.writeObjectField("today", show(memberId, date));
+        generator.writeEndObject();
+    }
+
+    private TotalInfo toTotalInfo(MedicinePerMember medicinePerMember) {
+        return TotalInfo.builder()
+                .name(medicinePerMember.getMedicine().getName())
+                .category(medicinePerMember.getMedicine().getCategory())
+                .startDate(medicinePerMember.getCreated())
+                .endDate(medicinePerMember.getCreated().plusDays(medicinePerMember.getDay()))
+                .build();
+    }
+
+    private Long getDuration(Long memberId) {
+        return ChronoUnit.DAYS.between(findByMemberId(memberId).getCreated(), LocalDate.now()) + 1;
+    }
+
+    private Diary appendEdited(Diary diary) {
+        outboxService.append(DomainEventType.DIARY_EDITED, diary.getMember().getId(),
+                Map.of("diaryId", diary.getId(), "date", diary.getDate()));
+        return diary;
+    }
+
     private Diary getDiary(Long memberId, LocalDate date) {
         return diaryRepository.findByMemberIdAndAndDate(memberId, date);
     }
@@ -0,0 +1,49 @@
+package pillmate.backend.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import pillmate.backend.common.util.TransactionHooks;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * 복용 기록 중복 방지
+ * 알람 id + 날짜를 키로 Redis SET NX 를 걸어서, 모바일 재시도로 같은 요청이 여러 번 와도 첫 요청만 기록하게 한다.
+ * Redis 를 쓸 수 없을 때는 medicine_record 의 (alarm_id, date) 유니크 키가 마지막으로 막는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DoseIdempotencyService {
+    private static final String KEY_PREFIX = "dose:";
+    // 날짜가 키에 들어가므로 하루가 지나면 필요 없다
+    private static final Duration TTL = Duration.ofHours(25);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 해당 알람의 그날 첫 복용 요청이면 true
+     * 트랜잭션이 롤백되면 키를 지워서 다음 재시도가 기록될 수 있게 한다.
+     */
+    public boolean acquire(Long alarmId, LocalDate date) {
+        String key = KEY_PREFIX + alarmId + ":" + date;
+        Boolean acquired;
+        try {
+            acquired = stringRedisTemplate.opsForValue().setIfAbsent(key, "1", TTL);
+        } catch (DataAccessException e) {
+            log.warn("redis unavailable, dose idempotency falls back to db. key = {}", key, e);
+            return true;
+        }
+
+        if (Boolean.TRUE.equals(acquired)) {
+            TransactionHooks.afterRollback(() -> stringRedisTemplate.delete(key));
+            return true;
+        }
+        log.info("duplicate dose request ignored. key = {}", key);
+        return false;
+    }
+}
@@ -0,0 +1,174 @@
+package pillmate.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pillmate.backend.common.shard.ShardContext;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.member.DiseaseInfo;
+import pillmate.backend.dto.member.SymptomInfo;
+import pillmate.backend.entity.HealthTerm;
+import pillmate.backend.entity.HealthTermType;
+import pillmate.backend.entity.member.Disease;
+import pillmate.backend.repository.HealthTermRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 증상/질병 사전을 관리하는 서비스
+ * 사전은 거의 늘어나지 않으므로 한 번 조회한 항목은 메모리에 보관하고(read-through), 없는 이름만 DB 에서 찾거나 새로 등록한다.
+ * 사전은 회원에 속하지 않으므로 샤딩을 켜면 전역 샤드에서 읽고 쓴다.
+ */
+@Slf4j
+@Service
+public class HealthTermService {
+    private final HealthTermRepository healthTermRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final ShardTemplate shardTemplate;
+
+    private final Map<HealthTermType, Map<String, Integer>> idsByName = new EnumMap<>(HealthTermType.class);
+    private final Map<Integer, String> namesById = new ConcurrentHashMap<>();
+
+    public HealthTermService(HealthTermRepository healthTermRepository, PlatformTransactionManager transactionManager,
+                             ShardTemplate shardTemplate) {
+        this.healthTermRepository = healthTermRepository;
+        this.shardTemplate = shardTemplate;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (HealthTermType type : HealthTermType.values()) {
+            idsByName.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * 이름 목록을 사전 id 목록으로 바꾸는 메소드 (사전에 없는 이름은 새로 등록한다)
+     * @param type 증상/질병 구분
+     * @param names 이름 목록
+     * @return 입력 순서를 유지한 사전 id 목록 (공백, 중복 이름은 제외)
+     */
+    public List<Integer> intern(HealthTermType type, Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> normalized = new LinkedHashSet<>();
+        names.stream().map(this::normalize).filter(name -> !name.isEmpty()).forEach(normalized::add);
+
+        Map<String, Integer> cache = idsByName.get(type);
+        List<String> missing = normalized.stream().filter(name -> !cache.containsKey(name)).toList();
+        if (!missing.isEmpty()) {
+            shardTemplate.onGlobal(() -> healthTermRepository.findAllByTypeAndNameIn(type, missing)).forEach(this::put);
+            missing.stream().filter(name -> !cache.containsKey(name)).forEach(name -> create(type, name));
+        }
+
+        return normalized.stream().map(cache::get).toList();
+    }
+
+    public Integer intern(HealthTermType type, String name) {
+        List<Integer> ids = intern(type, List.of(name));
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+
+    /**
+     * 사전 id 목록을 이름 목록으로 바꾸는 메소드
+     * @param ids 사전 id 목록
+     * @return 이름 목록
+     */
+    public List<String> getNames(Collection<Integer> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Integer> missing = ids.stream().filter(id -> !namesById.containsKey(id)).distinct().toList();
+        if (!missing.isEmpty()) {
+            shardTemplate.onGlobal(() -> healthTermRepository.findAllById(missing)).forEach(this::put);
+        }
+
+        return ids.stream().map(namesById::get).toList();
+    }
+
+    public String getName(Integer id) {
+        return getNames(List.of(id)).get(0);
+    }
+
+    public List<Disease> toDiseases(List<DiseaseInfo> diseaseInfos) {
+        if (diseaseInfos == null) {
+            return null;
+        }
+
+        // 한 번에 사전을 채운 뒤 항목별로 캐시에서 꺼낸다
+        intern(HealthTermType.DISEASE, diseaseInfos.stream().map(DiseaseInfo::getDisease).toList());
+        return diseaseInfos.stream()
+                .filter(d -> !normalize(d.getDisease()).isEmpty())
+                .map(d -> Disease.builder()
+                        .diseaseId(intern(HealthTermType.DISEASE, d.getDisease()))
+                        .startDate(d.getStartDate())
+                        .build())
+                .toList();
+    }
+
+    public List<DiseaseInfo> toDiseaseInfos(List<Disease> diseases) {
+        List<String> names = getNames(diseases.stream().map(Disease::getDiseaseId).toList());
+        List<DiseaseInfo> diseaseInfos = new ArrayList<>();
+        for (int i = 0; i < diseases.size(); i++) {
+            diseaseInfos.add(DiseaseInfo.builder()
+                    .id(diseases.get(i).getDiseaseId())
+                    .disease(names.get(i))
+                    .startDate(diseases.get(i).getStartDate())
+                    .build());
+        }
+        return diseaseInfos;
+    }
+
+    public List<Integer> toSymptomIds(List<SymptomInfo> symptomInfos) {
+        if (symptomInfos == null) {
+            return null;
+        }
+        return intern(HealthTermType.SYMPTOM, symptomInfos.stream().map(SymptomInfo::getName).toList());
+    }
+
+    public List<SymptomInfo> toSymptomInfos(List<Integer> symptomIds) {
+        List<String> names = getNames(symptomIds);
+        List<SymptomInfo> symptomInfos = new ArrayList<>();
+        for (int i = 0; i < symptomIds.size(); i++) {
+            symptomInfos.add(SymptomInfo.builder()
+                    .id(symptomIds.get(i))
+                    .name(names.get(i))
+                    .build());
+        }
+        return symptomInfos;
+    }
+
+    private void create(HealthTermType type, String name) {
+        try {
+            put(ShardContext.callOnGlobal(() -> requiresNewTransaction.execute(status -> healthTermRepository.saveAndFlush(HealthTerm.builder()
+                    .type(type)
+                    .name(name)
+                    .build()))));
+        } catch (DataIntegrityViolationException e) {
+            // 동시에 같은 이름이 등록된 경우 먼저 등록된 항목을 사용한다
+            log.info("health term already registered. type = {}, name = {}", type, name);
+            ShardContext.callOnGlobal(() -> requiresNewTransaction.execute(status -> healthTermRepository.findAllByTypeAndNameIn(type, List.of(name))))
+                    .forEach(this::put);
+        }
+    }
+
+    private void put(HealthTerm term) {
+        idsByName.get(term.getType()).put(term.getName(), term.getId());
+        namesById.put(term.getId(), term.getName());
+    }
+
+    private String normalize(String name) {
+        return name == null ? "" : name.strip();
+    }
+}
@@ -4,8 +4,10 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.aop.SqlBudget;
 import pillmate.backend.dto.main.AdherenceRate;
 import pillmate.backend.dto.main.BestRecord;
+import pillmate.backend.dto.main.EatenCount;
 import pillmate.backend.dto.main.MainResponse;
 import pillmate.backend.dto.main.MedicineAlarmRecord;
 import pillmate.backend.dto.main.MissedAlarm;
@@ -13,16 +15,22 @@ import pillmate.backend.dto.main.RemainingMedicine;
 import pillmate.backend.dto.main.WorstRecord;
 import pillmate.backend.entity.Alarm;
 import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.MedicineRecord;
 import pillmate.backend.repository.AlarmRepository;
 import pillmate.backend.repository.MedicinePerMemberRepository;
 import pillmate.backend.repository.MedicineRecordRepository;
+import pillmate.backend.service.dose.DoseEventQueue;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -34,32 +42,46 @@ public class MainService {
     private final AlarmRepository alarmRepository;
     private final MedicinePerMemberRepository medicinePerMemberRepository;
     private final MedicineRecordRepository medicineRecordRepository;
+    private final DoseEventQueue doseEventQueue;
 
+    // 알람/약은 함께 읽고 복용 수는 한 번에 세므로 약 수와 상관없다
+    // (다음 알람 조회 2 + 놓친 알람 2 + 복용 기록 1 + 남은 약 1 + 복용률 2 + 아직 기록되지 않은 복용 2)
+    @SqlBudget(10)
     public MainResponse show(final Long memberId, LocalTime currentTime) {
+        // 방금 복용한 알람이 아직 db 에 기록되지 않았어도 먹은 것으로 보여준다
+        Set<Long> takenAlarmIds = doseEventQueue.findTakenAlarmIds(memberId, LocalDate.now());
+        List<AdherenceRate> rates = getAllMedicineAdherenceRates(memberId, takenAlarmIds);
         return MainResponse.builder()
                 .upcomingAlarm(alarmService.getUpcomingAlarm(memberId, currentTime))
-                .missedAlarms(getMissedAlarms(memberId))
-                .medicineAlarmRecords(getMedicineRecords(memberId))
+                .missedAlarms(getMissedAlarms(memberId, takenAlarmIds))
+                .medicineAlarmRecords(getMedicineRecords(memberId, takenAlarmIds))
                 .remainingMedicine(getRemainingMedicine(memberId))
-                .bestRecord(getBestRecord(memberId))
-                .worstRecord(getWorstRecord(memberId))
+                .bestRecord(BestRecord.from(getBestRate(rates)))
+                .worstRecord(getWorstRecord(rates))
                 .build();
     }
 
-    private List<MissedAlarm> getMissedAlarms(Long memberId) {
+    // findMissedAlarms 는 인덱스에 있는 값만 읽고, 약 이름과 복용 기간은 회원의 복용 약 목록에서 찾는다
+    private List<MissedAlarm> getMissedAlarms(Long memberId, Set<Long> takenAlarmIds) {
         LocalTime now = LocalTime.now();
+        Map<Long, MedicinePerMember> medicinePerMembers = findMedicineByMemberId(memberId).stream()
+                .collect(Collectors.toMap(MedicinePerMember::getId, Function.identity()));
         return alarmRepository.findMissedAlarms(memberId, now).stream()
-                .filter(alarm -> alarm.getMedicinePerMember().getCreated().plusDays(alarm.getMedicinePerMember().getDay()).isAfter(LocalDate.now())
-                        || alarm.getMedicinePerMember().getCreated().plusDays(alarm.getMedicinePerMember().getDay()).isEqual(LocalDate.now()))
-                .map(
-                alarm -> MissedAlarm.builder()
-                        .name(alarm.getMedicinePerMember().getMedicine().getName())
-                        .time(alarm.getTimeSlot().getPickerTime())
-                        .build()
-        ).toList();
+                .filter(alarm -> !takenAlarmIds.contains(alarm.alarmId()))
+                .filter(alarm -> medicinePerMembers.containsKey(alarm.medicinePerMemberId()))
+                .filter(alarm -> {
+                    MedicinePerMember medicinePerMember = medicinePerMembers.get(alarm.medicinePerMemberId());
+                    return medicinePerMember.getCreated().plusDays(medicinePerMember.getDay()).isAfter(LocalDate.now())
+                            || medicinePerMember.getCreated().plusDays(medicinePerMember.getDay()).isEqual(LocalDate.now());
+                })
+                .map(alarm -> MissedAlarm.builder()
+                        .name(medicinePerMembers.get(alarm.medicinePerMemberId()).getMedicine().getName())
+                        .time(alarm.pickerTime())
+                        .build())
+                .toList();
     }
 
-    private List<MedicineAlarmRecord> getMedicineRecords(Long memberId) {
+    private List<MedicineAlarmRecord> getMedicineRecords(Long memberId, Set<Long> takenAlarmIds) {
         List<Alarm> alarmList = alarmRepository.findAllByMemberId(memberId);
 
         // alarmList를 Alarm의 timeSlot 기준으로 정렬 (오전~오후 순)
@@ -77,7 +99,7 @@ public class MainService {
                             .name(alarm.getMedicinePerMember().getMedicine().getName())
                             .time(alarm.getTimeSlot().getPickerTime())
                             .category(alarm.getMedicinePerMember().getMedicine().getCategory())
-                            .isEaten(alarm.getIsEaten())
+                            .isEaten(alarmService.isEaten(alarm, takenAlarmIds))
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -87,18 +109,17 @@ public class MainService {
         return medicinePerMember.getAmount() * medicinePerMember.getTimes() * (medicinePerMember.getDay());
     }
 
-    private Integer getTakenAmount(Long memberId, Long medicineId) {
-        return medicineRecordRepository.countByMemberIdAndMedicineIdAndIsEatenTrue(memberId, medicineId);
-    }
-
-    private List<AdherenceRate> getAllMedicineAdherenceRates(Long memberId) {
+    private List<AdherenceRate> getAllMedicineAdherenceRates(Long memberId, Set<Long> takenAlarmIds) {
         List<MedicinePerMember> medicinePerMembers = medicinePerMemberRepository.findAllByMemberId(memberId);
 
         if (!medicinePerMembers.isEmpty()) {
+            Map<Long, Long> takenAmounts = medicineRecordRepository.countEatenPerMedicine(memberId).stream()
+                    .collect(Collectors.toMap(EatenCount::medicineId, EatenCount::count, Long::sum, HashMap::new));
+            countPendingDoses(memberId, takenAlarmIds).forEach((medicineId, count) -> takenAmounts.merge(medicineId, count, Long::sum));
             return medicinePerMembers.stream()
                     .map(mpm -> {
                         Integer totalAmount = getTotalAmount(mpm);
-                        Integer takenAmount = getTakenAmount(memberId, mpm.getMedicine().getId());
+                        Integer takenAmount = takenAmounts.getOrDefault(mpm.getMedicine().getId(), 0L).intValue();
                         return AdherenceRate.builder()
                                 .medicineName(mpm.getMedicine().getName())
                                 .taken(takenAmount)
@@ -138,13 +159,27 @@ public class MainService {
         return daysLeft;
     }
 
-    private BestRecord getBestRecord(Long memberId) {
-        return BestRecord.from(getBestRate(memberId));
+    /**
+     * 오늘 먹었다고 요청했지만 아직 write-behind 큐에 있어 db 에 기록되지 않은 복용을 약별로 센다.
+     * 이미 기록된 알람은 countEatenPerMedicine 에 들어 있으므로 뺀다.
+     */
+    private Map<Long, Long> countPendingDoses(Long memberId, Set<Long> takenAlarmIds) {
+        if (takenAlarmIds.isEmpty()) {
+            return Map.of();
+        }
+        Set<Long> recordedAlarmIds = medicineRecordRepository.findAllByAlarmIdInAndDateIn(takenAlarmIds, List.of(LocalDate.now())).stream()
+                .map(MedicineRecord::getAlarmId)
+                .collect(Collectors.toSet());
+        if (recordedAlarmIds.containsAll(takenAlarmIds)) {
+            return Map.of();
+        }
+        return alarmRepository.findAllByMemberId(memberId).stream()
+                .filter(alarm -> takenAlarmIds.contains(alarm.getId()) && !recordedAlarmIds.contains(alarm.getId()))
+                .collect(Collectors.groupingBy(alarm -> alarm.getMedicinePerMember().getMedicine().getId(), Collectors.counting()));
     }
 
-    private WorstRecord getWorstRecord(Long memberId) {
-        AdherenceRate bestRate = getBestRate(memberId);
-        List<AdherenceRate> rates = getAllMedicineAdherenceRates(memberId);
+    private WorstRecord getWorstRecord(List<AdherenceRate> rates) {
+        AdherenceRate bestRate = getBestRate(rates);
 
         AdherenceRate worstRate = rates.isEmpty() ? AdherenceRate.empty() : rates.get(rates.size() - 1);
 
@@ -162,8 +197,8 @@ public class MainService {
         return WorstRecord.from(worstRate);
     }
 
-    private AdherenceRate getBestRate(Long memberId) {
-        return getAllMedicineAdherenceRates(memberId).stream()
+    private AdherenceRate getBestRate(List<AdherenceRate> rates) {
+        return rates.stream()
                 .filter(adherenceRate -> adherenceRate.getTaken() != 0)
                 .findFirst()
                 .orElse(AdherenceRate.empty());
@@ -4,71 +4,116 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.aop.RetryOnOptimisticLock;
+import pillmate.backend.common.aop.SqlBudget;
 import pillmate.backend.common.exception.BadRequestException;
 import pillmate.backend.common.exception.NotFoundException;
 import pillmate.backend.common.exception.errorcode.ErrorCode;
+import pillmate.backend.dto.dose.DoseTakenEvent;
 import pillmate.backend.dto.medicine.AddRequest;
 import pillmate.backend.dto.medicine.MedicineBasicInfo;
 import pillmate.backend.dto.medicine.MedicineInfo;
 import pillmate.backend.dto.medicine.ModifyMedicineInfo;
 import pillmate.backend.dto.medicine.PrescriptionRequest;
 import pillmate.backend.dto.medicine.UpcomingAlarm;
+import pillmate.backend.dto.outbox.MedicineChange;
 import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.DomainEventType;
 import pillmate.backend.entity.Medicine;
 import pillmate.backend.entity.MedicinePerMember;
 import pillmate.backend.entity.MedicineRecord;
-import pillmate.backend.entity.TimeSlot;
 import pillmate.backend.entity.member.Member;
 import pillmate.backend.repository.AlarmRepository;
 import pillmate.backend.repository.MedicinePerMemberRepository;
 import pillmate.backend.repository.MedicineRecordRepository;
-import pillmate.backend.repository.MedicineRepository;
 import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.catalog.MedicineCatalogService;
+import pillmate.backend.service.dose.DoseEventQueue;
+import pillmate.backend.service.outbox.OutboxService;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class MedicineService {
+    private static final int SIMILAR_MEDICINE_COUNT = 3;
+
     private final AlarmService alarmService;
     private final AlarmRepository alarmRepository;
-    private final MedicineRepository medicineRepository;
     private final MemberRepository memberRepository;
     private final MedicineRecordRepository medicineRecordRepository;
     private final MedicinePerMemberRepository medicinePerMemberRepository;
+    private final PainTrendService painTrendService;
+    private final MedicineCatalogService medicineCatalogService;
+    private final DoseIdempotencyService doseIdempotencyService;
+    private final DoseEventQueue doseEventQueue;
+    private final OutboxService outboxService;
 
+    @RetryOnOptimisticLock("dose.taken")
     @Transactional
     public UpcomingAlarm getUpcomingAlarm(Long memberId, LocalTime currentTime, Long medicineId) {
         Alarm currentAlarm = findByMedicineAndTime(memberId, medicineId, currentTime);
-        currentAlarm.updateIsEaten(true);
-        medicineRecordRepository.save(MedicineRecord.builder().member(findByMemberId(memberId))
-                .medicine(currentAlarm.getMedicinePerMember().getMedicine())
-                .time(currentTime)
-                .isEaten(true)
-                .build());
+        LocalDate today = LocalDate.now();
+
+        // 같은 알람은 하루에 한 번만 기록 (재시도된 요청은 쓰기 없이 다음 알람만 돌려준다)
+        if (doseIdempotencyService.acquire(currentAlarm.getId(), today)) {
+            DoseTakenEvent event = new DoseTakenEvent(memberId, currentAlarm.getMedicinePerMember().getMedicine().getId(),
+                    currentAlarm.getId(), today, currentTime);
+            // 기록은 커밋 후 큐에 넣어 DoseEventConsumer 가 모아서 하고, 큐를 쓸 수 없을 때만 이 트랜잭션에서 바로 기록
+            if (!doseEventQueue.enqueue(event)) {
+                recordDose(currentAlarm, event);
+            }
+        }
 
         return alarmService.getUpcomingAlarm(memberId, currentTime);
     }
 
+    private void recordDose(Alarm alarm, DoseTakenEvent event) {
+        if (medicineRecordRepository.existsByAlarmIdAndDate(event.alarmId(), event.date())) {
+            return;
+        }
+        alarm.updateIsEaten(true);
+        medicineRecordRepository.save(MedicineRecord.builder().member(findByMemberId(event.memberId()))
+                .medicine(alarm.getMedicinePerMember().getMedicine())
+                .alarmId(event.alarmId())
+                .date(event.date())
+                .time(event.time())
+                .isEaten(true)
+                .build());
+        painTrendService.recordDose(event.memberId(), event.alarmId(), event.date());
+        outboxService.append(DomainEventType.DOSE_TAKEN, event.memberId(), event);
+    }
+
     public List<MedicineBasicInfo> getMedicineInfo(Long memberId, List<PrescriptionRequest> nameList) {
+        // 처방전의 약 이름을 한 번의 쿼리로 조회
+        Map<String, Medicine> medicines = medicineCatalogService.findAllByNameIn(nameList.stream().map(PrescriptionRequest::getName).toList()).stream()
+                .collect(Collectors.toMap(Medicine::getName, Function.identity(), (a, b) -> a));
+
         return nameList.stream()
-                .map(p -> medicineRepository.findByName(p.getName())
+                .map(p -> Optional.ofNullable(medicines.get(p.getName()))
                         .map(m -> MedicineBasicInfo.builder()
                                 .name(m.getName())
                                 .photo(m.getPhoto())
                                 .category(m.getCategory())
                                 .build()
                         )
-                        .orElse(MedicineBasicInfo.builder()
+                        .orElseGet(() -> MedicineBasicInfo.builder()
                                 .name(p.getName())
                                 .photo("db에서 해당 약을 찾을 수 없습니다")
                                 .category("db에서 해당 약을 찾을 수 없습니다")
+                                .candidates(medicineCatalogService.findSimilar(p.getName(), SIMILAR_MEDICINE_COUNT))
                                 .build())
                 )
                 .collect(Collectors.toList());
@@ -76,71 +121,120 @@ public class MedicineService {
 
     @Transactional
     public void add(Long memberId, AddRequest addRequest) {
-        Optional<Medicine> foundmedicine = medicineRepository.findByName(addRequest.getMedicineName());
-        Medicine newMedicine = foundmedicine.orElseGet(() -> medicineRepository.save(Medicine.builder()
-                .name(addRequest.getMedicineName())
-                .category(addRequest.getDisease())
-                .photo("white")
-                .build()));
-
-        // Step 2: MedicinePerMember 중복 확인 및 저장
-        Member member = findByMemberId(memberId);
-        Optional<MedicinePerMember> foundMedicinePerMember = medicinePerMemberRepository
-                .findByMemberIdAndMedicineId(memberId, newMedicine.getId());
+        addAll(memberId, List.of(addRequest));
+    }
 
-        // 중복된 MedicinePerMember가 있으면 예외 던지기
-        if (foundMedicinePerMember.isPresent()) {
-            throw new BadRequestException(ErrorCode.INVALID_SAME_MEDICINE); // 이미 존재하므로 추가 작업 수행하지 않음
+    /**
+     * 처방전 단위 일괄 등록
+     * 약 조회, 중복 확인을 한 번씩만 하고 MedicinePerMember, Alarm 은 flush 시 batch INSERT 로 저장한다.
+     */
+    @Transactional
+    public void addAll(Long memberId, List<AddRequest> addRequests) {
+        if (addRequests.isEmpty()) {
+            return;
         }
 
-        // 중복이 없으면 새로운 MedicinePerMember 및 Alarm 저장
-        MedicinePerMember newMedicinePerMember = addRequest.toEntity(member, newMedicine);
-        saveMedicinePerMember(newMedicinePerMember);
+        // Step 1: 처방전 안에서 같은 약이 두 번 들어오면 거절
+        List<String> names = addRequests.stream().map(AddRequest::getMedicineName).toList();
+        if (new HashSet<>(names).size() != names.size()) {
+            throw new BadRequestException(ErrorCode.INVALID_SAME_MEDICINE);
+        }
 
-        // TimeSlot 리스트에서 새로운 알람에 사용할 TimeSlot 선택
-        for (TimeSlot existingTimeSlot : newMedicinePerMember.getTimeSlots()) {
-            // 새로운 알람 생성 및 저장
-            Alarm newAlarm = Alarm.builder()
-                    .medicinePerMember(newMedicinePerMember)
-                    .timeSlot(existingTimeSlot)
-                    .build();
+        // Step 2: 약은 한 번의 쿼리로 조회하고, 회원이 이미 복용 중인 약과 메모리에서 비교
+        Map<String, Medicine> medicines = medicineCatalogService.findAllByNameIn(names).stream()
+                .collect(Collectors.toMap(Medicine::getName, Function.identity(), (a, b) -> a));
+        Member member = findByMemberId(memberId);
+        Set<Long> takingMedicineIds = findAllByMemberId(memberId).stream()
+                .map(medicinePerMember -> medicinePerMember.getMedicine().getId())
+                .collect(Collectors.toSet());
+        if (medicines.values().stream().anyMatch(medicine -> takingMedicineIds.contains(medicine.getId()))) {
+            throw new BadRequestException(ErrorCode.INVALID_SAME_MEDICINE); // 이미 존재하므로 추가 작업 수행하지 않음
+        }
 
-            alarmRepository.save(newAlarm);
+        // Step 3: db 에 없는 약만 카탈로그에 새로 등록하고, 회원 샤드에 없는 약은 복사해 둔다
+        List<Medicine> newMedicines = addRequests.stream()
+                .filter(addRequest -> !medicines.containsKey(addRequest.getMedicineName()))
+                .map(addRequest -> Medicine.builder()
+                        .name(addRequest.getMedicineName())
+                        .category(addRequest.getDisease())
+                        .photo("white")
+                        .build())
+                .toList();
+        medicineCatalogService.saveAll(newMedicines).forEach(medicine -> medicines.put(medicine.getName(), medicine));
+        medicineCatalogService.copyToMemberShard(medicines.values());
+
+        // Step 4: MedicinePerMember 와 복용 시간마다 알람 생성 후 한 번에 저장
+        List<MedicinePerMember> newMedicinePerMembers = new ArrayList<>();
+        List<Alarm> newAlarms = new ArrayList<>();
+        for (AddRequest addRequest : addRequests) {
+            MedicinePerMember medicinePerMember = addRequest.toEntity(member, medicines.get(addRequest.getMedicineName()));
+            newMedicinePerMembers.add(medicinePerMember);
+            newAlarms.addAll(addRequest.toAlarms(medicinePerMember));
         }
+        medicinePerMemberRepository.saveAll(newMedicinePerMembers);
+        alarmRepository.saveAll(newAlarms);
+        painTrendService.evict(memberId);
+        outboxService.append(DomainEventType.MEDICINE_ADDED, memberId, newMedicinePerMembers.stream()
+                .map(medicinePerMember -> MedicineChange.added(medicinePerMember.getMedicine().getId(), medicinePerMember.getMedicine().getName()))
+                .toList());
     }
 
-    private void saveMedicinePerMember(MedicinePerMember addRequest) {
-        medicinePerMemberRepository.save(addRequest);
+    public List<MedicineBasicInfo> search(String keyword, Integer limit) {
+        return medicineCatalogService.search(keyword, limit);
     }
 
+    /**
+     * streamAll 과 같은 쿼리로 읽어서 두 응답의 순서가 같다. (Java 문자열 비교와 DB 정렬 규칙은 대소문자/한글 순서가 다르다)
+     * 약과 투여시간대(알람)까지 한 번의 쿼리로 읽는다.
+     */
+    @SqlBudget(1)
     public List<MedicineInfo> showAll(Long memberId) {
-        return findAllByMemberId(memberId).stream()
-                .map(medicinePerMember -> MedicineInfo.builder()
-                        .id(medicinePerMember.getMedicine().getId())
-                        .picture(medicinePerMember.getMedicine().getPhoto())
-                        .name(medicinePerMember.getMedicine().getName())
-                        .category(medicinePerMember.getMedicine().getCategory())
-                        .amount(medicinePerMember.getAmount())
-                        .timesPerDay(medicinePerMember.getTimes())
-                        .day(medicinePerMember.getDay())
-                        .timeSlotList(medicinePerMember.getTimeSlots())
-                        .build())
-                .sorted(Comparator.comparing(MedicineInfo::getName))
-                .collect(Collectors.toList());
+        try (Stream<MedicineInfo> medicines = streamAll(memberId)) {
+            return medicines.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * showAll 과 같은 목록을 DB 에서 약 이름 순(DB 정렬 규칙)으로 읽으면서 하나씩 만든다. (StreamingJson)
+     * 호출하는 쪽의 트랜잭션 안에서 다 읽고 닫아야 한다.
+     */
+    public Stream<MedicineInfo> streamAll(Long memberId) {
+        return medicinePerMemberRepository.streamAllByMemberId(memberId)
+                .map(this::toMedicineInfo);
     }
 
+    private MedicineInfo toMedicineInfo(MedicinePerMember medicinePerMember) {
+        return MedicineInfo.builder()
+                .id(medicinePerMember.getMedicine().getId())
+                .picture(medicinePerMember.getMedicine().getPhoto())
+                .name(medicinePerMember.getMedicine().getName())
+                .category(medicinePerMember.getMedicine().getCategory())
+                .amount(medicinePerMember.getAmount())
+                .timesPerDay(medicinePerMember.getTimes())
+                .day(medicinePerMember.getDay())
+                .timeSlotList(medicinePerMember.getTimeSlots())
+                .build();
+    }
+
+    @RetryOnOptimisticLock("medicine.modify")
     @Transactional
     public void modify(Long memberId, ModifyMedicineInfo modifyMedicineInfo) {
         Medicine medicine = findByName(modifyMedicineInfo.getOldMedicineName());
         MedicinePerMember medicinePerMember = findByMemberIdAndMedicineId(memberId, medicine.getId());
         medicinePerMember.update(modifyMedicineInfo.getAmount(),
                 modifyMedicineInfo.getTimesPerDay(),
-                modifyMedicineInfo.getDay(),
-                modifyMedicineInfo.getTimeSlotList());
-        alarmService.updateTime(memberId, medicinePerMember.getMedicine().getName(), modifyMedicineInfo.getTimeSlotList());
+                modifyMedicineInfo.getDay());
+        if (modifyMedicineInfo.getTimeSlotList() != null) {
+            alarmService.updateTime(medicinePerMember, modifyMedicineInfo.getTimeSlotList());
+        }
+        String oldName = medicine.getName();
         if ("white".equals(medicine.getPhoto())) {
             medicinePerMember.getMedicine().updateName(modifyMedicineInfo.getNewMedicineName());
+            medicineCatalogService.rename(medicine.getId(), oldName, medicinePerMember.getMedicine().getName());
         }
+        painTrendService.evict(memberId);
+        outboxService.append(DomainEventType.MEDICINE_MODIFIED, memberId,
+                new MedicineChange(medicine.getId(), medicinePerMember.getMedicine().getName(), oldName));
     }
 
     @Transactional
@@ -148,6 +242,8 @@ public class MedicineService {
         MedicinePerMember medicinePerMember = findByMemberIdAndMedicineId(memberId, medicineId);
         alarmService.deleteAlarm(memberId, medicinePerMember.getMedicine().getName());
         medicinePerMemberRepository.deleteById(medicinePerMember.getId());
+        painTrendService.evict(memberId);
+        outboxService.append(DomainEventType.MEDICINE_DELETED, memberId, medicineId);
     }
 
     private List<MedicinePerMember> findAllByMemberId(Long memberId) {
@@ -163,7 +259,7 @@ public class MedicineService {
     }
 
     private Medicine findByName(String name) {
-        return medicineRepository.findByName(name).orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_MEDICINE));
+        return medicineCatalogService.findByName(name).orElseThrow(() -> new NotFoundException(ErrorCode.NOT_FOUND_MEDICINE));
     }
 
     private Alarm findByMedicineAndTime(Long memberId, Long medicineId, LocalTime time) {
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import pillmate.backend.common.exception.BadRequestException;
 import pillmate.backend.common.exception.NotFoundException;
+import pillmate.backend.common.shard.ShardTemplate;
 import pillmate.backend.common.util.JwtTokenProvider;
 import pillmate.backend.dto.member.CheckEmailRequest;
 import pillmate.backend.dto.member.CheckPasswordRequest;
@@ -19,6 +20,7 @@ import pillmate.backend.dto.member.ModifyPasswordRequest;
 import pillmate.backend.dto.member.MyHealthInfo;
 import pillmate.backend.dto.member.MyMonthlyInfo;
 import pillmate.backend.dto.member.SignUpRequest;
+import pillmate.backend.entity.DomainEventType;
 import pillmate.backend.entity.member.Member;
 import pillmate.backend.entity.member.MemberType;
 import pillmate.backend.entity.token.LogoutAccessToken;
@@ -26,6 +28,8 @@ import pillmate.backend.entity.token.RefreshToken;
 import pillmate.backend.repository.MedicinePerMemberRepository;
 import pillmate.backend.repository.MedicineRecordRepository;
 import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.catalog.MedicineCatalogService;
+import pillmate.backend.service.outbox.OutboxService;
 import pillmate.backend.service.token.LogoutAccessTokenService;
 import pillmate.backend.service.token.RefreshTokenService;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -53,6 +57,10 @@ public class MemberService {
     private final LogoutAccessTokenService logoutAccessTokenService;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
+    private final HealthTermService healthTermService;
+    private final OutboxService outboxService;
+    private final MedicineCatalogService medicineCatalogService;
+    private final ShardTemplate shardTemplate;
 
     private LocalDate START_DATE = LocalDate.now().withDayOfMonth(1);
     private LocalDate END_DATE = LocalDate.now().minusDays(1);
@@ -68,9 +76,13 @@ public class MemberService {
         validate(signUpRequest);
 
         String encodedPassword = getEncodedPassword(signUpRequest);
-        Member member = signUpRequest.toEntity(encodedPassword);
+        Member member = signUpRequest.toEntity(encodedPassword,
+                healthTermService.toDiseases(signUpRequest.getDiseases()),
+                healthTermService.toSymptomIds(signUpRequest.getSymptoms()));
 
         memberRepository.save(member);
+        // id 는 전역 샤드에서 받아오고 INSERT 는 flush 때 나가므로, 그 전에 회원의 샤드를 정한다
+        shardTemplate.bindMember(member.getId());
         return jwtTokenProvider.generateToken(member);
     }
 
@@ -147,7 +159,7 @@ public class MemberService {
     }
 
     public Boolean checkEmail(Long memberId, CheckEmailRequest checkEmailRequest) {
-        return memberRepository.findByEmail(checkEmailRequest.getEmail()).isPresent();
+        return shardTemplate.findShard(() -> memberRepository.findByEmail(checkEmailRequest.getEmail()).isPresent()).isPresent();
     }
 
     @Transactional
@@ -199,14 +211,16 @@ public class MemberService {
     public MyHealthInfo getHealthInfo(Long memberId) {
         Member member = findMemberById(memberId);
         return MyHealthInfo.builder()
-                .diseases(member.getDiseases())
-                .symptoms(member.getSymptoms())
+                .diseases(healthTermService.toDiseaseInfos(member.getDiseases()))
+                .symptoms(healthTermService.toSymptomInfos(member.getSymptomIds()))
                 .build();
     }
 
     @Transactional
     public ResponseEntity<String> modifyHealthInfo(Long memberId, MyHealthInfo modifyHealthInfo) {
-        findMemberById(memberId).updateHealthInfo(modifyHealthInfo.getDiseases(), modifyHealthInfo.getSymptoms());
+        findMemberById(memberId).updateHealthInfo(healthTermService.toDiseases(modifyHealthInfo.getDiseases()),
+                healthTermService.toSymptomIds(modifyHealthInfo.getSymptoms()));
+        outboxService.append(DomainEventType.HEALTH_INFO_CHANGED, memberId, null);
         return ResponseEntity.ok("수정이 완료되었습니다.");
     }
 
@@ -220,7 +234,7 @@ public class MemberService {
     }
 
     private Integer getTakenDay(Long memberId) {
-        return medicineRecordRepository.countEatenDates(memberId, START_DATE, END_DATE).size();
+        return medicineRecordRepository.countEatenDates(memberId, START_DATE, END_DATE, medicineCatalogService.count()).size();
     }
 
     private Integer getDuration(Long memberId) {
@@ -235,12 +249,16 @@ public class MemberService {
         return memberRepository.findById(memberId).orElseThrow(() -> new NotFoundException(NOT_FOUND_USER));
     }
 
+    /**
+     * 이메일로는 회원의 샤드를 알 수 없으므로 모든 샤드에서 찾은 뒤, 이 트랜잭션을 그 샤드로 보낸다.
+     */
     private Member findMemberByEmail(String email) {
+        shardTemplate.bindWhere(() -> memberRepository.findByEmail(email).isPresent());
         return memberRepository.findByEmail(email).orElseThrow(() -> new NotFoundException(MISMATCH_EMAIL));
     }
 
     private void validate(SignUpRequest signUpRequest) {
-        if (memberRepository.existsByEmailAndType(signUpRequest.getEmail(), MemberType.DEFAULT)) {
+        if (shardTemplate.findShard(() -> memberRepository.existsByEmailAndType(signUpRequest.getEmail(), MemberType.DEFAULT)).isPresent()) {
             throw new BadRequestException(ALREADY_EXIST_USER);
         }
     }
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.MultiValueMap;
 import pillmate.backend.common.exception.BadRequestException;
+import pillmate.backend.common.shard.ShardTemplate;
 import pillmate.backend.common.util.JwtTokenProvider;
 import pillmate.backend.common.util.MultiValueMapConverter;
 import pillmate.backend.dto.member.JwtTokenResponse;
@@ -40,6 +41,7 @@ public class OAuth2Service {
     private final MemberRepository memberRepository;
     private final JwtTokenProvider jwtTokenProvider;
     private final WebClient webClient;
+    private final ShardTemplate shardTemplate;
 
     /**
      * 소셜 인가 코드를 통해 소셜 서버로부터 토큰을 발급받는다.
@@ -79,6 +81,8 @@ public class OAuth2Service {
 
         Member member = oAuth2SignUpRequest.toEntity();
         memberRepository.save(member);
+        // id 는 전역 샤드에서 받아오고 INSERT 는 flush 때 나가므로, 그 전에 회원의 샤드를 정한다
+        shardTemplate.bindMember(member.getId());
         return jwtTokenProvider.generateToken(member);
     }
 
@@ -157,6 +161,7 @@ public class OAuth2Service {
         // providerId를 통해 MemberRepository 확인
         Long providerId = oAuth2UserInfo.getProviderId();
         MemberType type = MemberType.valueOf(oAuth2UserInfo.getProvider());
+        shardTemplate.bindWhere(() -> memberRepository.existsByProviderIdAndType(providerId, type));
         Optional<Member> memberOptional = memberRepository.findByProviderIdAndType(providerId, type);
 
         boolean exist = memberOptional.isPresent(); // 기존 회원인지 여부
@@ -189,11 +194,11 @@ public class OAuth2Service {
     private void validate(OAuth2SignUpRequest oAuth2SignUpRequest) {
         Long providerId = oAuth2SignUpRequest.getProviderId();
         MemberType type = oAuth2SignUpRequest.getType();
-        if (providerId != null && memberRepository.existsByProviderIdAndType(providerId, type)) {
+        if (providerId != null && shardTemplate.findShard(() -> memberRepository.existsByProviderIdAndType(providerId, type)).isPresent()) {
             throw new BadRequestException(ALREADY_EXIST_USER);
         }
 
-        if (memberRepository.existsByEmailAndType(oAuth2SignUpRequest.getEmail(), type)) {
+        if (shardTemplate.findShard(() -> memberRepository.existsByEmailAndType(oAuth2SignUpRequest.getEmail(), type)).isPresent()) {
             throw new BadRequestException(ALREADY_EXIST_USER);
         }
     }
@@ -0,0 +1,247 @@
+package pillmate.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.util.TransactionHooks;
+import pillmate.backend.dto.diary.PainTrend;
+import pillmate.backend.dto.outbox.DomainEvent;
+import pillmate.backend.entity.Diary;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.MedicineRecord;
+import pillmate.backend.repository.DiaryRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * 건강 일지의 통증 점수 추이를 분석하는 서비스
+ * 회원별로 최근 30일의 통증 점수와 복용 기록을 메모리에 보관한다. (최대 pain-trend.cache.max-size 명, pain-trend.cache.ttl-minutes 동안)
+ * 일지 작성/수정과 복용 기록은 커밋된 뒤 캐시에 있는 회원의 기록에 바로 더하고 (다시 불러오지 않는다),
+ * 복용 일정 변경과 다른 서버의 변경은 회원의 캐시를 비워 다음 조회 때 다시 불러온다.
+ * 불러오는 중에 더하면 불러오기가 끝난 뒤에 더해지고, 점수는 날짜별로 덮어쓰고 복용은 알람/날짜별로 한 번만 세므로
+ * 불러온 값에 이미 들어 있어도 두 번 반영되지 않는다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class PainTrendService {
+    private static final int WEEK = 7;
+    private static final int MONTH = 30;
+    // 7일 평균이 30일 평균보다 이 값 이상 높으면 악화 추세로 본다
+    private static final double DETERIORATION_THRESHOLD = 1.0;
+    // 최근 7일 중 일지가 이 개수 이상 있어야 악화 여부를 판단한다
+    private static final int MIN_WEEKLY_ENTRIES = 3;
+
+    private final DiaryRepository diaryRepository;
+    private final MedicineRecordRepository medicineRecordRepository;
+    private final MedicinePerMemberRepository medicinePerMemberRepository;
+
+    private final Cache<Long, PainHistory> histories;
+
+    public PainTrendService(DiaryRepository diaryRepository,
+                            MedicineRecordRepository medicineRecordRepository,
+                            MedicinePerMemberRepository medicinePerMemberRepository,
+                            @Value("${pain-trend.cache.max-size:10000}") long maxSize,
+                            @Value("${pain-trend.cache.ttl-minutes:30}") long ttlMinutes) {
+        this.diaryRepository = diaryRepository;
+        this.medicineRecordRepository = medicineRecordRepository;
+        this.medicinePerMemberRepository = medicinePerMemberRepository;
+        this.histories = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    public PainTrend getTrend(Long memberId) {
+        LocalDate today = LocalDate.now();
+        return histories.get(memberId, id -> load(id, today)).toTrend(today);
+    }
+
+    /**
+     * 일지 작성/수정 후 호출 (트랜잭션이 커밋된 뒤 반영된다)
+     */
+    public void recordPain(Long memberId, LocalDate date, Integer score) {
+        if (date == null || score == null) {
+            return;
+        }
+        update(memberId, history -> history.putScore(date, score));
+    }
+
+    /**
+     * 복용 기록 후 호출 (트랜잭션이 커밋된 뒤 반영된다)
+     */
+    public void recordDose(Long memberId, Long alarmId, LocalDate date) {
+        if (date == null) {
+            return;
+        }
+        update(memberId, history -> history.addTaken(date, alarmId));
+    }
+
+    /**
+     * 캐시에 없는 회원은 다음 조회 때 커밋된 기록을 불러오므로 건드리지 않는다.
+     */
+    private void update(Long memberId, Consumer<PainHistory> change) {
+        TransactionHooks.afterCommit(() -> histories.asMap().computeIfPresent(memberId, (id, history) -> {
+            change.accept(history);
+            return history;
+        }));
+    }
+
+    /**
+     * 복용 일정이 바뀌었을 때 호출
+     */
+    public void evict(Long memberId) {
+        TransactionHooks.afterCommit(() -> histories.invalidate(memberId));
+    }
+
+    /**
+     * 다른 서버에서 바뀐 회원의 캐시는 비운다. (이 서버의 변경은 위의 메서드들이 이미 반영했다)
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (!event.local() && event.memberId() != null) {
+            histories.invalidate(event.memberId());
+        }
+    }
+
+    private PainHistory load(Long memberId, LocalDate today) {
+        LocalDate startDate = today.minusDays(MONTH - 1);
+        PainHistory history = new PainHistory(medicinePerMemberRepository.findAllByMemberId(memberId));
+
+        for (Diary diary : diaryRepository.findDiariesByMemberIdAndDateRange(memberId, startDate, today)) {
+            history.putScore(diary.getDate(), diary.getScore());
+        }
+
+        for (MedicineRecord record : medicineRecordRepository.findAllByMemberAndDateBetween(memberId, startDate, today)) {
+            if (Boolean.TRUE.equals(record.getIsEaten())) {
+                history.addTaken(record.getDate(), record.getAlarmId());
+            }
+        }
+
+        return history;
+    }
+
+    /**
+     * 회원 한 명의 최근 통증 점수와 일별 복용 횟수
+     */
+    private static class PainHistory {
+        private final NavigableMap<LocalDate, Integer> scores = new TreeMap<>();
+        // 날짜별로 복용한 알람 id, 알람이 지워진 기록은 개수만 센다
+        private final NavigableMap<LocalDate, Set<Long>> takenAlarms = new TreeMap<>();
+        private final NavigableMap<LocalDate, Integer> takenWithoutAlarm = new TreeMap<>();
+        private final List<Schedule> schedules = new ArrayList<>();
+
+        PainHistory(List<MedicinePerMember> medicinePerMembers) {
+            medicinePerMembers.stream()
+                    .filter(mpm -> mpm.getCreated() != null)
+                    .forEach(mpm -> schedules.add(new Schedule(mpm.getCreated(),
+                            mpm.getCreated().plusDays(mpm.getDay()),
+                            mpm.getTimes())));
+        }
+
+        synchronized void putScore(LocalDate date, Integer score) {
+            scores.put(date, score);
+        }
+
+        synchronized void addTaken(LocalDate date, Long alarmId) {
+            if (alarmId == null) {
+                takenWithoutAlarm.merge(date, 1, Integer::sum);
+                return;
+            }
+            takenAlarms.computeIfAbsent(date, key -> new HashSet<>()).add(alarmId);
+        }
+
+        private int takenOn(LocalDate date) {
+            return takenAlarms.getOrDefault(date, Set.of()).size() + takenWithoutAlarm.getOrDefault(date, 0);
+        }
+
+        synchronized PainTrend toTrend(LocalDate today) {
+            // 30일이 지난 항목은 버린다
+            LocalDate monthStart = today.minusDays(MONTH - 1);
+            scores.headMap(monthStart, false).clear();
+            takenAlarms.headMap(monthStart, false).clear();
+            takenWithoutAlarm.headMap(monthStart, false).clear();
+
+            NavigableMap<LocalDate, Integer> monthly = scores.subMap(monthStart, true, today, true);
+            NavigableMap<LocalDate, Integer> weekly = scores.subMap(today.minusDays(WEEK - 1), true, today, true);
+
+            Double weeklyAverage = average(weekly);
+            Double monthlyAverage = average(monthly);
+            boolean deteriorating = weekly.size() >= MIN_WEEKLY_ENTRIES
+                    && weeklyAverage != null && monthlyAverage != null
+                    && weeklyAverage - monthlyAverage >= DETERIORATION_THRESHOLD;
+
+            return PainTrend.builder()
+                    .date(today)
+                    .weeklyAverage(weeklyAverage)
+                    .monthlyAverage(monthlyAverage)
+                    .adherenceCorrelation(correlate(monthly))
+                    .deteriorating(deteriorating)
+                    .build();
+        }
+
+        private Double average(NavigableMap<LocalDate, Integer> window) {
+            if (window.isEmpty()) {
+                return null;
+            }
+            return window.values().stream().mapToInt(Integer::intValue).average().orElse(0);
+        }
+
+        /**
+         * 일지가 있는 날의 통증 점수와 그날 복용률 사이의 피어슨 상관계수
+         */
+        private Double correlate(NavigableMap<LocalDate, Integer> window) {
+            List<double[]> pairs = new ArrayList<>();
+            window.forEach((date, score) -> {
+                int scheduled = scheduledOn(date);
+                if (scheduled > 0) {
+                    pairs.add(new double[]{score, Math.min(1.0, (double) takenOn(date) / scheduled)});
+                }
+            });
+
+            int n = pairs.size();
+            if (n < 3) {
+                return null;
+            }
+
+            double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+            for (double[] pair : pairs) {
+                sumX += pair[0];
+                sumY += pair[1];
+                sumXX += pair[0] * pair[0];
+                sumYY += pair[1] * pair[1];
+                sumXY += pair[0] * pair[1];
+            }
+
+            double denominator = Math.sqrt((n * sumXX - sumX * sumX) * (n * sumYY - sumY * sumY));
+            if (denominator == 0) {
+                return null;
+            }
+            return (n * sumXY - sumX * sumY) / denominator;
+        }
+
+        private int scheduledOn(LocalDate date) {
+            return schedules.stream()
+                    .filter(schedule -> !date.isBefore(schedule.start()) && !date.isAfter(schedule.end()))
+                    .mapToInt(Schedule::times)
+                    .sum();
+        }
+    }
+
+    private record Schedule(LocalDate start, LocalDate end, int times) {
+    }
+}
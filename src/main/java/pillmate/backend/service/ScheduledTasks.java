@@ -4,6 +4,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import pillmate.backend.common.shard.ShardTemplate;
 
 @Slf4j
 @Service
@@ -12,8 +13,12 @@ public class ScheduledTasks {
     @Autowired
     private AlarmService alarmService;
 
+    @Autowired
+    private ShardTemplate shardTemplate;
+
+    // 알람은 회원 샤드마다 있으므로 샤드마다 초기화한다
     @Scheduled(cron = "0 0 0 * * ?", zone="Asia/Seoul")
     public void resetIsEatenAtMidnight() {
-        alarmService.resetAllIsEaten();
+        shardTemplate.forEachShard(alarmService::resetAllIsEaten);
     }
 }
@@ -0,0 +1,258 @@
+package pillmate.backend.service.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.common.util.JsonMappers;
+import pillmate.backend.common.util.TransactionHooks;
+import pillmate.backend.dto.medicine.MedicineBasicInfo;
+import pillmate.backend.dto.medicine.MedicineCandidate;
+import pillmate.backend.dto.outbox.DomainEvent;
+import pillmate.backend.dto.outbox.MedicineChange;
+import pillmate.backend.dto.outbox.MemberDataChangedEvent;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.repository.MedicineRepository;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 약 카탈로그 이름 검색 서비스 (자동완성, 유사 이름 검색)
+ * 서버가 뜰 때 카탈로그 전체 이름을 트라이와 유사 검색 인덱스에 올려두고, 약이 추가되거나 이름이 바뀔 때 함께 갱신한다.
+ * 샤딩을 켜면 카탈로그 원본은 전역 샤드에 있고, 회원 샤드에는 그 샤드의 회원이 복용하는 약만 같은 id 로 복사해 둔다. (copyToMemberShard)
+ * 약을 이름이나 id 로 찾거나 새로 저장할 때는 이 서비스를 거쳐 전역 샤드에서 한다.
+ * 다른 서버에서 추가되거나 이름이 바뀐 약은 MEDICINE_ADDED, MEDICINE_MODIFIED 도메인 이벤트(MedicineChange)로 받아 인덱스에 반영한다.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class MedicineCatalogService {
+    private static final int MAX_LIMIT = 50;
+
+    private final MedicineRepository medicineRepository;
+    private final ShardTemplate shardTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final MedicineNameTrie trie = new MedicineNameTrie();
+    private final MedicineFuzzyIndex fuzzyIndex = new MedicineFuzzyIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<MedicineRepository.MedicineName> names = shardTemplate.onGlobal(medicineRepository::findAllNames);
+        lock.writeLock().lock();
+        try {
+            names.forEach(name -> put(name.getName(), name.getId()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("medicine catalog loaded. size = {}", names.size());
+    }
+
+    /**
+     * 접두사로 시작하는 약을 이름 순으로 찾는 메소드
+     * @param prefix 검색어
+     * @param limit 최대 개수
+     * @return 약 기본 정보 목록
+     */
+    public List<MedicineBasicInfo> search(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+
+        List<Long> ids;
+        lock.readLock().lock();
+        try {
+            ids = trie.findByPrefix(prefix.strip(), Math.min(Math.max(limit, 1), MAX_LIMIT));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, Medicine> medicines = shardTemplate.onGlobal(() -> medicineRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(Medicine::getId, Function.identity()));
+        return ids.stream()
+                .map(medicines::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(Medicine::getName))
+                .map(medicine -> MedicineBasicInfo.builder()
+                        .name(medicine.getName())
+                        .photo(medicine.getPhoto())
+                        .category(medicine.getCategory())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * OCR 로 읽은 이름과 비슷한 약을 유사도 순으로 찾는 메소드
+     * @param name OCR 로 읽은 이름
+     * @param k 최대 개수
+     * @return 후보 목록
+     */
+    public List<MedicineCandidate> findSimilar(String name, int k) {
+        if (name == null || name.isBlank()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return fuzzyIndex.findSimilar(name, Math.min(Math.max(k, 1), MAX_LIMIT)).stream()
+                    .map(candidate -> MedicineCandidate.builder()
+                            .id(candidate.id())
+                            .name(candidate.name())
+                            .score(candidate.score())
+                            .build())
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 카탈로그 전체 약 개수 (샤딩을 켜면 전역 샤드에서 센다)
+     */
+    public long count() {
+        return shardTemplate.onGlobal(medicineRepository::count);
+    }
+
+    public List<Medicine> findAllByNameIn(Collection<String> names) {
+        return shardTemplate.onGlobal(() -> medicineRepository.findAllByNameIn(names));
+    }
+
+    public Optional<Medicine> findByName(String name) {
+        return shardTemplate.onGlobal(() -> medicineRepository.findByName(name));
+    }
+
+    /**
+     * 새 약을 전역 샤드의 카탈로그에 저장하는 메소드 (검색 인덱스에는 전역 샤드 커밋 후 반영)
+     * 회원 샤드에서 참조하려면 copyToMemberShard 를 함께 부른다.
+     */
+    @Transactional
+    public List<Medicine> saveAll(List<Medicine> medicines) {
+        if (medicines.isEmpty()) {
+            return List.of();
+        }
+        return shardTemplate.onGlobal(() -> {
+            List<Medicine> saved = medicineRepository.saveAll(medicines);
+            saved.forEach(this::register);
+            return saved;
+        });
+    }
+
+    /**
+     * 회원 샤드의 medicine_per_member, medicine_record 가 외래키로 참조하는 약을 현재 트랜잭션(회원 샤드)에 같은 id 로 복사하는 메소드
+     * 이미 있는 약은 그대로 둔다. 샤딩을 켜지 않았으면 같은 테이블이므로 아무것도 하지 않는다.
+     */
+    @Transactional
+    public void copyToMemberShard(Collection<Medicine> medicines) {
+        if (!shardTemplate.isEnabled() || medicines.isEmpty()) {
+            return;
+        }
+        Set<Long> copied = medicineRepository.findAllById(medicines.stream().map(Medicine::getId).toList()).stream()
+                .map(Medicine::getId)
+                .collect(Collectors.toSet());
+        medicines.stream()
+                .filter(medicine -> !copied.contains(medicine.getId()))
+                .forEach(medicine -> medicineRepository.insertCopy(medicine.getId(), medicine.getName(), medicine.getCategory(), medicine.getPhoto()));
+    }
+
+    /**
+     * 새 약이 카탈로그에 저장되었을 때 호출 (커밋 후 반영)
+     */
+    public void register(Medicine medicine) {
+        String name = medicine.getName();
+        Long id = medicine.getId();
+        TransactionHooks.afterCommit(() -> write(() -> put(name, id)));
+    }
+
+    /**
+     * 약 이름이 바뀌었을 때 호출 (커밋 후 반영)
+     * 호출하는 쪽은 회원 샤드의 복사본 이름을 바꾸고, 전역 샤드의 원본은 여기서 바꾼다.
+     */
+    @Transactional
+    public void rename(Long id, String oldName, String newName) {
+        if (newName == null || newName.equals(oldName)) {
+            return;
+        }
+        if (shardTemplate.isEnabled()) {
+            shardTemplate.onGlobal(() -> medicineRepository.findById(id).map(medicine -> {
+                medicine.updateName(newName);
+                return medicine;
+            }));
+        }
+        TransactionHooks.afterCommit(() -> write(() -> {
+            trie.remove(oldName);
+            fuzzyIndex.remove(oldName);
+            put(newName, id);
+        }));
+        // 같은 약을 먹는 다른 회원의 약/알람 목록에도 이름이 나온다
+        eventPublisher.publishEvent(MemberDataChangedEvent.allMembers(DomainEventType.MEDICINE_MODIFIED));
+    }
+
+    /**
+     * 다른 서버에서 커밋된 약 추가/이름 변경을 인덱스에 반영한다. (이 서버의 변경은 register, rename 이 이미 반영했다)
+     * 같은 이벤트가 여러 번 와도 결과가 같다.
+     */
+    @EventListener
+    public void onDomainEvent(DomainEvent event) {
+        if (event.local() || event.payload() == null) {
+            return;
+        }
+        try {
+            switch (event.type()) {
+                case MEDICINE_ADDED -> {
+                    MedicineChange[] changes = JsonMappers.DEFAULT.readValue(event.payload(), MedicineChange[].class);
+                    write(() -> {
+                        for (MedicineChange change : changes) {
+                            put(change.name(), change.id());
+                        }
+                    });
+                }
+                case MEDICINE_MODIFIED -> {
+                    MedicineChange change = JsonMappers.DEFAULT.readValue(event.payload(), MedicineChange.class);
+                    if (change.isRenamed()) {
+                        write(() -> {
+                            trie.remove(change.oldName());
+                            fuzzyIndex.remove(change.oldName());
+                            put(change.name(), change.id());
+                        });
+                    }
+                }
+                default -> {
+                }
+            }
+        } catch (IOException e) {
+            log.warn("invalid medicine event payload. id = {}, type = {}", event.id(), event.type(), e);
+        }
+    }
+
+    private void put(String name, Long id) {
+        trie.put(name, id);
+        fuzzyIndex.put(name, id);
+    }
+
+    private void write(Runnable runnable) {
+        lock.writeLock().lock();
+        try {
+            runnable.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
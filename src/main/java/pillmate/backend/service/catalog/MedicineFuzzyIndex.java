@@ -0,0 +1,217 @@
+package pillmate.backend.service.catalog;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * OCR 로 읽은 약 이름과 비슷한 카탈로그 이름을 찾는 근사 검색 인덱스
+ * 한글 음절을 초성/중성/종성 자모로 분해한 뒤 자모 2-gram 역색인으로 후보를 고르고,
+ * 상위 후보만 자모 편집 거리로 다시 점수를 매긴다. (한 글자 오인식은 자모 1~3개 차이가 된다)
+ * 동기화는 사용하는 쪽(MedicineCatalogService)에서 처리한다.
+ */
+class MedicineFuzzyIndex {
+    private static final int HANGUL_BASE = 0xAC00;
+    private static final int HANGUL_LAST = 0xD7A3;
+    private static final int MEDIAL_COUNT = 21;
+    private static final int FINAL_COUNT = 28;
+    private static final int INITIAL_JAMO = 0x1100;
+    private static final int MEDIAL_JAMO = 0x1161;
+    private static final int FINAL_JAMO = 0x11A7;
+    // 편집 거리로 다시 계산할 후보 수 = k * RERANK_FACTOR
+    private static final int RERANK_FACTOR = 4;
+    // 전체 이름의 1/COMMON_POSTING_RATIO 이상에 나오는 2-gram 은 흔한 것으로 본다
+    private static final int COMMON_POSTING_RATIO = 20;
+    private static final int MIN_COMMON_POSTING = 500;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Integer, IntList> postings = new HashMap<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    void put(String name, Long id) {
+        remove(name);
+
+        char[] jamo = decompose(name);
+        int[] grams = grams(jamo);
+        int position = entries.size();
+        entries.add(new Entry(id, name, jamo, grams.length));
+        positions.put(name, position);
+        for (int gram : grams) {
+            postings.computeIfAbsent(gram, g -> new IntList()).add(position);
+        }
+    }
+
+    void remove(String name) {
+        Integer position = positions.remove(name);
+        if (position != null) {
+            // 역색인에서 빼는 대신 삭제 표시만 한다 (검색 시 건너뜀)
+            entries.get(position).removed = true;
+        }
+    }
+
+    int size() {
+        return positions.size();
+    }
+
+    /**
+     * 입력한 이름과 비슷한 이름을 점수가 높은 순으로 최대 k 개 찾는다.
+     * @param name OCR 로 읽은 이름
+     * @param k 최대 개수
+     * @return 후보 목록 (점수는 0 ~ 1, 1 이면 자모가 모두 같음)
+     */
+    List<Candidate> findSimilar(String name, int k) {
+        char[] jamo = decompose(name);
+        int[] grams = grams(jamo);
+        if (grams.length == 0 || k <= 0) {
+            return List.of();
+        }
+
+        // 1. 공통 2-gram 개수 세기
+        // "정", "캡슐" 처럼 대부분의 이름에 있는 2-gram 은 후보를 거르는 데 도움이 안 되므로 건너뛴다
+        // (모든 2-gram 이 흔한 경우에만 사용)
+        int commonLimit = Math.max(MIN_COMMON_POSTING, entries.size() / COMMON_POSTING_RATIO);
+        List<IntList> selected = new ArrayList<>(grams.length);
+        List<IntList> common = new ArrayList<>();
+        for (int gram : grams) {
+            IntList posting = postings.get(gram);
+            if (posting != null) {
+                (posting.size > commonLimit ? common : selected).add(posting);
+            }
+        }
+        if (selected.isEmpty()) {
+            selected = common;
+        }
+
+        int[] overlaps = new int[entries.size()];
+        IntList touched = new IntList();
+        for (IntList posting : selected) {
+            for (int i = 0; i < posting.size; i++) {
+                int position = posting.values[i];
+                if (overlaps[position]++ == 0) {
+                    touched.add(position);
+                }
+            }
+        }
+
+        // 2. Dice 계수 상위 후보 고르기
+        int rerankSize = k * RERANK_FACTOR;
+        PriorityQueue<double[]> top = new PriorityQueue<>(rerankSize + 1, Comparator.comparingDouble(c -> c[1]));
+        for (int i = 0; i < touched.size; i++) {
+            int position = touched.values[i];
+            Entry entry = entries.get(position);
+            if (entry.removed) {
+                continue;
+            }
+            double dice = 2.0 * overlaps[position] / (grams.length + entry.gramCount);
+            if (top.size() < rerankSize) {
+                top.add(new double[]{position, dice});
+            } else if (top.peek()[1] < dice) {
+                top.poll();
+                top.add(new double[]{position, dice});
+            }
+        }
+
+        // 3. 자모 편집 거리로 다시 점수 매기기
+        List<Candidate> candidates = new ArrayList<>(top.size());
+        for (double[] candidate : top) {
+            Entry entry = entries.get((int) candidate[0]);
+            int distance = distance(jamo, entry.jamo);
+            double score = 1.0 - (double) distance / Math.max(jamo.length, entry.jamo.length);
+            candidates.add(new Candidate(entry.id, entry.name, score));
+        }
+        candidates.sort(Comparator.comparingDouble(Candidate::score).reversed().thenComparing(Candidate::name));
+        return candidates.size() > k ? new ArrayList<>(candidates.subList(0, k)) : candidates;
+    }
+
+    /**
+     * 한글 음절은 초성/중성/종성으로 분해하고, 나머지 문자는 소문자로 바꾼다. (공백 제외)
+     */
+    static char[] decompose(String name) {
+        StringBuilder builder = new StringBuilder(name.length() * 3);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c >= HANGUL_BASE && c <= HANGUL_LAST) {
+                int code = c - HANGUL_BASE;
+                builder.append((char) (INITIAL_JAMO + code / (MEDIAL_COUNT * FINAL_COUNT)));
+                builder.append((char) (MEDIAL_JAMO + (code % (MEDIAL_COUNT * FINAL_COUNT)) / FINAL_COUNT));
+                int last = code % FINAL_COUNT;
+                if (last != 0) {
+                    builder.append((char) (FINAL_JAMO + last));
+                }
+            } else if (!Character.isWhitespace(c)) {
+                builder.append(Character.toLowerCase(c));
+            }
+        }
+        return builder.toString().toCharArray();
+    }
+
+    /**
+     * 중복을 제거한 2-gram 목록 (앞뒤에 경계 문자를 붙여 첫/마지막 자모도 반영한다)
+     */
+    private static int[] grams(char[] jamo) {
+        if (jamo.length == 0) {
+            return new int[0];
+        }
+        int[] grams = new int[jamo.length + 1];
+        char previous = 0;
+        for (int i = 0; i <= jamo.length; i++) {
+            char current = i < jamo.length ? jamo[i] : 0;
+            grams[i] = (previous << 16) | current;
+            previous = current;
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    private static int distance(char[] a, char[] b) {
+        int[] previous = new int[b.length + 1];
+        int[] current = new int[b.length + 1];
+        for (int j = 0; j <= b.length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length; j++) {
+                int cost = a[i - 1] == b[j - 1] ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length];
+    }
+
+    record Candidate(Long id, String name, double score) {
+    }
+
+    private static class Entry {
+        private final Long id;
+        private final String name;
+        private final char[] jamo;
+        private final int gramCount;
+        private boolean removed;
+
+        Entry(Long id, String name, char[] jamo, int gramCount) {
+            this.id = id;
+            this.name = name;
+            this.jamo = jamo;
+            this.gramCount = gramCount;
+        }
+    }
+
+    private static class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
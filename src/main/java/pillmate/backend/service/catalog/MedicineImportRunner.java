@@ -0,0 +1,57 @@
+package pillmate.backend.service.catalog;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 약 카탈로그 일괄 등록 모드
+ * java -jar backend.jar --medicine-import.file=/path/drugs.csv [--medicine-import.batch-size=1000]
+ * 이 옵션으로 실행하면 HTTP 포트를 열지 않고, 등록이 끝나면 종료한다. (BackendApplication 참고)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = MedicineImportRunner.FILE_PROPERTY)
+public class MedicineImportRunner implements ApplicationRunner {
+    public static final String FILE_PROPERTY = "medicine-import.file";
+
+    private final MedicineImporter medicineImporter;
+
+    @Value("${" + FILE_PROPERTY + "}")
+    private String file;
+
+    @Value("${medicine-import.batch-size:1000}")
+    private int batchSize;
+
+    public static boolean isImportMode(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--" + FILE_PROPERTY + "="));
+    }
+
+    /**
+     * 일괄 등록 모드 실행 인자
+     * server.port=-1 : 웹 컨텍스트는 만들지만 HTTP 포트는 열지 않는다
+     * (rewriteBatchedStatements 는 JpaConfig 에서 항상 켜진다)
+     */
+    public static String[] withImportOptions(String[] args) {
+        String[] options = {
+                "--server.port=-1"
+        };
+        String[] merged = Arrays.copyOf(args, args.length + options.length);
+        System.arraycopy(options, 0, merged, args.length, options.length);
+        return merged;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("medicine import started. file = {}, batchSize = {}", file, batchSize);
+        medicineImporter.importFile(Path.of(file), batchSize);
+    }
+}
@@ -0,0 +1,282 @@
+package pillmate.backend.service.catalog;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.shard.ShardTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 공공 의약품 목록(CSV/JSON) 을 medicine 테이블에 일괄 등록하는 서비스
+ * JDBC batch insert 로 저장하며, 같은 이름의 약이 이미 있으면 분류와 사진만 갱신한다. (upsert)
+ * MySQL 드라이버의 rewriteBatchedStatements=true 설정이 있어야 batch 가 한 번의 다중 행 INSERT 로 전송된다.
+ * id 는 AUTO_INCREMENT 가 아니라 Medicine 엔티티와 같은 id_sequence 에서 batch 마다 한 블록씩 받아 직접 넣는다. (GlobalTableGenerator)
+ */
+@Slf4j
+@Service
+public class MedicineImporter {
+    private static final String UPSERT_SQL = "INSERT INTO medicine (id, name, category, photo) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE category = COALESCE(VALUES(category), category), photo = COALESCE(VALUES(photo), photo)";
+    private static final String SELECT_SEQUENCE_SQL = "SELECT next_val FROM id_sequence WHERE name = 'medicine' FOR UPDATE";
+    private static final String ADVANCE_SEQUENCE_SQL = "UPDATE id_sequence SET next_val = next_val + ? WHERE name = 'medicine'";
+    private static final int PROGRESS_INTERVAL = 10_000;
+
+    // 공공데이터 컬럼명도 함께 인식한다 (의약품 낱알식별 정보 등). 여러 개가 있으면 앞의 것을 쓴다
+    private static final List<String> NAME_COLUMNS = List.of("name", "item_name", "품목명");
+    private static final List<String> CATEGORY_COLUMNS = List.of("category", "class_name", "분류명");
+    private static final List<String> PHOTO_COLUMNS = List.of("photo", "item_image", "큰제품이미지");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ShardTemplate shardTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public MedicineImporter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, ShardTemplate shardTemplate,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.shardTemplate = shardTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 파일을 읽어 medicine 테이블에 upsert 하는 메소드
+     * @param path CSV 또는 JSON(객체 배열) 파일 경로
+     * @param batchSize 한 번에 전송할 행 수
+     * @return 처리한 행 수
+     */
+    public long importFile(Path path, int batchSize) throws IOException {
+        Progress progress = new Progress();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+
+        Consumer<Row> writer = row -> {
+            if (row.name() == null || row.name().isBlank()) {
+                progress.skipped++;
+                return;
+            }
+            batch.add(new Object[]{row.name().strip(), blankToNull(row.category()), blankToNull(row.photo())});
+            if (batch.size() >= batchSize) {
+                flush(batch, progress);
+            }
+        };
+
+        if (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+            readJson(path, writer);
+        } else {
+            readCsv(path, writer);
+        }
+        flush(batch, progress);
+
+        log.info("medicine import finished. rows = {}, skipped = {}, elapsed = {}s", progress.written, progress.skipped, progress.elapsedSeconds());
+        return progress.written;
+    }
+
+    private void flush(List<Object[]> batch, Progress progress) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        long firstId = reserveIds(batch.size());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Object[] row = batch.get(i);
+            rows.add(new Object[]{firstId + i, row[0], row[1], row[2]});
+        }
+        // 약 카탈로그는 전역 샤드에만 둔다
+        shardTemplate.onGlobal(() -> jdbcTemplate.batchUpdate(UPSERT_SQL, rows));
+        long before = progress.written;
+        progress.written += batch.size();
+        batch.clear();
+
+        if (before / PROGRESS_INTERVAL != progress.written / PROGRESS_INTERVAL) {
+            log.info("medicine import progress. rows = {}, rate = {} rows/s", progress.written, progress.rate());
+        }
+    }
+
+    /**
+     * id_sequence 의 medicine 구간에서 count 개의 id 를 받아 첫 id 를 돌려주는 메소드
+     * Hibernate 는 next_val 이 V 일 때 (V - 49 ~ V) 블록을 가져가고 V + 50 으로 올리므로,
+     * 같은 규칙으로 V 를 읽고 V + count 로 올리면 (V - 49 ~ V - 50 + count) 는 다른 누구도 받지 않는다.
+     * 이미 있는 이름이면 upsert 가 기존 행을 갱신하므로 받은 id 는 쓰이지 않고 버려진다.
+     */
+    private long reserveIds(int count) {
+        return shardTemplate.onGlobal(() -> transactionTemplate.execute(status -> {
+            Long next = jdbcTemplate.queryForObject(SELECT_SEQUENCE_SQL, Long.class);
+            jdbcTemplate.update(ADVANCE_SEQUENCE_SQL, count);
+            return next - JpaConfig.BATCH_SIZE + 1;
+        }));
+    }
+
+    private void readCsv(Path path, Consumer<Row> writer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String headerLine = readCsvRecord(reader);
+            if (headerLine == null) {
+                return;
+            }
+
+            Map<String, Integer> header = new HashMap<>();
+            List<String> columns = parseCsvLine(headerLine.replace("\uFEFF", ""));
+            for (int i = 0; i < columns.size(); i++) {
+                header.put(columns.get(i).strip().toLowerCase(Locale.ROOT), i);
+            }
+            int name = findColumn(header, NAME_COLUMNS);
+            int category = findColumn(header, CATEGORY_COLUMNS);
+            int photo = findColumn(header, PHOTO_COLUMNS);
+            if (name < 0) {
+                throw new IllegalArgumentException("CSV 헤더에 약 이름 컬럼이 없습니다. " + NAME_COLUMNS);
+            }
+
+            String line;
+            while ((line = readCsvRecord(reader)) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                List<String> values = parseCsvLine(line);
+                writer.accept(new Row(get(values, name), get(values, category), get(values, photo)));
+            }
+        }
+    }
+
+    private void readJson(Path path, Consumer<Row> writer) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(path);
+             JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("JSON 파일은 객체 배열이어야 합니다.");
+            }
+
+            // 배열 원소를 하나씩 읽어 전체 파일을 메모리에 올리지 않는다
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = objectMapper.readTree(parser);
+                writer.accept(new Row(text(node, NAME_COLUMNS), text(node, CATEGORY_COLUMNS), text(node, PHOTO_COLUMNS)));
+            }
+        }
+    }
+
+    /**
+     * CSV 레코드 하나를 읽는 메소드
+     * 따옴표로 감싼 값 안의 줄바꿈(효능/주의사항 같은 긴 설명)은 값에 포함하고, 따옴표가 닫힐 때까지 다음 줄을 이어 읽는다.
+     * @return 레코드, 파일 끝이면 null
+     */
+    static String readCsvRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        StringBuilder record = new StringBuilder(line);
+        // "" 는 따옴표 두 개이므로 개수가 홀수일 때만 값 안에 있다
+        int quotes = countQuotes(line);
+        while (quotes % 2 != 0) {
+            String next = reader.readLine();
+            if (next == null) {
+                break;
+            }
+            record.append('\n').append(next);
+            quotes += countQuotes(next);
+        }
+        return record.toString();
+    }
+
+    private static int countQuotes(String line) {
+        int count = 0;
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) == '"') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 따옴표로 감싼 값(쉼표, "", 줄바꿈 포함)을 지원하는 CSV 레코드 파서
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private int findColumn(Map<String, Integer> header, List<String> candidates) {
+        return candidates.stream().filter(header::containsKey).findFirst().map(header::get).orElse(-1);
+    }
+
+    private String get(List<String> values, int index) {
+        return index >= 0 && index < values.size() ? values.get(index) : null;
+    }
+
+    private String text(JsonNode node, List<String> candidates) {
+        for (String candidate : candidates) {
+            JsonNode value = node.get(candidate);
+            if (value == null) {
+                value = node.get(candidate.toUpperCase(Locale.ROOT));
+            }
+            if (value != null && !value.isNull()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    private record Row(String name, String category, String photo) {
+    }
+
+    private static class Progress {
+        private final long startedAt = System.nanoTime();
+        private long written;
+        private long skipped;
+
+        long elapsedSeconds() {
+            return (System.nanoTime() - startedAt) / 1_000_000_000L;
+        }
+
+        long rate() {
+            return written * 1_000_000_000L / Math.max(1, System.nanoTime() - startedAt);
+        }
+    }
+}
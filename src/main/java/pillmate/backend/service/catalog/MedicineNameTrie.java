@@ -0,0 +1,93 @@
+package pillmate.backend.service.catalog;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 약 이름 접두사 검색용 트라이
+ * 이름의 각 글자를 노드로 두고, 이름이 끝나는 노드에 약 id 를 저장한다.
+ * 동기화는 사용하는 쪽(MedicineCatalogService)에서 처리한다.
+ */
+class MedicineNameTrie {
+    private final Node root = new Node();
+    private int size;
+
+    void put(String name, Long id) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            node = node.children.computeIfAbsent(name.charAt(i), c -> new Node());
+        }
+        if (node.id == null) {
+            size++;
+        }
+        node.id = id;
+    }
+
+    void remove(String name) {
+        Deque<Node> path = new ArrayDeque<>();
+        Node node = root;
+        for (int i = 0; i < name.length() && node != null; i++) {
+            path.push(node);
+            node = node.children.get(name.charAt(i));
+        }
+        if (node == null || node.id == null) {
+            return;
+        }
+
+        node.id = null;
+        size--;
+
+        // 더 이상 쓰이지 않는 노드 정리
+        for (int i = name.length() - 1; i >= 0 && node.id == null && node.children.isEmpty(); i--) {
+            Node parent = path.pop();
+            parent.children.remove(name.charAt(i));
+            node = parent;
+        }
+    }
+
+    /**
+     * 접두사로 시작하는 이름을 사전 순으로 최대 limit 개 찾는다.
+     * @param prefix 접두사
+     * @param limit 최대 개수
+     * @return 약 id 목록
+     */
+    List<Long> findByPrefix(String prefix, int limit) {
+        List<Long> result = new ArrayList<>();
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node != null) {
+            collect(node, limit, result);
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void collect(Node node, int limit, List<Long> result) {
+        if (result.size() >= limit) {
+            return;
+        }
+        if (node.id != null) {
+            result.add(node.id);
+        }
+        for (Node child : node.children.values()) {
+            if (result.size() >= limit) {
+                return;
+            }
+            collect(child, limit, result);
+        }
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private Long id;
+    }
+}
@@ -0,0 +1,342 @@
+package pillmate.backend.service.dose;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.dose.DoseTakenEvent;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.MedicineRecord;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.PainTrendService;
+import pillmate.backend.service.outbox.OutboxService;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 복용 기록 write-behind 소비자
+ * Redis Stream 의 consumer group 으로 이벤트를 모아 읽고, 한 트랜잭션에서 medicine_record batch INSERT 와 알람 isEaten 갱신을 한다.
+ * 커밋된 뒤에 XACK 하고 스트림에서 지우므로, 중간에 죽으면 pending 으로 남은 이벤트를 다시 읽어 처리한다. (이미 기록된 알람/날짜는 건너뛴다)
+ * consumer 이름(HOSTNAME)은 재시작하면 바뀌므로, 어느 consumer 의 것이든 claim-idle 동안 ACK 되지 않은 pending 은 XCLAIM 으로 가져온다.
+ * 읽을 수 없거나 max-deliveries 번 넘게 실패한 이벤트는 DEAD_LETTER_KEY 스트림으로 옮기고 ACK 해서 나머지를 막지 않게 한다.
+ * <pre>
+ * dose.write-behind.claim-idle-ms=30000
+ * dose.write-behind.max-deliveries=5
+ * dose.write-behind.max-length=100000
+ * </pre>
+ */
+@Slf4j
+@Component
+public class DoseEventConsumer {
+    public static final String DEAD_LETTER_KEY = DoseEventQueue.STREAM_KEY + ":dead";
+    static final String GROUP = "dose-recorder";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+    private final AlarmRepository alarmRepository;
+    private final MedicineRepository medicineRepository;
+    private final MemberRepository memberRepository;
+    private final MedicineRecordRepository medicineRecordRepository;
+    private final PainTrendService painTrendService;
+    private final OutboxService outboxService;
+    private final ShardTemplate shardTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration claimIdle;
+    private final int maxDeliveries;
+    private final long maxLength;
+    private final Consumer consumer;
+
+    private volatile boolean groupReady = false;
+
+    public DoseEventConsumer(StringRedisTemplate stringRedisTemplate,
+                             TransactionTemplate transactionTemplate,
+                             PlatformTransactionManager transactionManager,
+                             AlarmRepository alarmRepository,
+                             MedicineRepository medicineRepository,
+                             MemberRepository memberRepository,
+                             MedicineRecordRepository medicineRecordRepository,
+                             PainTrendService painTrendService,
+                             OutboxService outboxService,
+                             ShardTemplate shardTemplate,
+                             @Value("${dose.write-behind.enabled:true}") boolean enabled,
+                             @Value("${dose.write-behind.batch-size:200}") int batchSize,
+                             @Value("${dose.write-behind.claim-idle-ms:30000}") long claimIdleMillis,
+                             @Value("${dose.write-behind.max-deliveries:5}") int maxDeliveries,
+                             @Value("${dose.write-behind.max-length:100000}") long maxLength,
+                             @Value("${dose.write-behind.consumer:${HOSTNAME:pillmate}}") String consumerName) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.alarmRepository = alarmRepository;
+        this.medicineRepository = medicineRepository;
+        this.memberRepository = memberRepository;
+        this.medicineRecordRepository = medicineRecordRepository;
+        this.painTrendService = painTrendService;
+        this.outboxService = outboxService;
+        this.shardTemplate = shardTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.claimIdle = Duration.ofMillis(claimIdleMillis);
+        this.maxDeliveries = maxDeliveries;
+        this.maxLength = maxLength;
+        this.consumer = Consumer.from(GROUP, consumerName);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createGroup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(DoseEventQueue.STREAM_KEY.getBytes(StandardCharsets.UTF_8), GROUP, ReadOffset.from("0"), true));
+        } catch (RedisSystemException e) {
+            // 이미 그룹이 있으면 BUSYGROUP
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                log.warn("failed to create dose event consumer group", e);
+                return;
+            }
+        } catch (DataAccessException e) {
+            log.warn("redis unavailable, dose event consumer group is not created yet", e);
+            return;
+        }
+        groupReady = true;
+    }
+
+    @Scheduled(fixedDelayString = "${dose.write-behind.poll-delay-ms:500}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        if (!groupReady) {
+            createGroup();
+            if (!groupReady) {
+                return;
+            }
+        }
+
+        // 오래 ACK 되지 않은 pending (죽은 consumer 의 것 포함) 을 먼저 가져오고, 없으면 새 이벤트를 읽는다
+        Map<RecordId, Long> deliveries = new HashMap<>();
+        List<MapRecord<String, Object, Object>> records;
+        try {
+            records = claimIdle(deliveries);
+            if (records.isEmpty()) {
+                records = read();
+            }
+        } catch (DataAccessException e) {
+            log.warn("failed to read dose events", e);
+            return;
+        }
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+
+        try {
+            process(records, deliveries);
+            // 지운 뒤에도 남는 건 아직 처리 못 한 이벤트뿐이므로 평소에는 잘리지 않는다. Redis 가 멈췄다 돌아온 뒤 무한히 쌓이지 않게 하는 상한이다
+            stringRedisTemplate.opsForStream().trim(DoseEventQueue.STREAM_KEY, maxLength, true);
+        } catch (DataAccessException e) {
+            // ACK 하지 못한 이벤트는 claim-idle 이 지나면 다시 가져온다
+            log.warn("failed to acknowledge dose events", e);
+        }
+    }
+
+    private List<MapRecord<String, Object, Object>> claimIdle(Map<RecordId, Long> deliveries) {
+        PendingMessages pending = stringRedisTemplate.opsForStream().pending(DoseEventQueue.STREAM_KEY, GROUP, Range.unbounded(), batchSize);
+        List<RecordId> ids = new ArrayList<>();
+        for (PendingMessage message : pending) {
+            if (message.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0) {
+                ids.add(message.getId());
+                // XCLAIM 도 한 번 전달한 것으로 센다
+                deliveries.put(message.getId(), message.getTotalDeliveryCount() + 1);
+            }
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .claim(DoseEventQueue.STREAM_KEY, GROUP, consumer.getName(), claimIdle, ids.toArray(RecordId[]::new));
+        if (records == null) {
+            return List.of();
+        }
+        // 잘려서 스트림에 없는 이벤트는 pending 에서만 지운다
+        Set<RecordId> claimed = records.stream().map(MapRecord::getId).collect(Collectors.toSet());
+        List<RecordId> missing = ids.stream().filter(id -> !claimed.contains(id)).toList();
+        if (!missing.isEmpty()) {
+            stringRedisTemplate.opsForStream().acknowledge(DoseEventQueue.STREAM_KEY, GROUP, missing.toArray(RecordId[]::new));
+        }
+        return records;
+    }
+
+    private List<MapRecord<String, Object, Object>> read() {
+        return stringRedisTemplate.opsForStream().read(consumer,
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(DoseEventQueue.STREAM_KEY, ReadOffset.lastConsumed()));
+    }
+
+    /**
+     * 배치를 한 번에 기록하고, 실패하면 어느 이벤트 때문인지 알 수 있게 하나씩 다시 기록한다.
+     * 기록된 이벤트는 ACK 하고, 실패한 이벤트는 pending 으로 남겨 두었다가 max-deliveries 번째 실패에서 dead-letter 로 옮긴다.
+     */
+    private void process(List<MapRecord<String, Object, Object>> records, Map<RecordId, Long> deliveries) {
+        Map<RecordId, DoseTakenEvent> events = new LinkedHashMap<>();
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                events.put(record.getId(), DoseTakenEvent.fromFields(record.getValue()));
+            } catch (RuntimeException e) {
+                deadLetter(record, e);
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        try {
+            write(new ArrayList<>(events.values()));
+            acknowledge(events.keySet().toArray(RecordId[]::new));
+            return;
+        } catch (RuntimeException e) {
+            log.warn("failed to record dose events, retrying one by one. size = {}", events.size(), e);
+        }
+
+        for (MapRecord<String, Object, Object> record : records) {
+            DoseTakenEvent event = events.get(record.getId());
+            if (event == null) {
+                continue;
+            }
+            try {
+                write(List.of(event));
+                acknowledge(record.getId());
+            } catch (RuntimeException e) {
+                if (deliveries.getOrDefault(record.getId(), 1L) >= maxDeliveries) {
+                    deadLetter(record, e);
+                } else {
+                    log.warn("failed to record dose event. id = {}, alarmId = {}", record.getId(), event.alarmId(), e);
+                }
+            }
+        }
+    }
+
+    private void deadLetter(MapRecord<String, Object, Object> record, RuntimeException cause) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        record.getValue().forEach((key, value) -> fields.put(String.valueOf(key), String.valueOf(value)));
+        fields.put("sourceId", record.getId().getValue());
+        fields.put("error", String.valueOf(cause));
+        stringRedisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(DEAD_LETTER_KEY));
+        acknowledge(record.getId());
+        log.error("dose event moved to dead letter stream. id = {}, fields = {}", record.getId(), record.getValue(), cause);
+    }
+
+    /**
+     * consumer group 이 하나뿐이므로 ACK 한 이벤트는 스트림에서도 지운다.
+     */
+    private void acknowledge(RecordId... ids) {
+        stringRedisTemplate.opsForStream().acknowledge(DoseEventQueue.STREAM_KEY, GROUP, ids);
+        stringRedisTemplate.opsForStream().delete(DoseEventQueue.STREAM_KEY, ids);
+    }
+
+    /**
+     * 큐에 넣지 못한 이벤트를 바로 기록한다. (DoseEventQueue)
+     * 요청 트랜잭션의 커밋 후 콜백에서 불리므로, 끝난 트랜잭션에 참여하지 않도록 새 트랜잭션을 연다.
+     */
+    void recordNow(DoseTakenEvent event) {
+        newTransactionTemplate.executeWithoutResult(status -> write(List.of(event)));
+    }
+
+    /**
+     * 회원 샤드별로 나눠서 샤드마다 한 트랜잭션에서 기록한다.
+     * 일부 샤드만 커밋되고 실패해도 ACK 하지 않으므로 다시 읽히고, 커밋된 샤드의 이벤트는 이미 기록된 것으로 건너뛴다.
+     */
+    void write(List<DoseTakenEvent> events) {
+        events.stream()
+                .collect(Collectors.groupingBy(event -> shardTemplate.shardOf(event.memberId()), LinkedHashMap::new, Collectors.toList()))
+                .forEach((shard, shardEvents) -> shardTemplate.onShard(shard, () -> {
+                    writeShard(shardEvents);
+                    return null;
+                }));
+    }
+
+    /**
+     * 한 트랜잭션에서 기록한다.
+     * 알람/회원/약은 한 번씩만 조회하고, 이미 기록된 (alarm_id, date) 는 건너뛰어 재처리되어도 유니크 키에 걸리지 않게 한다.
+     */
+    private void writeShard(List<DoseTakenEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> alarmIds = events.stream().map(DoseTakenEvent::alarmId).collect(Collectors.toSet());
+            Set<LocalDate> dates = events.stream().map(DoseTakenEvent::date).collect(Collectors.toSet());
+            Set<String> recorded = medicineRecordRepository.findAllByAlarmIdInAndDateIn(alarmIds, dates).stream()
+                    .map(record -> record.getAlarmId() + ":" + record.getDate())
+                    .collect(Collectors.toCollection(HashSet::new));
+            Map<Long, Alarm> alarms = alarmRepository.findAllById(alarmIds).stream()
+                    .collect(Collectors.toMap(Alarm::getId, Function.identity()));
+            LocalDate today = LocalDate.now();
+
+            List<MedicineRecord> newRecords = new ArrayList<>();
+            List<DoseTakenEvent> written = new ArrayList<>();
+            for (DoseTakenEvent event : events) {
+                if (!recorded.add(event.recordKey())) {
+                    continue;
+                }
+                newRecords.add(MedicineRecord.builder()
+                        .member(memberRepository.getReferenceById(event.memberId()))
+                        .medicine(medicineRepository.getReferenceById(event.medicineId()))
+                        .alarmId(event.alarmId())
+                        .date(event.date())
+                        .time(event.time())
+                        .isEaten(true)
+                        .build());
+                written.add(event);
+
+                // 자정 초기화가 지난 뒤에 처리된 어제 복용은 알람에 반영하지 않는다
+                Alarm alarm = alarms.get(event.alarmId());
+                if (alarm != null && today.equals(event.date())) {
+                    alarm.updateIsEaten(true);
+                }
+            }
+            medicineRecordRepository.saveAll(newRecords);
+            written.forEach(event -> {
+                painTrendService.recordDose(event.memberId(), event.alarmId(), event.date());
+                outboxService.append(DomainEventType.DOSE_TAKEN, event.memberId(), event);
+            });
+        });
+    }
+}
@@ -0,0 +1,109 @@
+package pillmate.backend.service.dose;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+import pillmate.backend.common.util.TransactionHooks;
+import pillmate.backend.dto.dose.DoseTakenEvent;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 복용 기록 write-behind 큐
+ * 복용 요청은 Redis Stream 에 이벤트를 XADD 하고 바로 응답하고, 실제 INSERT 는 DoseEventConsumer 가 모아서 한다.
+ * 아직 기록되지 않은 복용은 회원별 "오늘 먹은 알람" SET 에 남겨서, 같은 회원의 다음 조회가 방금 먹은 알람을 먹은 것으로 보게 한다.
+ * 요청 트랜잭션이 롤백되면 기록되지 않도록 스트림에는 커밋 후에 넣고, SET 에서는 롤백되면 뺀다.
+ */
+@Slf4j
+@Service
+public class DoseEventQueue {
+    public static final String STREAM_KEY = "dose-events";
+    private static final String TAKEN_KEY_PREFIX = "dose:taken:";
+    // 날짜가 키에 들어가므로 하루가 지나면 필요 없다
+    private static final Duration TAKEN_TTL = Duration.ofHours(25);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DoseEventConsumer doseEventConsumer;
+    private final boolean enabled;
+
+    public DoseEventQueue(StringRedisTemplate stringRedisTemplate,
+                          DoseEventConsumer doseEventConsumer,
+                          @Value("${dose.write-behind.enabled:true}") boolean enabled) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.doseEventConsumer = doseEventConsumer;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 복용 이벤트를 큐에 넣는다.
+     * 조회용 SET 에는 바로 넣어 같은 요청의 다음 알람 계산에도 반영하고, 스트림에는 트랜잭션이 커밋된 뒤에 XADD 한다.
+     * 커밋 후 XADD 에 실패하면 새 트랜잭션에서 바로 기록한다. (DoseEventConsumer.recordNow)
+     * @return 큐에 넣기로 했으면 true, 꺼져 있거나 Redis 를 쓸 수 없으면 false (호출한 쪽의 트랜잭션에서 바로 기록한다)
+     */
+    public boolean enqueue(DoseTakenEvent event) {
+        if (!enabled) {
+            return false;
+        }
+        String takenKey = takenKey(event.memberId(), event.date());
+        try {
+            stringRedisTemplate.opsForSet().add(takenKey, event.alarmId().toString());
+            stringRedisTemplate.expire(takenKey, TAKEN_TTL);
+        } catch (DataAccessException e) {
+            log.warn("redis unavailable, dose is recorded synchronously. alarmId = {}", event.alarmId(), e);
+            return false;
+        }
+
+        TransactionHooks.afterRollback(() -> untake(takenKey, event));
+        TransactionHooks.afterCommit(() -> publish(event));
+        return true;
+    }
+
+    private void publish(DoseTakenEvent event) {
+        try {
+            stringRedisTemplate.opsForStream().add(StreamRecords.string(event.toFields()).withStreamKey(STREAM_KEY));
+        } catch (DataAccessException e) {
+            log.warn("redis unavailable after commit, dose is recorded synchronously. alarmId = {}", event.alarmId(), e);
+            doseEventConsumer.recordNow(event);
+        }
+    }
+
+    private void untake(String takenKey, DoseTakenEvent event) {
+        try {
+            stringRedisTemplate.opsForSet().remove(takenKey, event.alarmId().toString());
+        } catch (DataAccessException e) {
+            // TTL 이 지나면 사라지고, 그때까지는 다음 알람 계산에서만 먹은 것으로 보인다
+            log.warn("failed to remove rolled back dose. alarmId = {}", event.alarmId(), e);
+        }
+    }
+
+    /**
+     * 회원이 해당 날짜에 먹었다고 요청한 알람 id (아직 db 에 반영되지 않은 것 포함)
+     * Redis 를 쓸 수 없으면 db 의 isEaten 만 보도록 빈 SET 을 돌려준다.
+     */
+    public Set<Long> findTakenAlarmIds(Long memberId, LocalDate date) {
+        if (!enabled) {
+            return Collections.emptySet();
+        }
+        try {
+            Set<String> members = stringRedisTemplate.opsForSet().members(takenKey(memberId, date));
+            if (members == null || members.isEmpty()) {
+                return Collections.emptySet();
+            }
+            return members.stream().map(Long::valueOf).collect(Collectors.toSet());
+        } catch (DataAccessException e) {
+            log.warn("redis unavailable, pending doses are ignored. memberId = {}", memberId, e);
+            return Collections.emptySet();
+        }
+    }
+
+    private String takenKey(Long memberId, LocalDate date) {
+        return TAKEN_KEY_PREFIX + memberId + ":" + date;
+    }
+}
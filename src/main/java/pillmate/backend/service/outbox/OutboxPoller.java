@@ -0,0 +1,95 @@
+package pillmate.backend.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.outbox.DomainEvent;
+import pillmate.backend.entity.OutboxEvent;
+import pillmate.backend.repository.OutboxEventRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 발행되지 않은 outbox 이벤트를 모아서 발행한다.
+ * 발행과 publishedAt 갱신을 한 트랜잭션에서 하므로, 발행 중에 실패하면 다음 poll 에서 다시 발행된다. (at-least-once)
+ * outbox 는 도메인 변경과 같은 회원 샤드에 쌓이므로 샤드마다 돌면서 발행한다.
+ */
+@Slf4j
+@Component
+public class OutboxPoller {
+    // 발행된 이벤트를 보관하는 기간
+    private static final int RETENTION_DAYS = 7;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardTemplate shardTemplate;
+    private final int batchSize;
+
+    public OutboxPoller(OutboxEventRepository outboxEventRepository,
+                        OutboxPublisher outboxPublisher,
+                        TransactionTemplate transactionTemplate,
+                        ShardTemplate shardTemplate,
+                        @Value("${outbox.batch-size:100}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.shardTemplate = shardTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-delay-ms:1000}")
+    public void poll() {
+        for (String shard : shardTemplate.getShardMap().shards()) {
+            try {
+                shardTemplate.onShard(shard, this::publishAll);
+            } catch (RuntimeException e) {
+                // 한 샤드가 실패해도 다른 샤드의 이벤트는 발행한다
+                log.warn("failed to publish outbox events. shard = {}", shard, e);
+            }
+        }
+    }
+
+    private int publishAll() {
+        // 꽉 찬 배치가 나오면 밀린 이벤트가 더 있으므로 이어서 발행한다
+        int published;
+        do {
+            published = publishBatch();
+        } while (published == batchSize);
+        return published;
+    }
+
+    @Scheduled(cron = "0 30 3 * * ?", zone = "Asia/Seoul")
+    public void purge() {
+        int deleted = shardTemplate.onEachShard(() -> transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minusDays(RETENTION_DAYS)))).stream()
+                .mapToInt(count -> count == null ? 0 : count)
+                .sum();
+        log.info("purged published outbox events. count = {}", deleted);
+    }
+
+    int publishBatch() {
+        Integer published = transactionTemplate.execute(status -> {
+            List<OutboxEvent> outboxEvents = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+            if (outboxEvents.isEmpty()) {
+                return 0;
+            }
+            try {
+                outboxPublisher.publish(outboxEvents.stream().map(DomainEvent::from).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            outboxEvents.forEach(outboxEvent -> outboxEvent.markPublished(now));
+            return outboxEvents.size();
+        });
+        return published == null ? 0 : published;
+    }
+}
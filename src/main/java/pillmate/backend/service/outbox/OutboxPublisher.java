@@ -0,0 +1,68 @@
+package pillmate.backend.service.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import pillmate.backend.common.util.JsonMappers;
+import pillmate.backend.dto.outbox.DomainEvent;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * outbox 이벤트를 이 서버의 리스너와 Redis pub/sub 으로 발행한다.
+ * 다른 서버가 보낸 메시지는 local = false 로 바꿔서 이 서버의 리스너에 전달하고, 자기가 보낸 메시지는 무시한다.
+ */
+@Slf4j
+@Component
+public class OutboxPublisher implements MessageListener {
+    public static final String CHANNEL = "pillmate:domain-events";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OutboxPublisher(StringRedisTemplate stringRedisTemplate, ApplicationEventPublisher eventPublisher) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Redis 발행이 실패하면 예외를 던져서 outbox 가 발행 처리되지 않게 한다.
+     * 이 서버 리스너의 예외는 다른 이벤트 발행을 막지 않도록 로그만 남긴다.
+     */
+    public void publish(List<DomainEvent> events) throws IOException {
+        stringRedisTemplate.convertAndSend(CHANNEL, JsonMappers.DEFAULT.writeValueAsString(new OutboxMessage(nodeId, events)));
+        events.forEach(this::publishLocally);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        OutboxMessage outboxMessage;
+        try {
+            outboxMessage = JsonMappers.DEFAULT.readValue(message.getBody(), OutboxMessage.class);
+        } catch (IOException e) {
+            log.warn("invalid domain event message", e);
+            return;
+        }
+        if (nodeId.equals(outboxMessage.nodeId())) {
+            return;
+        }
+        outboxMessage.events().forEach(event -> publishLocally(event.toRemote()));
+    }
+
+    private void publishLocally(DomainEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (RuntimeException e) {
+            log.warn("domain event listener failed. id = {}, type = {}", event.id(), event.type(), e);
+        }
+    }
+
+    record OutboxMessage(String nodeId, List<DomainEvent> events) {
+    }
+}
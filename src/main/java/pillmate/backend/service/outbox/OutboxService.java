@@ -0,0 +1,52 @@
+package pillmate.backend.service.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.util.JsonMappers;
+import pillmate.backend.dto.outbox.MemberDataChangedEvent;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.OutboxEvent;
+import pillmate.backend.repository.OutboxEventRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도메인 변경과 같은 트랜잭션에서 outbox 에 이벤트를 남긴다.
+ * 변경이 롤백되면 이벤트도 같이 사라지고, 커밋된 이벤트는 OutboxPoller 가 발행한다.
+ * 응답 버전(ResourceVersionStore)은 폴링을 기다리지 않도록 MemberDataChangedEvent 로 커밋 직후에 올린다.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * @param payload JSON 으로 저장할 이벤트 내용 (없으면 null)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(DomainEventType type, Long memberId, Object payload) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .type(type)
+                .memberId(memberId)
+                .payload(toJson(payload))
+                .createdAt(LocalDateTime.now())
+                .build());
+        eventPublisher.publishEvent(new MemberDataChangedEvent(memberId, type));
+    }
+
+    private String toJson(Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return JsonMappers.DEFAULT.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("outbox payload 를 JSON 으로 바꿀 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+-- 증상/질병 문자열을 health_term 사전으로 정규화한다. (MySQL)
+-- 1. 사전 테이블 생성 및 기존 문자열 등록
+CREATE TABLE IF NOT EXISTS health_term (
+    id   INT          NOT NULL AUTO_INCREMENT,
+    type VARCHAR(20)  NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_health_term_type_name (type, name)
+);
+
+INSERT IGNORE INTO health_term (type, name) SELECT DISTINCT 'SYMPTOM', TRIM(symptom) FROM diary_symptoms;
+INSERT IGNORE INTO health_term (type, name) SELECT DISTINCT 'SYMPTOM', TRIM(name) FROM symptom;
+INSERT IGNORE INTO health_term (type, name) SELECT DISTINCT 'DISEASE', TRIM(disease) FROM disease;
+
+-- 2. 건강 일지 증상
+CREATE TABLE IF NOT EXISTS diary_symptom (
+    diary_id   BIGINT NOT NULL,
+    symptom_id INT    NOT NULL,
+    KEY fk_diary_symptom_diary (diary_id)
+);
+
+INSERT INTO diary_symptom (diary_id, symptom_id)
+SELECT ds.diary_id, t.id
+FROM diary_symptoms ds
+JOIN health_term t ON t.type = 'SYMPTOM' AND t.name = TRIM(ds.symptom);
+
+-- 3. 회원 증상
+CREATE TABLE IF NOT EXISTS member_symptom (
+    member_id  BIGINT NOT NULL,
+    symptom_id INT    NOT NULL,
+    KEY fk_member_symptom_member (member_id)
+);
+
+INSERT INTO member_symptom (member_id, symptom_id)
+SELECT ms.member_id, t.id
+FROM member_symptoms ms
+JOIN symptom s ON s.id = ms.symptoms_id
+JOIN health_term t ON t.type = 'SYMPTOM' AND t.name = TRIM(s.name);
+
+-- 4. 회원 질병
+CREATE TABLE IF NOT EXISTS member_disease (
+    member_id  BIGINT NOT NULL,
+    disease_id INT    NOT NULL,
+    start_date DATE   NOT NULL,
+    KEY fk_member_disease_member (member_id)
+);
+
+INSERT INTO member_disease (member_id, disease_id, start_date)
+SELECT md.member_id, t.id, d.start_date
+FROM member_diseases md
+JOIN disease d ON d.id = md.diseases_id
+JOIN health_term t ON t.type = 'DISEASE' AND t.name = TRIM(d.disease);
+
+-- 5. 이전 테이블 정리 (데이터 확인 후 실행)
+-- DROP TABLE diary_symptoms;
+-- DROP TABLE member_symptoms;
+-- DROP TABLE member_diseases;
+-- DROP TABLE symptom;
+-- DROP TABLE disease;
@@ -0,0 +1,4 @@
+-- 약 이름 유니크 인덱스 (MySQL)
+-- 이름 검색(findByName, findAllByNameIn)이 인덱스를 타도록 하고, 같은 이름의 약이 중복 등록되지 않게 한다.
+-- 실행 전 중복 확인: SELECT name, COUNT(*) FROM medicine GROUP BY name HAVING COUNT(*) > 1;
+ALTER TABLE medicine ADD CONSTRAINT uk_medicine_name UNIQUE (name);
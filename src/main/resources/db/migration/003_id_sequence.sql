@@ -0,0 +1,15 @@
+-- 테이블 기반 id 할당 (MySQL)
+-- alarm, time_slot, medicine_record, diary 는 IDENTITY 대신 id_sequence 에서 id 를 50개씩 미리 받아온다.
+-- IDENTITY 는 INSERT 마다 생성된 키를 돌려받아야 해서 Hibernate 가 INSERT 를 batch 로 묶지 못한다.
+-- pooled 방식이라 next_val 은 첫 블록의 마지막 id 로 해석된다. 기존 최대 id + 50(allocationSize) 으로 넣어야
+-- 첫 블록이 최대 id + 1 부터 시작한다. 애플리케이션을 내린 상태에서 실행한다.
+CREATE TABLE id_sequence (
+    name     VARCHAR(255) NOT NULL,
+    next_val BIGINT,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO id_sequence (name, next_val) SELECT 'alarm', COALESCE(MAX(id), 0) + 50 FROM alarm;
+INSERT INTO id_sequence (name, next_val) SELECT 'time_slot', COALESCE(MAX(time_slot_id), 0) + 50 FROM time_slot;
+INSERT INTO id_sequence (name, next_val) SELECT 'medicine_record', COALESCE(MAX(id), 0) + 50 FROM medicine_record;
+INSERT INTO id_sequence (name, next_val) SELECT 'diary', COALESCE(MAX(id), 0) + 50 FROM diary;
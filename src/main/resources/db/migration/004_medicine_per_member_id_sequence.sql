@@ -0,0 +1,3 @@
+-- medicine_per_member 도 id_sequence 에서 id 를 받아온다 (처방전 일괄 등록 시 batch INSERT)
+-- 003 과 같이 기존 최대 id + 50(allocationSize) 으로 넣는다.
+INSERT INTO id_sequence (name, next_val) SELECT 'medicine_per_member', COALESCE(MAX(id), 0) + 50 FROM medicine_per_member;
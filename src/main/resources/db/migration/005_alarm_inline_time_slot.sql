@@ -0,0 +1,39 @@
+-- 복용 시간을 alarm 에 직접 저장 (MySQL)
+-- time_slot 행과 medicine_per_member_time_slots 연결 테이블을 없애고 alarm.spinner_time, alarm.picker_time 으로 옮긴다.
+-- 애플리케이션을 내린 상태에서 실행한다.
+ALTER TABLE alarm
+    ADD COLUMN spinner_time VARCHAR(255) NULL,
+    ADD COLUMN picker_time  TIME(6)      NULL;
+
+UPDATE alarm a
+    JOIN time_slot t ON t.time_slot_id = a.time_slot_id
+SET a.spinner_time = t.spinner_time,
+    a.picker_time  = t.picker_time;
+
+-- 복용 시간이 없는 알람은 화면에 나올 수 없으므로 정리한다
+DELETE FROM alarm WHERE picker_time IS NULL;
+
+-- alarm.time_slot_id 외래키는 Hibernate 가 만든 이름이라 information_schema 에서 찾아서 지운다
+SET @fk = (SELECT CONSTRAINT_NAME
+           FROM information_schema.KEY_COLUMN_USAGE
+           WHERE TABLE_SCHEMA = DATABASE()
+             AND TABLE_NAME = 'alarm'
+             AND COLUMN_NAME = 'time_slot_id'
+             AND REFERENCED_TABLE_NAME = 'time_slot'
+           LIMIT 1);
+SET @sql = CONCAT('ALTER TABLE alarm DROP FOREIGN KEY ', @fk);
+PREPARE stmt FROM @sql;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+ALTER TABLE alarm
+    DROP COLUMN time_slot_id,
+    MODIFY spinner_time VARCHAR(255) NOT NULL,
+    MODIFY picker_time  TIME(6)      NOT NULL;
+
+-- findMissedAlarms 용 커버링 인덱스
+CREATE INDEX idx_alarm_missed ON alarm (medicine_per_member_id, is_available, is_eaten, picker_time);
+
+DROP TABLE medicine_per_member_time_slots;
+DROP TABLE time_slot;
+DELETE FROM id_sequence WHERE name = 'time_slot';
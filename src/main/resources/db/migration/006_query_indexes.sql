@@ -0,0 +1,8 @@
+-- 레포지토리 조회 패턴에 맞춘 복합 인덱스 (MySQL)
+-- 엔티티의 @Table(indexes = ...) 와 같은 이름을 쓴다. RepositoryIndexTest 가 풀 스캔 여부를 확인한다.
+CREATE INDEX idx_diary_member_date ON diary (member_id, date);
+CREATE INDEX idx_medicine_record_member_medicine_eaten ON medicine_record (member_id, medicine_id, is_eaten);
+CREATE INDEX idx_medicine_record_member_date ON medicine_record (member_id, date, is_eaten);
+CREATE INDEX idx_medicine_per_member_member_medicine ON medicine_per_member (member_id, medicine_id);
+CREATE INDEX idx_member_email_type ON member (email, type);
+CREATE INDEX idx_member_provider_type ON member (provider_id, type);
@@ -0,0 +1,15 @@
+-- 회원별 하루 일기 하나 (MySQL)
+-- 같은 날 중복된 일기는 가장 최근(id 가 큰) 것만 남기고 지운 뒤 유니크 키를 건다.
+DELETE s
+FROM diary_symptom s
+    JOIN diary d ON d.id = s.diary_id
+    JOIN diary newer ON newer.member_id = d.member_id AND newer.date = d.date AND newer.id > d.id;
+
+DELETE d
+FROM diary d
+    JOIN diary newer ON newer.member_id = d.member_id AND newer.date = d.date AND newer.id > d.id;
+
+-- 006 의 (member_id, date) 인덱스는 유니크 키로 대체한다
+ALTER TABLE diary
+    ADD CONSTRAINT uk_diary_member_date UNIQUE (member_id, date),
+    DROP INDEX idx_diary_member_date;
@@ -0,0 +1,5 @@
+-- 알람별 하루 한 번 복용 기록 (MySQL)
+-- 기존 기록은 alarm_id 가 NULL 이라 유니크 키에 걸리지 않는다.
+ALTER TABLE medicine_record
+    ADD COLUMN alarm_id BIGINT NULL,
+    ADD CONSTRAINT uk_medicine_record_alarm_date UNIQUE (alarm_id, date);
@@ -0,0 +1,3 @@
+-- 낙관적 락 버전 컬럼 (MySQL)
+ALTER TABLE alarm ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE medicine_per_member ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,15 @@
+-- 도메인 이벤트 outbox (MySQL)
+-- 도메인 변경과 같은 트랜잭션에서 INSERT 하고, OutboxPoller 가 발행한 뒤 published_at 을 채운다.
+-- 발행된 지 7일이 지난 행은 OutboxPoller.purge 가 지운다.
+CREATE TABLE outbox_event (
+    id           BIGINT       NOT NULL,
+    type         VARCHAR(40)  NOT NULL,
+    member_id    BIGINT       NOT NULL,
+    payload      TEXT,
+    created_at   DATETIME(6)  NOT NULL,
+    published_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_outbox_event_published_at (published_at, id)
+) ENGINE = InnoDB;
+
+INSERT INTO id_sequence (name, next_val) VALUES ('outbox_event', 50);
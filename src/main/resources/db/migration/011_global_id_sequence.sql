@@ -0,0 +1,9 @@
+-- member, medicine, role, health_term 도 IDENTITY 대신 id_sequence 에서 id 를 받아온다 (GlobalTableGenerator)
+-- 회원 데이터를 여러 샤드에 나눠 저장해도 id 가 겹치지 않아야 하고, 샤드를 옮길 때 id 를 바꾸지 않아야 한다.
+-- id 는 전역 샤드(shard.names 의 첫 번째)의 id_sequence 에서만 받아오므로 이 스크립트는 전역 샤드에서 실행한다.
+-- 003 과 같이 기존 최대 id + 50(allocationSize) 으로 넣는다. 애플리케이션을 내린 상태에서 실행한다.
+-- AUTO_INCREMENT 속성은 남아 있어도 id 를 직접 넣으므로 쓰이지 않는다.
+INSERT INTO id_sequence (name, next_val) SELECT 'member', COALESCE(MAX(id), 0) + 50 FROM member;
+INSERT INTO id_sequence (name, next_val) SELECT 'medicine', COALESCE(MAX(id), 0) + 50 FROM medicine;
+INSERT INTO id_sequence (name, next_val) SELECT 'role', COALESCE(MAX(id), 0) + 50 FROM role;
+INSERT INTO id_sequence (name, next_val) SELECT 'health_term', COALESCE(MAX(id), 0) + 50 FROM health_term;
@@ -0,0 +1,82 @@
+package pillmate.backend.common.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import pillmate.backend.common.exception.errorcode.ErrorCode;
+import pillmate.backend.common.exception.handler.GlobalExceptionAdvice;
+import pillmate.backend.common.exception.response.ExceptionResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+/**
+ * 트랜잭션 없이 aspect 만 붙인 프록시로, 충돌이 나는 횟수를 정해 둔 메소드를 부른다.
+ */
+class OptimisticLockRetryAspectTest {
+    private MeterRegistry meterRegistry;
+    private ConflictingService conflictingService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new ConflictingService());
+        factory.addAspect(new OptimisticLockRetryAspect(meterRegistry));
+        conflictingService = factory.getProxy();
+    }
+
+    @Test
+    @DisplayName("충돌이 재시도 횟수 안에서 풀리면 결과를 돌려주고 충돌/재시도 횟수를 남긴다")
+    void retriesUntilSuccess() {
+        conflictingService.conflicts.set(2);
+
+        assertThat(conflictingService.update()).isEqualTo("updated");
+        assertThat(conflictingService.attempts.get()).isEqualTo(3);
+        assertThat(count("pillmate.optimistic-lock.conflicts")).isEqualTo(2);
+        assertThat(count("pillmate.optimistic-lock.retries")).isEqualTo(2);
+        assertThat(meterRegistry.find("pillmate.optimistic-lock.exhausted").counter()).isNull();
+    }
+
+    @Test
+    @DisplayName("끝까지 충돌하면 MAX_ATTEMPTS 번 실행한 뒤 예외를 던지고, 409 로 응답한다")
+    void exhaustsAndMapsToConflict() {
+        conflictingService.conflicts.set(Integer.MAX_VALUE);
+
+        OptimisticLockingFailureException e = catchThrowableOfType(conflictingService::update, OptimisticLockingFailureException.class);
+
+        assertThat(conflictingService.attempts.get()).isEqualTo(OptimisticLockRetryAspect.MAX_ATTEMPTS);
+        assertThat(count("pillmate.optimistic-lock.conflicts")).isEqualTo(OptimisticLockRetryAspect.MAX_ATTEMPTS);
+        assertThat(count("pillmate.optimistic-lock.retries")).isEqualTo(OptimisticLockRetryAspect.MAX_ATTEMPTS - 1);
+        assertThat(count("pillmate.optimistic-lock.exhausted")).isEqualTo(1);
+
+        ResponseEntity<ExceptionResponse> response = new GlobalExceptionAdvice().handleOptimisticLockingFailureException(e);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().getCode()).isEqualTo(ErrorCode.CONFLICT_CONCURRENT_UPDATE.name());
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("operation", "test.update").counter().count();
+    }
+
+    static class ConflictingService {
+        final AtomicInteger conflicts = new AtomicInteger();
+        final AtomicInteger attempts = new AtomicInteger();
+
+        @RetryOnOptimisticLock("test.update")
+        public String update() {
+            attempts.incrementAndGet();
+            if (conflicts.getAndDecrement() > 0) {
+                throw new OptimisticLockingFailureException("version mismatch");
+            }
+            return "updated";
+        }
+    }
+}
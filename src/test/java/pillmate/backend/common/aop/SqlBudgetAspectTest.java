@@ -0,0 +1,166 @@
+package pillmate.backend.common.aop;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.config.MetricsConfig;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.AlarmService;
+import pillmate.backend.service.dose.DoseEventQueue;
+import pillmate.backend.service.outbox.OutboxService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+@Import({JpaConfig.class, MetricsConfig.class, SqlBudgetAspect.class, AlarmService.class, OutboxService.class,
+        SqlBudgetAspectTest.LazyAlarmReader.class})
+class SqlBudgetAspectTest {
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private LazyAlarmReader lazyAlarmReader;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MedicinePerMemberRepository medicinePerMemberRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private DoseEventQueue doseEventQueue;
+
+    @Test
+    @DisplayName("연관을 함께 읽으면 약 수와 상관없이 상한 안에서 끝난다")
+    void withinBudget() {
+        Member member = saveMemberTaking(10);
+
+        assertThat(alarmService.showAll(member.getId())).hasSize(20);
+    }
+
+    @Test
+    @DisplayName("상한을 넘으면 지연 로딩된 연관 경로와 함께 실패한다")
+    void exceedsBudget() {
+        Member member = saveMemberTaking(4);
+
+        // 알람 조회 1 + 약마다 medicinePerMember, medicine 지연 로딩 2 = 9 > 1
+        assertThatThrownBy(() -> lazyAlarmReader.readNames(member.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("statements = 9")
+                .hasMessageContaining("Alarm.medicinePerMember=4")
+                .hasMessageContaining("Alarm.medicinePerMember.medicine=4");
+    }
+
+    @Test
+    @DisplayName("상한 안이어도 같은 연관을 여러 번 지연 로딩하면 N+1 로 실패한다")
+    void repeatedLoadsWithinBudget() {
+        Member member = saveMemberTaking(2);
+
+        assertThatThrownBy(() -> lazyAlarmReader.readNamesWithLargeBudget(member.getId()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("repeated association loads")
+                .hasMessageContaining("statements = 5")
+                .hasMessageContaining("Alarm.medicinePerMember=2");
+    }
+
+    /**
+     * 약마다 알람 2개씩, 영속성 컨텍스트를 비워서 조회 시 지연 로딩이 일어나게 한다.
+     */
+    private Member saveMemberTaking(int medicineCount) {
+        Member member = memberRepository.save(Member.builder()
+                .email("budget@pillmate.com")
+                .name("budget")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        for (int i = 0; i < medicineCount; i++) {
+            Medicine medicine = medicineRepository.save(Medicine.builder()
+                    .name("약" + i)
+                    .category("두통")
+                    .photo("white")
+                    .build());
+            MedicinePerMember medicinePerMember = medicinePerMemberRepository.save(MedicinePerMember.builder()
+                    .member(member)
+                    .medicine(medicine)
+                    .amount(1)
+                    .times(2)
+                    .day(7)
+                    .created(LocalDate.now())
+                    .build());
+            alarmRepository.saveAll(List.of(
+                    Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("아침", 8)).build(),
+                    Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("저녁", 18)).build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return member;
+    }
+
+    /**
+     * 알람만 읽고 약 정보는 알람마다 지연 로딩한다.
+     */
+    static class LazyAlarmReader {
+        @Autowired
+        private EntityManager entityManager;
+
+        @SqlBudget(1)
+        public List<String> readNames(Long memberId) {
+            return names(memberId);
+        }
+
+        @SqlBudget(100)
+        public List<String> readNamesWithLargeBudget(Long memberId) {
+            return names(memberId);
+        }
+
+        private List<String> names(Long memberId) {
+            return entityManager.createQuery("SELECT a FROM Alarm a WHERE a.medicinePerMember.member.id = :memberId", Alarm.class)
+                    .setParameter("memberId", memberId)
+                    .getResultList().stream()
+                    .map(alarm -> alarm.getMedicinePerMember().getMedicine().getName())
+                    .toList();
+        }
+    }
+
+    private TimeSlot timeSlot(String spinnerTime, int hour) {
+        return TimeSlot.builder()
+                .spinnerTime(spinnerTime)
+                .pickerTime(LocalTime.of(hour, 0))
+                .build();
+    }
+}
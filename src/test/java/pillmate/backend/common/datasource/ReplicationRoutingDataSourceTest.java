@@ -0,0 +1,120 @@
+package pillmate.backend.common.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 내장 H2 두 개를 primary/레플리카로 두고, 어느 쪽에서 읽었는지는 각 DB 에 넣어 둔 이름으로 확인한다.
+ */
+class ReplicationRoutingDataSourceTest {
+    private static final String WHICH = "SELECT name FROM which_db";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        primary = embedded("primary");
+        replica = embedded("replica");
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 레플리카, 쓰기 트랜잭션은 primary 로 간다")
+    void routesByReadOnly() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0 AS Seconds_Behind_Source", 5);
+        monitor.check();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing(monitor));
+
+        assertThat(read(jdbcTemplate, true)).isEqualTo("replica");
+        assertThat(read(jdbcTemplate, false)).isEqualTo("primary");
+        assertThat(meterRegistry.get("pillmate.datasource.connections").tag("route", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("레플리카 지연이 허용치를 넘으면 읽기 전용 트랜잭션도 primary 로 간다")
+    void fallsBackWhenReplicaLags() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 30 AS Seconds_Behind_Source", 5);
+        monitor.check();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing(monitor));
+
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(monitor.getLagSeconds()).isEqualTo(30);
+        assertThat(read(jdbcTemplate, true)).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("레플리카 커넥션을 가져오지 못하면 primary 로 읽고, 다시 확인될 때까지 레플리카를 쓰지 않는다")
+    void fallsBackWhenReplicaIsDown() throws SQLException {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0 AS Seconds_Behind_Source", 5);
+        monitor.check();
+        DataSource unreachable = mock(DataSource.class);
+        when(unreachable.getConnection()).thenThrow(new SQLException("Connection refused"));
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new LazyConnectionDataSourceProxy(
+                new ReplicationRoutingDataSource(primary, unreachable, monitor, meterRegistry)));
+
+        assertThat(read(jdbcTemplate, true)).isEqualTo("primary");
+        assertThat(monitor.isReplicaUsable()).isFalse();
+        assertThat(meterRegistry.get("pillmate.datasource.connections").tag("route", "replica-fallback").counter().count()).isEqualTo(1);
+
+        monitor.check();
+        assertThat(monitor.isReplicaUsable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("PrimaryReadContext 가 지정된 스레드는 읽기 전용 트랜잭션도 primary 로 간다")
+    void routesToPrimaryWhenForced() {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, "SELECT 0 AS Seconds_Behind_Source", 5);
+        monitor.check();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(routing(monitor));
+
+        assertThat(PrimaryReadContext.call(true, () -> read(jdbcTemplate, true))).isEqualTo("primary");
+        assertThat(read(jdbcTemplate, true)).isEqualTo("replica");
+    }
+
+    private DataSource routing(ReplicaLagMonitor monitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicationRoutingDataSource(primary, replica, monitor, meterRegistry));
+    }
+
+    private String read(JdbcTemplate jdbcTemplate, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(WHICH, String.class));
+    }
+
+    private static EmbeddedDatabase embedded(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE which_db (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO which_db (name) VALUES (?)", name);
+        return database;
+    }
+}
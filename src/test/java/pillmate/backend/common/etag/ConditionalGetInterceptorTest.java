@@ -0,0 +1,134 @@
+package pillmate.backend.common.etag;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import pillmate.backend.common.datasource.PrimaryReadContext;
+import pillmate.backend.controller.AlarmController;
+import pillmate.backend.dto.outbox.MemberDataChangedEvent;
+import pillmate.backend.entity.DomainEventType;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 는 HashMap 으로 흉내 낸다. 지역 기억은 끄고(etag.local-ttl-ms=0) 매번 Redis 버전을 본다.
+ */
+class ConditionalGetInterceptorTest {
+    private static final Long MEMBER_ID = 1L;
+
+    private final Map<String, String> redis = new HashMap<>();
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private ResourceVersionStore resourceVersionStore;
+    private ConditionalGetInterceptor interceptor;
+    private HandlerMethod showAlarms;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenAnswer(invocation ->
+                invocation.<List<String>>getArgument(0).stream().map(redis::get).toList());
+        when(valueOperations.get(anyString())).thenAnswer(invocation -> redis.get(invocation.<String>getArgument(0)));
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation ->
+                redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString(), any(Duration.class));
+        doAnswer(invocation -> redis.put(invocation.getArgument(0), invocation.getArgument(1)))
+                .when(valueOperations).set(anyString(), anyString());
+
+        resourceVersionStore = new ResourceVersionStore(stringRedisTemplate, 7, 0);
+        interceptor = new ConditionalGetInterceptor(resourceVersionStore);
+        showAlarms = new HandlerMethod(mock(AlarmController.class), AlarmController.class.getMethod("showAll", Long.class));
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 현재 ETag 와 같으면 핸들러를 실행하지 않고 304 로 응답한다")
+    void notModifiedWhenEtagMatches() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(null), first, showAlarms)).isTrue();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"alarms-1-").endsWith("\"");
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(etag), second, showAlarms)).isFalse();
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("약이 바뀌면 알람 목록 버전이 올라가서 예전 ETag 로는 304 를 받지 못한다")
+    void modifiedAfterWrite() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        interceptor.preHandle(request(null), first, showAlarms);
+        String etag = first.getHeader(HttpHeaders.ETAG);
+
+        resourceVersionStore.onChanged(new MemberDataChangedEvent(MEMBER_ID, DomainEventType.MEDICINE_MODIFIED));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(etag), second, showAlarms)).isTrue();
+        assertThat(second.getStatus()).isEqualTo(200);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+
+        // 모든 회원의 약 이름이 바뀐 경우도 마찬가지
+        String latest = second.getHeader(HttpHeaders.ETAG);
+        resourceVersionStore.onChanged(MemberDataChangedEvent.allMembers(DomainEventType.MEDICINE_MODIFIED));
+        MockHttpServletResponse third = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(latest), third, showAlarms)).isTrue();
+    }
+
+    @Test
+    @DisplayName("ETag 를 붙여 200 으로 응답하는 요청은 요청이 끝날 때까지 primary 에서 읽는다")
+    void readsFromPrimaryWhenEtagIsSent() {
+        MockHttpServletRequest request = request(null);
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, first, showAlarms)).isTrue();
+        assertThat(PrimaryReadContext.isForced()).isTrue();
+        interceptor.afterCompletion(request, first, showAlarms, null);
+        assertThat(PrimaryReadContext.isForced()).isFalse();
+
+        // 304 는 DB 를 읽지 않는다
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request(first.getHeader(HttpHeaders.ETAG)), second, showAlarms)).isFalse();
+        assertThat(PrimaryReadContext.isForced()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 를 쓸 수 없으면 ETag 없이 핸들러가 실행된다")
+    void skipsEtagWhenRedisIsUnavailable() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("\"anything\""), response, showAlarms)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+        assertThat(PrimaryReadContext.isForced()).isFalse();
+    }
+
+    private MockHttpServletRequest request(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/alarms");
+        request.setUserPrincipal(() -> MEMBER_ID.toString());
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+}
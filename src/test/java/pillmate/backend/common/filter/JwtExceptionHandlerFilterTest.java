@@ -0,0 +1,50 @@
+package pillmate.backend.common.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import pillmate.backend.common.exception.BadRequestException;
+import pillmate.backend.common.exception.NotAuthorizedException;
+import pillmate.backend.common.exception.errorcode.ErrorCode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtExceptionHandlerFilterTest {
+    private final JwtExceptionHandlerFilter filter = new JwtExceptionHandlerFilter();
+
+    @Test
+    @DisplayName("인증 실패는 401 과 에러 코드/메시지 JSON 으로 응답한다")
+    void writesUnauthorizedBody() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/main"), response, (request, ignored) -> {
+            throw new NotAuthorizedException(ErrorCode.EXPIRED_TOKEN_VALID_TIME);
+        });
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        JsonNode body = new ObjectMapper().readTree(response.getContentAsByteArray());
+        assertThat(body.get("code").asText()).isEqualTo("EXPIRED_TOKEN_VALID_TIME");
+        assertThat(body.get("message").asText()).isEqualTo(ErrorCode.EXPIRED_TOKEN_VALID_TIME.getMessage());
+        assertThat(response.getContentLength()).isEqualTo(response.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("같은 에러가 반복되어도 매번 같은 본문으로 응답한다")
+    void writesSameBodyForSameError() throws Exception {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        MockHttpServletResponse second = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest(), first, (request, ignored) -> {
+            throw new BadRequestException(ErrorCode.INVALID_TOKEN);
+        });
+        filter.doFilter(new MockHttpServletRequest(), second, (request, ignored) -> {
+            throw new BadRequestException(ErrorCode.INVALID_TOKEN);
+        });
+
+        assertThat(first.getStatus()).isEqualTo(400);
+        assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).contains("INVALID_TOKEN");
+    }
+}
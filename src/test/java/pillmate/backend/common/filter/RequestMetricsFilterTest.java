@@ -0,0 +1,68 @@
+package pillmate.backend.common.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.config.MetricsConfig;
+import pillmate.backend.controller.MainController;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.repository.MedicineRepository;
+
+import java.time.LocalTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, MetricsConfig.class})
+class RequestMetricsFilterTest {
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("컨트롤러 메서드별로 SQL 문 수와 읽어 들인 엔티티 수가 기록된다")
+    void recordsPerHandlerMethod() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            medicineRepository.save(Medicine.builder()
+                    .name("약" + i)
+                    .category("두통")
+                    .photo("white")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestMetricsFilter filter = new RequestMetricsFilter(meterRegistry);
+        HandlerMethod handlerMethod = new HandlerMethod(mock(MainController.class),
+                MainController.class.getMethod("show", Long.class, LocalTime.class));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/main"), new MockHttpServletResponse(), (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handlerMethod);
+            medicineRepository.findAll();
+        });
+
+        assertThat(meterRegistry.get(RequestMetricsFilter.LATENCY).tag("method", "show").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RequestMetricsFilter.SQL_STATEMENTS).tag("controller", "MainController").summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get(RequestMetricsFilter.ROWS_HYDRATED).tag("controller", "MainController").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get(RequestMetricsFilter.REDIS_COMMANDS).summary().totalAmount()).isZero();
+        assertThat(meterRegistry.get(RequestMetricsFilter.ALLOCATED).tag("method", "show").summary().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,50 @@
+package pillmate.backend.common.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardMapTest {
+    private static final int MEMBERS = 30_000;
+
+    @Test
+    @DisplayName("연속된 회원 id 도 샤드마다 고르게 나뉜다")
+    void distributesMembersEvenly() {
+        ShardMap shardMap = new ShardMap(List.of("shard-0", "shard-1", "shard-2"), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+            counts.merge(shardMap.shardOf(memberId), 1, Integer::sum);
+        }
+
+        assertThat(counts).containsOnlyKeys("shard-0", "shard-1", "shard-2");
+        // 기대값 10,000 에서 20% 이내
+        assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(8_000, 12_000));
+        assertThat(shardMap.global()).isEqualTo("shard-0");
+    }
+
+    @Test
+    @DisplayName("샤드를 하나 더하면 새 샤드 몫의 회원만 새 샤드로 옮겨진다")
+    void movesOnlyNewShardShareWhenShardIsAdded() {
+        ShardMap before = new ShardMap(List.of("shard-0", "shard-1", "shard-2"), 128);
+        ShardMap after = new ShardMap(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+        int moved = 0;
+        for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+            String from = before.shardOf(memberId);
+            String to = after.shardOf(memberId);
+            if (!from.equals(to)) {
+                assertThat(to).isEqualTo("shard-3");
+                moved++;
+            }
+        }
+
+        // 기대값 1/4 (7,500) 에서 20% 이내
+        assertThat(moved).isBetween(6_000, 9_000);
+    }
+}
@@ -0,0 +1,156 @@
+package pillmate.backend.common.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 H2 두 개를 샤드로 두고, 옮길 테이블의 키 컬럼만 가진 스키마로 회원 데이터가 따라 옮겨지는지 확인한다.
+ */
+class ShardRebalancerTest {
+    private static final int MEMBERS = 20;
+    private static final List<String> SCHEMA = List.of(
+            "CREATE TABLE medicine (id BIGINT PRIMARY KEY, name VARCHAR(50))",
+            "CREATE TABLE member (id BIGINT PRIMARY KEY, email VARCHAR(50))",
+            "CREATE TABLE role (id BIGINT PRIMARY KEY, member_id BIGINT)",
+            "CREATE TABLE member_disease (member_id BIGINT, disease_id INT)",
+            "CREATE TABLE member_symptom (member_id BIGINT, symptom_id INT)",
+            "CREATE TABLE medicine_per_member (id BIGINT PRIMARY KEY, member_id BIGINT, medicine_id BIGINT)",
+            "CREATE TABLE alarm (id BIGINT PRIMARY KEY, medicine_per_member_id BIGINT)",
+            "CREATE TABLE medicine_record (id BIGINT PRIMARY KEY, member_id BIGINT, medicine_id BIGINT)",
+            "CREATE TABLE diary (id BIGINT PRIMARY KEY, member_id BIGINT)",
+            "CREATE TABLE diary_symptom (diary_id BIGINT, symptom_id INT)",
+            "CREATE TABLE outbox_event (id BIGINT PRIMARY KEY, member_id BIGINT, published_at TIMESTAMP)");
+
+    private EmbeddedDatabase shardA;
+    private EmbeddedDatabase shardB;
+    private ShardRebalancer shardRebalancer;
+
+    @BeforeEach
+    void setUp() {
+        shardA = embedded("shard_a");
+        shardB = embedded("shard_b");
+        Map<String, DataSource> shards = new LinkedHashMap<>();
+        shards.put("a", shardA);
+        shards.put("b", shardB);
+        shardRebalancer = new ShardRebalancer(shards);
+
+        // 샤드가 하나일 때 모든 회원이 a 에 있었다
+        JdbcTemplate a = new JdbcTemplate(shardA);
+        a.update("INSERT INTO medicine VALUES (1, '타이레놀')");
+        for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+            insertMember(a, memberId);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardA.shutdown();
+        shardB.shutdown();
+    }
+
+    @Test
+    @DisplayName("샤드를 더하면 새 샤드가 주인인 회원의 데이터가 모두 옮겨지고, 다시 실행하면 옮길 회원이 없다")
+    void movesMembersToNewOwner() throws SQLException {
+        ShardMap target = new ShardMap(List.of("a", "b"), 128);
+
+        List<ShardRebalancer.Move> moves = shardRebalancer.rebalance(target);
+
+        assertThat(moves).isNotEmpty().allMatch(move -> move.from().equals("a") && move.to().equals("b"));
+        for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+            JdbcTemplate owner = new JdbcTemplate(target.shardOf(memberId).equals("a") ? shardA : shardB);
+            JdbcTemplate other = new JdbcTemplate(target.shardOf(memberId).equals("a") ? shardB : shardA);
+            assertThat(rows(owner, memberId)).containsExactly(1, 1, 1, 1, 1, 2, 1, 1, 1, 2);
+            assertThat(rows(other, memberId)).containsOnly(0);
+        }
+        // 발행되지 않은 이벤트도 주인 샤드로 옮겨져서 그 샤드의 poller 가 발행한다
+        JdbcTemplate b = new JdbcTemplate(shardB);
+        assertThat(b.queryForObject("SELECT COUNT(*) FROM outbox_event WHERE published_at IS NULL", Integer.class))
+                .isEqualTo(moves.size());
+        // 옮긴 회원이 복용하는 약은 b 에도 있어야 한다
+        assertThat(b.queryForObject("SELECT COUNT(*) FROM medicine WHERE id = 1", Integer.class)).isOne();
+        assertThat(shardRebalancer.plan(target)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이전 실행에서 복사만 되고 지우지 못한 회원은 복사본을 지우고 다시 옮긴다")
+    void retriesHalfMovedMember() throws SQLException {
+        ShardMap target = new ShardMap(List.of("a", "b"), 128);
+        long memberId = firstMemberOwnedBy(target, "b");
+        // 원래 샤드에서 지우기 전에 멈춘 상태 (복사본은 일부만 있다)
+        new JdbcTemplate(shardB).update("INSERT INTO member VALUES (?, 'stale')", memberId);
+
+        shardRebalancer.rebalance(target);
+
+        JdbcTemplate b = new JdbcTemplate(shardB);
+        assertThat(rows(b, memberId)).containsExactly(1, 1, 1, 1, 1, 2, 1, 1, 1, 2);
+        assertThat(b.queryForObject("SELECT email FROM member WHERE id = ?", String.class, memberId)).isEqualTo("member" + memberId);
+        assertThat(rows(new JdbcTemplate(shardA), memberId)).containsOnly(0);
+    }
+
+    private long firstMemberOwnedBy(ShardMap shardMap, String shard) {
+        for (long memberId = 1; memberId <= MEMBERS; memberId++) {
+            if (shardMap.shardOf(memberId).equals(shard)) {
+                return memberId;
+            }
+        }
+        throw new IllegalStateException("no member owned by " + shard);
+    }
+
+    // 회원 하나에 복용 약 하나, 알람 둘, 복용 기록/일기 하나씩, 발행된/발행되지 않은 outbox 이벤트 하나씩
+    private void insertMember(JdbcTemplate jdbcTemplate, long memberId) {
+        jdbcTemplate.update("INSERT INTO member VALUES (?, ?)", memberId, "member" + memberId);
+        jdbcTemplate.update("INSERT INTO role VALUES (?, ?)", memberId, memberId);
+        jdbcTemplate.update("INSERT INTO member_disease VALUES (?, 1)", memberId);
+        jdbcTemplate.update("INSERT INTO member_symptom VALUES (?, 2)", memberId);
+        jdbcTemplate.update("INSERT INTO medicine_per_member VALUES (?, ?, 1)", memberId, memberId);
+        jdbcTemplate.update("INSERT INTO alarm VALUES (?, ?)", memberId * 10, memberId);
+        jdbcTemplate.update("INSERT INTO alarm VALUES (?, ?)", memberId * 10 + 1, memberId);
+        jdbcTemplate.update("INSERT INTO medicine_record VALUES (?, ?, 1)", memberId, memberId);
+        jdbcTemplate.update("INSERT INTO diary VALUES (?, ?)", memberId, memberId);
+        jdbcTemplate.update("INSERT INTO diary_symptom VALUES (?, 2)", memberId);
+        jdbcTemplate.update("INSERT INTO outbox_event VALUES (?, ?, CURRENT_TIMESTAMP)", memberId * 10, memberId);
+        jdbcTemplate.update("INSERT INTO outbox_event VALUES (?, ?, NULL)", memberId * 10 + 1, memberId);
+    }
+
+    private List<Integer> rows(JdbcTemplate jdbcTemplate, long memberId) {
+        return List.of(
+                count(jdbcTemplate, "SELECT COUNT(*) FROM member WHERE id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM role WHERE member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM member_disease WHERE member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM member_symptom WHERE member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM medicine_per_member WHERE member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM alarm WHERE medicine_per_member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM medicine_record WHERE member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM diary WHERE member_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM diary_symptom WHERE diary_id = ?", memberId),
+                count(jdbcTemplate, "SELECT COUNT(*) FROM outbox_event WHERE member_id = ?", memberId));
+    }
+
+    private int count(JdbcTemplate jdbcTemplate, String sql, long memberId) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, memberId);
+    }
+
+    private EmbeddedDatabase embedded(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        SCHEMA.forEach(jdbcTemplate::execute);
+        return database;
+    }
+}
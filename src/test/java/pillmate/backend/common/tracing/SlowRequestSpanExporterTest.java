@@ -0,0 +1,58 @@
+package pillmate.backend.common.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SlowRequestSpanExporterTest {
+    private final SlowRequestSpanExporter exporter = new SlowRequestSpanExporter(Duration.ofMillis(500), 2, 10);
+    private final Tracer tracer = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build()
+            .get("test");
+
+    @Test
+    @DisplayName("느린 요청은 같은 이름의 하위 span 을 합쳐서 오래 걸린 순으로 남긴다")
+    void summarizesTopSpansOfSlowRequest() {
+        long start = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        Span root = tracer.spanBuilder("http get /api/v1/main").setNoParent()
+                .setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan();
+        Context parent = Context.root().with(root);
+        child("MedicineRecordRepository.countByMemberIdAndMedicineIdAndIsEatenTrue", parent, start, 100);
+        child("MedicineRecordRepository.countByMemberIdAndMedicineIdAndIsEatenTrue", parent, start, 150);
+        child("AlarmRepository.findAllByMemberId", parent, start, 200);
+        child("get", parent, start, 10);
+        root.end(start + TimeUnit.MILLISECONDS.toNanos(900), TimeUnit.NANOSECONDS);
+
+        tracer.spanBuilder("http get /api/v1/alarms").setNoParent()
+                .setStartTimestamp(start, TimeUnit.NANOSECONDS).startSpan()
+                .end(start + TimeUnit.MILLISECONDS.toNanos(100), TimeUnit.NANOSECONDS);
+
+        assertThat(exporter.recentSlowRequests()).singleElement().satisfies(slowRequest -> {
+            assertThat(slowRequest.name()).isEqualTo("http get /api/v1/main");
+            assertThat(slowRequest.durationMillis()).isEqualTo(900);
+            assertThat(slowRequest.topSpans())
+                    .extracting(SlowRequestSpanExporter.SpanSummary::name, SlowRequestSpanExporter.SpanSummary::count,
+                            SlowRequestSpanExporter.SpanSummary::totalMillis)
+                    .containsExactly(
+                            tuple("MedicineRecordRepository.countByMemberIdAndMedicineIdAndIsEatenTrue", 2, 250L),
+                            tuple("AlarmRepository.findAllByMemberId", 1, 200L));
+        });
+    }
+
+    private void child(String name, Context parent, long startNanos, long durationMillis) {
+        tracer.spanBuilder(name).setParent(parent)
+                .setStartTimestamp(startNanos, TimeUnit.NANOSECONDS).startSpan()
+                .end(startNanos + TimeUnit.MILLISECONDS.toNanos(durationMillis), TimeUnit.NANOSECONDS);
+    }
+}
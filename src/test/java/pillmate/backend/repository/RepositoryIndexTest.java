@@ -0,0 +1,173 @@
+package pillmate.backend.repository;
+
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.entity.HealthTermType;
+import pillmate.backend.entity.member.MemberType;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 레포지토리 조회 쿼리를 실제로 실행해서 SQL 을 잡고, H2(MySQL 모드) EXPLAIN 결과에 풀 스캔이 있으면 실패한다.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, RepositoryIndexTest.CaptureConfig.class})
+class RepositoryIndexTest {
+    private static final Pattern TABLE_SCAN = Pattern.compile("(\\w+)\\.tableScan", Pattern.CASE_INSENSITIVE);
+    private static final List<QueryInfo> captured = new ArrayList<>();
+    private static volatile boolean capturing = false;
+
+    private static final Long MEMBER_ID = 1L;
+    private static final Long MEDICINE_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private MedicineRecordRepository medicineRecordRepository;
+
+    @Autowired
+    private MedicinePerMemberRepository medicinePerMemberRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private HealthTermRepository healthTermRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    @DisplayName("회원/약/날짜 조건 조회는 모두 인덱스를 탄다")
+    void repositoryQueriesUseIndexes() {
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("AlarmRepository.findAllByMemberId", () -> alarmRepository.findAllByMemberId(MEMBER_ID));
+        queries.put("AlarmRepository.findAllByMemberIdAndMedicineName", () -> alarmRepository.findAllByMemberIdAndMedicineName(MEMBER_ID, "타이레놀"));
+        queries.put("AlarmRepository.findAllByMedicinePerMemberId", () -> alarmRepository.findAllByMedicinePerMemberId(1L));
+        queries.put("AlarmRepository.findByMemberIdAndMedicineIdAndTime", () -> alarmRepository.findByMemberIdAndMedicineIdAndTime(MEMBER_ID, MEDICINE_ID, LocalTime.of(8, 0)));
+        queries.put("AlarmRepository.findMissedAlarms", () -> alarmRepository.findMissedAlarms(MEMBER_ID, LocalTime.of(12, 0)));
+        queries.put("DiaryRepository.findByMemberIdAndAndDate", () -> diaryRepository.findByMemberIdAndAndDate(MEMBER_ID, TODAY));
+        queries.put("DiaryRepository.findDiariesByMemberIdAndDateRange", () -> diaryRepository.findDiariesByMemberIdAndDateRange(MEMBER_ID, TODAY.minusDays(30), TODAY));
+        queries.put("MedicineRecordRepository.countEatenDates", () -> medicineRecordRepository.countEatenDates(MEMBER_ID, TODAY.minusDays(30), TODAY, 2L));
+        queries.put("MedicineRecordRepository.countEatenPerMedicine", () -> medicineRecordRepository.countEatenPerMedicine(MEMBER_ID));
+        queries.put("MedicineRecordRepository.findAllByMemberAndDateBetween", () -> medicineRecordRepository.findAllByMemberAndDateBetween(MEMBER_ID, TODAY.minusDays(30), TODAY));
+        queries.put("MedicineRecordRepository.existsByAlarmIdAndDate", () -> medicineRecordRepository.existsByAlarmIdAndDate(1L, TODAY));
+        queries.put("MedicineRecordRepository.findAllByAlarmIdInAndDateIn", () -> medicineRecordRepository.findAllByAlarmIdInAndDateIn(List.of(1L, 2L), List.of(TODAY)));
+        queries.put("MedicinePerMemberRepository.findAllByMemberId", () -> medicinePerMemberRepository.findAllByMemberId(MEMBER_ID));
+        queries.put("MedicinePerMemberRepository.findByMemberIdAndMedicineId", () -> medicinePerMemberRepository.findByMemberIdAndMedicineId(MEMBER_ID, MEDICINE_ID));
+        queries.put("MedicineRepository.findByName", () -> medicineRepository.findByName("타이레놀"));
+        queries.put("MedicineRepository.findAllByNameIn", () -> medicineRepository.findAllByNameIn(List.of("타이레놀", "게보린")));
+        queries.put("MemberRepository.findByEmail", () -> memberRepository.findByEmail("test@pillmate.com"));
+        queries.put("MemberRepository.findByEmailAndType", () -> memberRepository.findByEmailAndType("test@pillmate.com", MemberType.DEFAULT));
+        queries.put("MemberRepository.findByProviderIdAndType", () -> memberRepository.findByProviderIdAndType(1L, MemberType.KAKAO));
+        queries.put("MemberRepository.existsByProviderIdAndType", () -> memberRepository.existsByProviderIdAndType(1L, MemberType.KAKAO));
+        queries.put("MemberRepository.existsByEmailAndType", () -> memberRepository.existsByEmailAndType("test@pillmate.com", MemberType.DEFAULT));
+        queries.put("HealthTermRepository.findAllByTypeAndNameIn", () -> healthTermRepository.findAllByTypeAndNameIn(HealthTermType.SYMPTOM, List.of("두통")));
+
+        // 약 전체 개수는 countEatenDates 밖에서 전역 샤드의 카탈로그로 세므로 풀 스캔을 허용하는 쿼리가 없다
+        Map<String, Set<String>> allowedScans = Map.of();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        List<String> fullScans = new ArrayList<>();
+        queries.forEach((name, query) -> {
+            for (QueryInfo queryInfo : capture(query)) {
+                String plan = String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + queryInfo.getQuery(), String.class, parameters(queryInfo)));
+                Matcher matcher = TABLE_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    String table = matcher.group(1).toLowerCase();
+                    if (!allowedScans.getOrDefault(name, Set.of()).contains(table)) {
+                        fullScans.add(name + " -> " + table + "\n" + plan);
+                    }
+                }
+            }
+        });
+
+        assertThat(fullScans).isEmpty();
+    }
+
+    private List<QueryInfo> capture(Runnable query) {
+        synchronized (captured) {
+            captured.clear();
+        }
+        capturing = true;
+        try {
+            query.run();
+        } finally {
+            capturing = false;
+        }
+        synchronized (captured) {
+            return captured.stream()
+                    .filter(queryInfo -> queryInfo.getQuery().trim().toLowerCase().startsWith("select"))
+                    .toList();
+        }
+    }
+
+    private Object[] parameters(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return new Object[0];
+        }
+        return queryInfo.getParametersList().get(0).stream()
+                .sorted(Comparator.comparingInt(operation -> (Integer) operation.getArgs()[0]))
+                .map(operation -> operation.getMethod().getName().equals("setNull") ? null : operation.getArgs()[1])
+                .toArray();
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        static BeanPostProcessor queryCapturingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource)
+                                .afterQuery((execInfo, queryInfoList) -> {
+                                    if (capturing) {
+                                        synchronized (captured) {
+                                            captured.addAll(queryInfoList);
+                                        }
+                                    }
+                                })
+                                .build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package pillmate.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.dto.alarm.AlarmInfo;
+import pillmate.backend.dto.alarm.ScheduleChangedEvent;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.repository.OutboxEventRepository;
+import pillmate.backend.service.dose.DoseEventQueue;
+import pillmate.backend.service.outbox.OutboxService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, AlarmService.class, OutboxService.class})
+class AlarmServiceTest {
+    @Autowired
+    private AlarmService alarmService;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MedicinePerMemberRepository medicinePerMemberRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Redis 없이 실행 (아직 기록되지 않은 복용은 없다고 본다)
+    @MockBean
+    private DoseEventQueue doseEventQueue;
+
+    @Test
+    @DisplayName("복용 시간 변경 시 pickerTime 이 같은 알람은 유지하고, 빠진 시간의 알람은 삭제한다")
+    void updateTimeByPickerTime() {
+        Member member = memberRepository.save(Member.builder()
+                .email("alarm@pillmate.com")
+                .name("alarm")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        Medicine medicine = medicineRepository.save(Medicine.builder()
+                .name("타이레놀")
+                .category("두통")
+                .photo("white")
+                .build());
+        MedicinePerMember medicinePerMember = MedicinePerMember.builder()
+                .member(member)
+                .medicine(medicine)
+                .amount(1)
+                .times(4)
+                .day(7)
+                .build();
+        medicinePerMemberRepository.save(medicinePerMember);
+        alarmRepository.saveAll(Stream.of(timeSlot("아침", 8), timeSlot("점심", 12), timeSlot("저녁", 18), timeSlot("자기 전", 22))
+                .map(timeSlot -> Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot).build())
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        MedicinePerMember found = medicinePerMemberRepository.findById(medicinePerMember.getId()).orElseThrow();
+        List<Alarm> before = alarmRepository.findAllByMedicinePerMemberId(found.getId());
+        Long morningAlarmId = before.stream()
+                .filter(alarm -> alarm.getTimeSlot().getPickerTime().equals(LocalTime.of(8, 0)))
+                .findFirst().orElseThrow().getId();
+
+        ScheduleChangedEvent event = alarmService.updateTime(found, List.of(timeSlot("기상 후", 8), timeSlot("점심 후", 13)));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(event.added()).containsExactly(LocalTime.of(13, 0));
+        assertThat(event.updated()).containsExactly(LocalTime.of(8, 0));
+        assertThat(event.removed()).containsExactlyInAnyOrder(LocalTime.of(12, 0), LocalTime.of(18, 0), LocalTime.of(22, 0));
+        // 변경 내용은 outbox 로만 나간다
+        assertThat(outboxEventRepository.findAll())
+                .filteredOn(outboxEvent -> member.getId().equals(outboxEvent.getMemberId()))
+                .extracting(outboxEvent -> outboxEvent.getType())
+                .containsExactly(DomainEventType.SCHEDULE_CHANGED);
+
+        List<Alarm> after = alarmRepository.findAllByMedicinePerMemberId(found.getId());
+        assertThat(after).extracting(alarm -> alarm.getTimeSlot().getPickerTime())
+                .containsExactlyInAnyOrder(LocalTime.of(8, 0), LocalTime.of(13, 0));
+        assertThat(after).filteredOn(alarm -> alarm.getId().equals(morningAlarmId))
+                .extracting(alarm -> alarm.getTimeSlot().getSpinnerTime())
+                .containsExactly("기상 후");
+    }
+
+    @Test
+    @DisplayName("스트리밍 목록은 List 목록과 같은 알람을 같은 순서로 돌려준다")
+    void streamAllMatchesShowAll() {
+        Member member = memberRepository.save(Member.builder()
+                .email("stream@pillmate.com")
+                .name("stream")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        for (int i = 0; i < 3; i++) {
+            Medicine medicine = medicineRepository.save(Medicine.builder()
+                    .name("약" + i)
+                    .category("두통")
+                    .photo("white")
+                    .build());
+            // 두 번째 약은 복용 기간이 끝나서 목록에서 빠진다
+            MedicinePerMember medicinePerMember = medicinePerMemberRepository.save(MedicinePerMember.builder()
+                    .member(member)
+                    .medicine(medicine)
+                    .amount(1)
+                    .times(2)
+                    .day(7)
+                    .created(i == 1 ? LocalDate.now().minusDays(10) : LocalDate.now())
+                    .build());
+            alarmRepository.saveAll(List.of(
+                    Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("저녁", 18 + i)).build(),
+                    Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("아침", 8 + i)).build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AlarmInfo> expected = alarmService.showAll(member.getId());
+        entityManager.clear();
+        List<AlarmInfo> streamed;
+        try (Stream<AlarmInfo> stream = alarmService.streamAll(member.getId())) {
+            streamed = stream.toList();
+        }
+
+        // TimeSlot 은 equals 가 없으므로 필드 값으로 비교한다
+        assertThat(streamed).hasSize(4).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+        assertThat(streamed).extracting(alarmInfo -> alarmInfo.getTimeSlot().getPickerTime())
+                .containsExactly(LocalTime.of(8, 0), LocalTime.of(10, 0), LocalTime.of(18, 0), LocalTime.of(20, 0));
+    }
+
+    private TimeSlot timeSlot(String spinnerTime, int hour) {
+        return TimeSlot.builder()
+                .spinnerTime(spinnerTime)
+                .pickerTime(LocalTime.of(hour, 0))
+                .build();
+    }
+}
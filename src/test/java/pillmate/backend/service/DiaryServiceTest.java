@@ -0,0 +1,71 @@
+package pillmate.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.diary.CreateDiaryRequest;
+import pillmate.backend.dto.diary.CreateDiaryResponse;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.repository.DiaryRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.outbox.OutboxService;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// create 는 INSERT 와 수정을 각자 커밋하므로 테스트 트랜잭션 없이 실행한다
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, ShardTemplate.class, DiaryService.class, HealthTermService.class, PainTrendService.class, OutboxService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DiaryServiceTest {
+    @Autowired
+    private DiaryService diaryService;
+
+    @Autowired
+    private DiaryRepository diaryRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Test
+    @DisplayName("같은 날 일기를 두 번 작성하면 새로 만들지 않고 기존 일기를 수정한다")
+    void createTwiceOnSameDay() {
+        Member member = memberRepository.save(Member.builder()
+                .email("diary@pillmate.com")
+                .name("diary")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        LocalDate date = LocalDate.of(2024, 6, 1);
+
+        CreateDiaryResponse first = diaryService.create(member.getId(), diaryRequest(date, 3, "두통"));
+        CreateDiaryResponse second = diaryService.create(member.getId(), diaryRequest(date, 7, "어지러움"));
+
+        assertThat(second.getDiaryId()).isEqualTo(first.getDiaryId());
+        assertThat(diaryRepository.findDiariesByMemberIdAndDateRange(member.getId(), date, date))
+                .singleElement()
+                .satisfies(diary -> assertThat(diary.getScore()).isEqualTo(7));
+    }
+
+    private CreateDiaryRequest diaryRequest(LocalDate date, int score, String symptom) {
+        return CreateDiaryRequest.builder()
+                .date(date)
+                .symptom(List.of(symptom))
+                .score(score)
+                .record("기록")
+                .build();
+    }
+}
@@ -0,0 +1,98 @@
+package pillmate.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Redis 는 HashMap 으로 흉내 내고, 트랜잭션은 동기화만 켜서 커밋/롤백 콜백을 직접 부른다.
+ */
+class DoseIdempotencyServiceTest {
+    private static final Long ALARM_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 1);
+
+    private final Map<String, String> redis = new HashMap<>();
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+
+    private DoseIdempotencyService doseIdempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenAnswer(invocation ->
+                redis.putIfAbsent(invocation.getArgument(0), invocation.getArgument(1)) == null);
+        when(stringRedisTemplate.delete(anyString())).thenAnswer(invocation -> redis.remove(invocation.<String>getArgument(0)) != null);
+        doseIdempotencyService = new DoseIdempotencyService(stringRedisTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 알람/날짜로 다시 요청하면 기록하지 않는다")
+    void secondAcquireIsNoOp() {
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isTrue();
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isFalse();
+        // 다른 날은 따로 기록한다
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY.plusDays(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백되면 키를 지워서 재시도가 기록될 수 있다")
+    void releasesKeyOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isTrue();
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(redis).isEmpty();
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isTrue();
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 커밋되면 키가 남아서 재시도를 막는다")
+    void keepsKeyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isTrue();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Redis 를 쓸 수 없으면 매번 기록을 허용하고, 중복은 db 유니크 키가 막는다")
+    void allowsWhenRedisIsUnavailable() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isTrue();
+        assertThat(doseIdempotencyService.acquire(ALARM_ID, TODAY)).isTrue();
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,132 @@
+package pillmate.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.member.DiseaseInfo;
+import pillmate.backend.entity.HealthTerm;
+import pillmate.backend.entity.HealthTermType;
+import pillmate.backend.entity.member.Disease;
+import pillmate.backend.repository.HealthTermRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 사전 테이블은 리스트로 흉내 내고, 샤딩은 끈 채로 (전역 샤드 = 단일 샤드) 실행한다.
+ */
+class HealthTermServiceTest {
+    private final List<HealthTerm> table = new ArrayList<>();
+    private final HealthTermRepository healthTermRepository = mock(HealthTermRepository.class);
+
+    private HealthTermService healthTermService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(healthTermRepository.findAllByTypeAndNameIn(any(), anyCollection())).thenAnswer(invocation -> {
+            HealthTermType type = invocation.getArgument(0);
+            Collection<String> names = invocation.getArgument(1);
+            return table.stream().filter(term -> term.getType() == type && names.contains(term.getName())).toList();
+        });
+        when(healthTermRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Integer> ids = invocation.getArgument(0);
+            List<HealthTerm> found = new ArrayList<>();
+            ids.forEach(id -> table.stream().filter(term -> term.getId().equals(id)).forEach(found::add));
+            return found;
+        });
+        when(healthTermRepository.saveAndFlush(any())).thenAnswer(invocation -> register(invocation.<HealthTerm>getArgument(0).getType(),
+                invocation.<HealthTerm>getArgument(0).getName()));
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        healthTermService = new HealthTermService(healthTermRepository, transactionManager,
+                new ShardTemplate(List.of(), 128, transactionManager));
+    }
+
+    @Test
+    @DisplayName("입력 순서대로 id 를 돌려주고, 공백/중복 이름은 빼며 사전에 없는 이름만 등록한다")
+    void internKeepsOrderAndDeduplicates() {
+        Integer headache = register(HealthTermType.SYMPTOM, "두통").getId();
+
+        List<Integer> ids = healthTermService.intern(HealthTermType.SYMPTOM, Arrays.asList("복통", " 두통 ", "", null, "두통", "복통"));
+
+        assertThat(ids).hasSize(2);
+        assertThat(ids.get(1)).isEqualTo(headache);
+        assertThat(healthTermService.getNames(ids)).containsExactly("복통", "두통");
+        verify(healthTermRepository, times(1)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("한 번 찾은 이름은 메모리에서 꺼내고 DB 를 다시 조회하지 않는다")
+    void readsThroughOnce() {
+        register(HealthTermType.DISEASE, "고혈압");
+
+        Integer first = healthTermService.intern(HealthTermType.DISEASE, "고혈압");
+        Integer second = healthTermService.intern(HealthTermType.DISEASE, "고혈압");
+        healthTermService.getName(first);
+
+        assertThat(second).isEqualTo(first);
+        verify(healthTermRepository, times(1)).findAllByTypeAndNameIn(any(), anyCollection());
+        verify(healthTermRepository, never()).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("같은 이름이 다른 서버에서 먼저 등록되면 유니크 키 충돌 후 먼저 등록된 id 를 쓴다")
+    void usesConcurrentlyRegisteredTerm() {
+        doAnswer(invocation -> {
+            // 조회와 INSERT 사이에 다른 서버가 등록했다
+            register(HealthTermType.SYMPTOM, "어지럼증");
+            throw new DataIntegrityViolationException("uk_health_term_type_name");
+        }).when(healthTermRepository).saveAndFlush(any());
+
+        Integer id = healthTermService.intern(HealthTermType.SYMPTOM, "어지럼증");
+
+        assertThat(id).isEqualTo(table.get(0).getId());
+        assertThat(table).hasSize(1);
+        assertThat(healthTermService.getName(id)).isEqualTo("어지럼증");
+    }
+
+    @Test
+    @DisplayName("질병 목록은 이름이 빈 항목을 빼고 시작일과 함께 사전 id 로 바꾼다")
+    void toDiseasesDropsBlankNames() {
+        LocalDate startDate = LocalDate.of(2024, 6, 1);
+
+        List<Disease> diseases = healthTermService.toDiseases(List.of(
+                DiseaseInfo.builder().disease("당뇨").startDate(startDate).build(),
+                DiseaseInfo.builder().disease("  ").startDate(startDate).build(),
+                DiseaseInfo.builder().startDate(startDate).build()));
+
+        assertThat(diseases).hasSize(1);
+        assertThat(diseases.get(0).getStartDate()).isEqualTo(startDate);
+        assertThat(healthTermService.toDiseaseInfos(diseases))
+                .extracting(DiseaseInfo::getDisease)
+                .containsExactly("당뇨");
+        assertThat(healthTermService.toDiseases(null)).isNull();
+    }
+
+    private HealthTerm register(HealthTermType type, String name) {
+        HealthTerm term = HealthTerm.builder()
+                .id(table.size() + 1)
+                .type(type)
+                .name(name)
+                .build();
+        table.add(term);
+        return term;
+    }
+}
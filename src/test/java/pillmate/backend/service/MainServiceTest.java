@@ -0,0 +1,128 @@
+package pillmate.backend.service;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.dto.main.MainResponse;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.MedicineRecord;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.dose.DoseEventQueue;
+import pillmate.backend.service.outbox.OutboxService;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, MainService.class, AlarmService.class, OutboxService.class})
+class MainServiceTest {
+    @Autowired
+    private MainService mainService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MedicinePerMemberRepository medicinePerMemberRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private MedicineRecordRepository medicineRecordRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private DoseEventQueue doseEventQueue;
+
+    @Test
+    @DisplayName("아직 db 에 기록되지 않은 오늘 복용도 복용률에 넣고, 이미 기록된 복용은 두 번 세지 않는다")
+    void adherenceIncludesPendingDoses() {
+        Member member = memberRepository.save(Member.builder()
+                .email("main@pillmate.com")
+                .name("main")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        // 타이레놀: 하루 2번 x 10일 = 20번, 게보린: 하루 1번 x 10일 = 10번
+        MedicinePerMember tylenol = saveMedicine(member, "타이레놀", 2);
+        MedicinePerMember geborin = saveMedicine(member, "게보린", 1);
+        Alarm tylenolMorning = saveAlarm(tylenol, 8);
+        saveAlarm(tylenol, 20);
+        Alarm geborinMorning = saveAlarm(geborin, 8);
+        // 타이레놀 아침은 이미 기록됐고, 게보린 아침은 아직 큐에 있다
+        medicineRecordRepository.save(MedicineRecord.builder()
+                .member(member)
+                .medicine(tylenol.getMedicine())
+                .alarmId(tylenolMorning.getId())
+                .date(LocalDate.now())
+                .time(LocalTime.of(8, 0))
+                .isEaten(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        given(doseEventQueue.findTakenAlarmIds(any(), any())).willReturn(Set.of(tylenolMorning.getId(), geborinMorning.getId()));
+
+        MainResponse response = mainService.show(member.getId(), LocalTime.of(9, 0));
+
+        // 게보린 1/10 > 타이레놀 1/20
+        assertThat(response.getBestRecord().getName()).isEqualTo("게보린");
+        assertThat(response.getBestRecord().getTaken()).isEqualTo(1);
+        assertThat(response.getWorstRecord().getName()).isEqualTo("타이레놀");
+        assertThat(response.getWorstRecord().getTaken()).isEqualTo(1);
+    }
+
+    private MedicinePerMember saveMedicine(Member member, String name, int times) {
+        Medicine medicine = medicineRepository.save(Medicine.builder()
+                .name(name)
+                .category("두통")
+                .photo("white")
+                .build());
+        return medicinePerMemberRepository.save(MedicinePerMember.builder()
+                .member(member)
+                .medicine(medicine)
+                .amount(1)
+                .times(times)
+                .day(10)
+                .created(LocalDate.now())
+                .build());
+    }
+
+    private Alarm saveAlarm(MedicinePerMember medicinePerMember, int hour) {
+        return alarmRepository.save(Alarm.builder()
+                .medicinePerMember(medicinePerMember)
+                .timeSlot(TimeSlot.builder()
+                        .spinnerTime(hour < 12 ? "아침" : "저녁")
+                        .pickerTime(LocalTime.of(hour, 0))
+                        .build())
+                .build());
+    }
+}
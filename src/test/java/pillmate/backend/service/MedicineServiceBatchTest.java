@@ -0,0 +1,234 @@
+package pillmate.backend.service;
+
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.exception.BadRequestException;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.medicine.AddRequest;
+import pillmate.backend.dto.medicine.MedicineInfo;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.service.catalog.MedicineCatalogService;
+import pillmate.backend.service.dose.DoseEventQueue;
+import pillmate.backend.service.outbox.OutboxService;
+
+import javax.sql.DataSource;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, ShardTemplate.class, MedicineServiceBatchTest.QueryCountConfig.class, MedicineService.class,
+        AlarmService.class, PainTrendService.class, MedicineCatalogService.class})
+class MedicineServiceBatchTest {
+    @Autowired
+    private MedicineService medicineService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    // Redis 없이 실행 (복용 기록은 이 테스트 대상이 아니다)
+    @MockBean
+    private DoseIdempotencyService doseIdempotencyService;
+
+    @MockBean
+    private DoseEventQueue doseEventQueue;
+
+    // outbox INSERT 는 batch 측정에서 제외한다
+    @MockBean
+    private OutboxService outboxService;
+
+    @Test
+    @DisplayName("하루 4번 복용하는 약을 추가해도 Alarm INSERT 는 batch 한 번으로 나간다")
+    void addFourTimesADayPrescriptionInBatches() {
+        Member member = memberRepository.save(Member.builder()
+                .email("batch@pillmate.com")
+                .name("batch")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+
+        // id_sequence 에서 첫 id 블록을 받아오는 쿼리는 측정에서 제외한다
+        medicineService.add(member.getId(), fourTimesADay("타이레놀"));
+        entityManager.flush();
+        entityManager.clear();
+
+        QueryCountHolder.clear();
+        medicineService.add(member.getId(), fourTimesADay("게보린"));
+        entityManager.flush();
+        QueryCount count = QueryCountHolder.getGrandTotal();
+
+        // SELECT 3 (medicine, member, medicine_per_member) + INSERT 1 (medicine)
+        // + batch 2 (medicine_per_member, alarm)
+        assertThat(count.getInsert()).isEqualTo(3);
+        assertThat(count.getSuccess() + count.getFailure()).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("처방전 일괄 등록은 약 개수와 상관없이 같은 횟수의 쿼리로 저장된다")
+    void addWholePrescriptionInBatches() {
+        Member member = memberRepository.save(Member.builder()
+                .email("prescription@pillmate.com")
+                .name("prescription")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+
+        medicineService.add(member.getId(), fourTimesADay("타이레놀"));
+        List.of("게보린", "판콜", "베아제").forEach(name -> medicineRepository.save(Medicine.builder()
+                .name(name)
+                .category("감기")
+                .photo("white")
+                .build()));
+        entityManager.flush();
+        entityManager.clear();
+
+        // 약은 모두 db 에 있으므로 SELECT 3 + batch 2 (medicine_per_member, alarm)
+        QueryCountHolder.clear();
+        medicineService.addAll(member.getId(), List.of(
+                fourTimesADay("게보린"), fourTimesADay("판콜"), fourTimesADay("베아제")));
+        entityManager.flush();
+        QueryCount count = QueryCountHolder.getGrandTotal();
+
+        assertThat(count.getInsert()).isEqualTo(2);
+        assertThat(count.getSuccess() + count.getFailure()).isLessThanOrEqualTo(5);
+        assertThat(alarmRepository.findAll()).hasSize(16);
+    }
+
+    @Test
+    @DisplayName("이미 복용 중인 약이 처방전에 있으면 처방전 전체를 거절한다")
+    void rejectPrescriptionWithTakingMedicine() {
+        Member member = memberRepository.save(Member.builder()
+                .email("duplicate@pillmate.com")
+                .name("duplicate")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        medicineService.add(member.getId(), fourTimesADay("타이레놀"));
+
+        assertThatThrownBy(() -> medicineService.addAll(member.getId(), List.of(
+                fourTimesADay("게보린"), fourTimesADay("타이레놀"))))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    @DisplayName("약 목록은 List 로 받든 스트리밍으로 받든 같은 순서다")
+    void showAllMatchesStreamAll() {
+        Member member = memberRepository.save(Member.builder()
+                .email("order@pillmate.com")
+                .name("order")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        // Java 문자열 비교(B < a < 가)와 DB 정렬 규칙이 다를 수 있는 이름들
+        medicineService.addAll(member.getId(), List.of(
+                fourTimesADay("가스활명수"), fourTimesADay("Bufferin"), fourTimesADay("aspirin")));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<MedicineInfo> expected = medicineService.showAll(member.getId());
+
+        try (Stream<MedicineInfo> stream = medicineService.streamAll(member.getId())) {
+            assertThat(stream.toList())
+                    .extracting(MedicineInfo::getName)
+                    .containsExactlyElementsOf(expected.stream().map(MedicineInfo::getName).toList());
+        }
+        assertThat(expected).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("약 목록은 약 수와 상관없이 한 번의 쿼리로 투여시간대까지 읽는다")
+    void showAllReadsTimeSlotsInOneQuery() {
+        Member member = memberRepository.save(Member.builder()
+                .email("list@pillmate.com")
+                .name("list")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        medicineService.addAll(member.getId(), List.of(
+                fourTimesADay("게보린"), fourTimesADay("판콜"), fourTimesADay("베아제")));
+        entityManager.flush();
+        entityManager.clear();
+
+        QueryCountHolder.clear();
+        List<MedicineInfo> medicines = medicineService.showAll(member.getId());
+
+        assertThat(QueryCountHolder.getGrandTotal().getSelect()).isEqualTo(1);
+        assertThat(medicines).hasSize(3)
+                .allSatisfy(medicine -> assertThat(medicine.getTimeSlotList())
+                        .extracting(TimeSlot::getPickerTime)
+                        .containsExactly(LocalTime.of(8, 0), LocalTime.of(12, 0), LocalTime.of(18, 0), LocalTime.of(22, 0)));
+    }
+
+    private AddRequest fourTimesADay(String medicineName) {
+        return AddRequest.builder()
+                .medicineName(medicineName)
+                .disease("두통")
+                .amount(1)
+                .timesPerDay(4)
+                .day(7)
+                .timeSlotList(List.of(
+                        timeSlot("아침", LocalTime.of(8, 0)),
+                        timeSlot("점심", LocalTime.of(12, 0)),
+                        timeSlot("저녁", LocalTime.of(18, 0)),
+                        timeSlot("자기 전", LocalTime.of(22, 0))))
+                .build();
+    }
+
+    private TimeSlot timeSlot(String spinnerTime, LocalTime pickerTime) {
+        return TimeSlot.builder()
+                .spinnerTime(spinnerTime)
+                .pickerTime(pickerTime)
+                .build();
+    }
+
+    @TestConfiguration
+    static class QueryCountConfig {
+        @Bean
+        static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).countQuery().build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
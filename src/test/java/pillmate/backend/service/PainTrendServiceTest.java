@@ -0,0 +1,161 @@
+package pillmate.backend.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pillmate.backend.dto.diary.PainTrend;
+import pillmate.backend.entity.Diary;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.MedicineRecord;
+import pillmate.backend.repository.DiaryRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 리포지토리는 목록을 그대로 돌려주는 mock 으로 두고, 트랜잭션은 동기화만 켜서 커밋 콜백을 직접 부른다.
+ */
+class PainTrendServiceTest {
+    private static final Long MEMBER_ID = 1L;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    private final DiaryRepository diaryRepository = mock(DiaryRepository.class);
+    private final MedicineRecordRepository medicineRecordRepository = mock(MedicineRecordRepository.class);
+    private final MedicinePerMemberRepository medicinePerMemberRepository = mock(MedicinePerMemberRepository.class);
+
+    private final List<Diary> diaries = new ArrayList<>();
+    private final List<MedicineRecord> records = new ArrayList<>();
+
+    private PainTrendService painTrendService;
+
+    @BeforeEach
+    void setUp() {
+        when(diaryRepository.findDiariesByMemberIdAndDateRange(any(), any(), any())).thenAnswer(invocation -> List.copyOf(diaries));
+        when(medicineRecordRepository.findAllByMemberAndDateBetween(any(), any(), any())).thenAnswer(invocation -> List.copyOf(records));
+        // 하루 2번 먹는 약을 30일 전부터 복용 중
+        when(medicinePerMemberRepository.findAllByMemberId(any())).thenReturn(List.of(MedicinePerMember.builder()
+                .times(2)
+                .day(60)
+                .created(TODAY.minusDays(30))
+                .build()));
+        painTrendService = newService();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("최근 7일 평균이 30일 평균보다 1 이상 높으면 악화 추세로 본다")
+    void rollingAveragesAndDeterioration() {
+        diary(0, 8);
+        diary(2, 8);
+        diary(4, 8);
+        for (int daysAgo = 10; daysAgo < 17; daysAgo++) {
+            diary(daysAgo, 2);
+        }
+        // 30일이 지난 일지는 평균에 넣지 않는다
+        diary(30, 10);
+
+        PainTrend trend = painTrendService.getTrend(MEMBER_ID);
+
+        assertThat(trend.getWeeklyAverage()).isEqualTo(8.0);
+        assertThat(trend.getMonthlyAverage()).isCloseTo((8 * 3 + 2 * 7) / 10.0, within(1e-9));
+        assertThat(trend.getDeteriorating()).isTrue();
+    }
+
+    @Test
+    @DisplayName("최근 7일 일지가 3개보다 적으면 평균이 높아도 악화로 보지 않는다")
+    void tooFewWeeklyEntries() {
+        diary(0, 9);
+        diary(1, 9);
+        diary(10, 1);
+
+        PainTrend trend = painTrendService.getTrend(MEMBER_ID);
+
+        assertThat(trend.getWeeklyAverage()).isEqualTo(9.0);
+        assertThat(trend.getDeteriorating()).isFalse();
+    }
+
+    @Test
+    @DisplayName("일지/복용 기록은 다시 불러오지 않고 캐시에 더하며, 결과는 전부 다시 불러온 것과 같다")
+    void incrementalUpdateMatchesReload() {
+        diary(0, 2);
+        diary(1, 5);
+        diary(2, 8);
+        taken(1L, 2);
+        taken(1L, 1);
+        painTrendService.getTrend(MEMBER_ID);
+
+        painTrendService.recordPain(MEMBER_ID, TODAY.minusDays(3), 6);
+        painTrendService.recordPain(MEMBER_ID, TODAY, 3);
+        painTrendService.recordDose(MEMBER_ID, 2L, TODAY.minusDays(1));
+        // 이미 불러온 복용은 다시 세지 않는다
+        painTrendService.recordDose(MEMBER_ID, 1L, TODAY.minusDays(2));
+        PainTrend incremental = painTrendService.getTrend(MEMBER_ID);
+
+        verify(diaryRepository, times(1)).findDiariesByMemberIdAndDateRange(any(), any(), any());
+        diaries.clear();
+        diary(0, 3);
+        diary(1, 5);
+        diary(2, 8);
+        diary(3, 6);
+        taken(2L, 1);
+        assertThat(incremental).isEqualTo(newService().getTrend(MEMBER_ID));
+        assertThat(incremental.getAdherenceCorrelation()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안의 기록은 커밋된 뒤에 반영된다")
+    void appliesAfterCommit() {
+        diary(0, 2);
+        painTrendService.getTrend(MEMBER_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        painTrendService.recordPain(MEMBER_ID, TODAY, 8);
+        assertThat(painTrendService.getTrend(MEMBER_ID).getWeeklyAverage()).isEqualTo(2.0);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(painTrendService.getTrend(MEMBER_ID).getWeeklyAverage()).isEqualTo(8.0);
+    }
+
+    @Test
+    @DisplayName("복용 일정이 바뀌면 캐시를 비우고 다음 조회 때 다시 불러온다")
+    void evictReloads() {
+        painTrendService.getTrend(MEMBER_ID);
+        painTrendService.evict(MEMBER_ID);
+        painTrendService.getTrend(MEMBER_ID);
+
+        verify(medicinePerMemberRepository, times(2)).findAllByMemberId(MEMBER_ID);
+    }
+
+    private PainTrendService newService() {
+        return new PainTrendService(diaryRepository, medicineRecordRepository, medicinePerMemberRepository, 100, 30);
+    }
+
+    private void diary(int daysAgo, int score) {
+        diaries.add(Diary.builder().date(TODAY.minusDays(daysAgo)).score(score).build());
+    }
+
+    private void taken(Long alarmId, int daysAgo) {
+        records.add(MedicineRecord.builder().alarmId(alarmId).date(TODAY.minusDays(daysAgo)).isEaten(true).build());
+    }
+}
@@ -0,0 +1,176 @@
+package pillmate.backend.service.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.medicine.MedicineBasicInfo;
+import pillmate.backend.dto.medicine.MedicineCandidate;
+import pillmate.backend.dto.outbox.DomainEvent;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.repository.MedicineRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 카탈로그 테이블은 map 으로 흉내 내고, 샤딩은 끈 채로 (전역 샤드 = 단일 샤드) 실행한다.
+ */
+class MedicineCatalogServiceTest {
+    private final Map<Long, Medicine> table = new ConcurrentHashMap<>();
+    private final MedicineRepository medicineRepository = mock(MedicineRepository.class);
+
+    private MedicineCatalogService medicineCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        when(medicineRepository.findAllNames()).thenAnswer(invocation -> table.values().stream()
+                .map(medicine -> name(medicine.getId(), medicine.getName()))
+                .toList());
+        when(medicineRepository.findAllById(any())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<Medicine> found = new ArrayList<>();
+            ids.forEach(id -> {
+                Medicine medicine = table.get(id);
+                if (medicine != null) {
+                    found.add(medicine);
+                }
+            });
+            return found;
+        });
+
+        medicineCatalogService = new MedicineCatalogService(medicineRepository,
+                new ShardTemplate(List.of(), 128, mock(PlatformTransactionManager.class)), mock(ApplicationEventPublisher.class));
+    }
+
+    @Test
+    @DisplayName("접두사 검색은 이름 순으로 돌려주고, limit 은 1 ~ 50 으로 맞춘다")
+    void searchesByPrefixWithinLimits() {
+        for (long id = 1; id <= 60; id++) {
+            save(id, String.format("타이레놀%02d", 61 - id));
+        }
+        save(100L, "게보린");
+        medicineCatalogService.load();
+
+        List<MedicineBasicInfo> found = medicineCatalogService.search(" 타이레놀0 ", 20);
+
+        assertThat(found).extracting(MedicineBasicInfo::getName)
+                .containsExactly("타이레놀01", "타이레놀02", "타이레놀03", "타이레놀04", "타이레놀05",
+                        "타이레놀06", "타이레놀07", "타이레놀08", "타이레놀09");
+        assertThat(medicineCatalogService.search("타이", 100)).hasSize(50);
+        assertThat(medicineCatalogService.search("타이", 0)).extracting(MedicineBasicInfo::getName)
+                .containsExactly("타이레놀01");
+        assertThat(medicineCatalogService.search(" ", 10)).isEmpty();
+        assertThat(medicineCatalogService.search(null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이름을 바꾸면 이전 이름으로는 찾지 못하고 새 이름으로 찾는다 (다른 서버의 변경 이벤트도 같다)")
+    void renameReplacesIndexedName() {
+        save(1L, "타이레놀");
+        save(2L, "게보린");
+        medicineCatalogService.load();
+
+        table.get(1L).updateName("타이레놀정");
+        medicineCatalogService.rename(1L, "타이레놀", "타이레놀정");
+
+        assertThat(medicineCatalogService.search("타이레놀정", 10)).hasSize(1);
+        assertThat(medicineCatalogService.findSimilar("타이레놀", 5)).extracting(MedicineCandidate::getName).doesNotContain("타이레놀");
+
+        table.get(2L).updateName("게보린정");
+        medicineCatalogService.onDomainEvent(new DomainEvent(1L, DomainEventType.MEDICINE_MODIFIED, null,
+                "{\"id\":2,\"name\":\"게보린정\",\"oldName\":\"게보린\"}", LocalDateTime.now(), false));
+
+        assertThat(medicineCatalogService.search("게보린", 10)).extracting(MedicineBasicInfo::getName)
+                .containsExactly("게보린정");
+        assertThat(medicineCatalogService.findSimilar("게보린", 5)).extracting(MedicineCandidate::getName).containsExactly("게보린정");
+    }
+
+    @Test
+    @DisplayName("검색 중에 이름 변경과 다시 불러오기가 겹쳐도 한 약은 항상 한 번만 나온다")
+    void searchesWhileRenamingAndReloading() throws Exception {
+        for (long id = 1; id <= 200; id++) {
+            save(id, "약" + id);
+        }
+        save(1000L, "타이레놀A");
+        medicineCatalogService.load();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        // 이름 변경은 지우기와 넣기를 한 번에 하므로 중간 상태(0개, 2개)가 보이면 안 된다
+                        assertThat(medicineCatalogService.search("타이레놀", 10)).hasSize(1);
+                        assertThat(medicineCatalogService.search("약1", 50)).hasSize(50);
+                    }
+                }));
+            }
+
+            Future<?> writer = executor.submit(() -> {
+                String name = "타이레놀A";
+                for (int i = 0; i < 2000; i++) {
+                    String newName = name.equals("타이레놀A") ? "타이레놀B" : "타이레놀A";
+                    table.get(1000L).updateName(newName);
+                    medicineCatalogService.rename(1000L, name, newName);
+                    name = newName;
+                    if (i % 200 == 0) {
+                        medicineCatalogService.load();
+                    }
+                }
+            });
+
+            writer.get(30, TimeUnit.SECONDS);
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            running.set(false);
+            executor.shutdownNow();
+        }
+
+        assertThat(medicineCatalogService.search("타이레놀", 10)).extracting(MedicineBasicInfo::getName)
+                .containsExactly("타이레놀A");
+    }
+
+    private void save(Long id, String name) {
+        table.put(id, Medicine.builder()
+                .id(id)
+                .name(name)
+                .category("진통제")
+                .build());
+    }
+
+    private static MedicineRepository.MedicineName name(Long id, String name) {
+        return new MedicineRepository.MedicineName() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package pillmate.backend.service.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MedicineFuzzyIndexTest {
+    private static final String[] SYLLABLES = {
+            "가", "나", "다", "라", "마", "바", "사", "아", "자", "차", "카", "파", "하", "고", "노", "도", "로", "모", "소", "오"
+    };
+
+    private MedicineFuzzyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new MedicineFuzzyIndex();
+        List<String> names = List.of("타이레놀", "타이레놀정", "타이레놀이알서방정", "게보린", "게보린정", "부루펜", "아스피린", "펜잘큐");
+        for (int i = 0; i < names.size(); i++) {
+            index.put(names.get(i), (long) i + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("한 글자를 잘못 읽어도 원래 이름이 가장 먼저 나오고, 점수 순으로 최대 k 개를 돌려준다")
+    void ranksByScoreUpToK() {
+        List<MedicineFuzzyIndex.Candidate> candidates = index.findSimilar("타이래놀", 3);
+
+        assertThat(candidates).extracting(MedicineFuzzyIndex.Candidate::name)
+                .containsExactly("타이레놀", "타이레놀정", "타이레놀이알서방정");
+        // 자모 9개 중 중성 하나만 다르다
+        assertThat(candidates.get(0).score()).isCloseTo(8 / 9.0, within(1e-9));
+        assertThat(candidates).extracting(MedicineFuzzyIndex.Candidate::score)
+                .isSortedAccordingTo((a, b) -> Double.compare(b, a));
+
+        assertThat(index.findSimilar("개보린정", 1)).extracting(MedicineFuzzyIndex.Candidate::id).containsExactly(5L);
+        assertThat(index.findSimilar("부루팬", 10)).first().extracting(MedicineFuzzyIndex.Candidate::name).isEqualTo("부루펜");
+    }
+
+    @Test
+    @DisplayName("공백과 영문 대소문자는 무시하고, 겹치는 자모가 없거나 k 가 0 이하면 빈 목록을 돌려준다")
+    void normalizesAndHandlesEmptyQueries() {
+        index.put("Aspirin 500", 100L);
+
+        assertThat(index.findSimilar("게 보 린", 1)).containsExactly(new MedicineFuzzyIndex.Candidate(4L, "게보린", 1.0));
+        assertThat(index.findSimilar("ASPIRIN500", 1)).extracting(MedicineFuzzyIndex.Candidate::id).containsExactly(100L);
+        assertThat(index.findSimilar("xyz", 5)).isEmpty();
+        assertThat(index.findSimilar("  ", 5)).isEmpty();
+        assertThat(index.findSimilar("게보린", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("지운 이름은 후보에서 빠지고, 같은 이름을 다시 넣으면 새 id 로 찾는다")
+    void removeAndPutAgain() {
+        index.remove("게보린");
+
+        assertThat(index.findSimilar("게보린", 5)).extracting(MedicineFuzzyIndex.Candidate::name).doesNotContain("게보린");
+        assertThat(index.size()).isEqualTo(7);
+
+        index.put("게보린", 40L);
+        index.put("게보린", 41L);
+
+        assertThat(index.size()).isEqualTo(8);
+        assertThat(index.findSimilar("게보린", 5)).extracting(MedicineFuzzyIndex.Candidate::id)
+                .startsWith(41L)
+                .doesNotContain(4L, 40L);
+    }
+
+    @Test
+    @DisplayName("대부분의 이름에 있는 '정' 같은 2-gram 은 건너뛰어도 비슷한 이름을 놓치지 않는다")
+    void skipsCommonGramsWithoutLosingMatches() {
+        for (int i = 0; i < 1000; i++) {
+            index.put(SYLLABLES[i % 20] + SYLLABLES[i / 20 % 20] + SYLLABLES[i / 400] + "정", 1000L + i);
+        }
+
+        assertThat(index.findSimilar("개보린정", 2)).extracting(MedicineFuzzyIndex.Candidate::name)
+                .containsExactly("게보린정", "게보린");
+        assertThat(index.findSimilar("가나가정", 1)).extracting(MedicineFuzzyIndex.Candidate::id).containsExactly(1020L);
+    }
+}
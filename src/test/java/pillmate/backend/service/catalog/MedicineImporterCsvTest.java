@@ -0,0 +1,29 @@
+package pillmate.backend.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MedicineImporterCsvTest {
+
+    @Test
+    @DisplayName("따옴표 안의 줄바꿈은 값에 포함하고 한 레코드로 읽는다")
+    void readsQuotedNewlineAsOneRecord() throws IOException {
+        BufferedReader reader = new BufferedReader(new StringReader(
+                "name,category\n"
+                        + "\"타이레놀\",\"해열\n진통제\"\n"
+                        + "\"게보린 \"\"정\"\"\",진통제\n"));
+
+        assertThat(MedicineImporter.readCsvRecord(reader)).isEqualTo("name,category");
+        assertThat(MedicineImporter.parseCsvLine(MedicineImporter.readCsvRecord(reader)))
+                .containsExactly("타이레놀", "해열\n진통제");
+        assertThat(MedicineImporter.parseCsvLine(MedicineImporter.readCsvRecord(reader)))
+                .containsExactly("게보린 \"정\"", "진통제");
+        assertThat(MedicineImporter.readCsvRecord(reader)).isNull();
+    }
+}
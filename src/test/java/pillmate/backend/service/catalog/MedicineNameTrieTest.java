@@ -0,0 +1,47 @@
+package pillmate.backend.service.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MedicineNameTrieTest {
+
+    @Test
+    @DisplayName("접두사로 시작하는 이름을 사전 순으로 최대 limit 개 찾는다")
+    void findsByPrefixInOrderUpToLimit() {
+        MedicineNameTrie trie = new MedicineNameTrie();
+        trie.put("타이레놀정", 3L);
+        trie.put("타이레놀", 1L);
+        trie.put("타이레놀이알서방정", 2L);
+        trie.put("게보린", 4L);
+
+        assertThat(trie.findByPrefix("타이", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(trie.findByPrefix("타이", 2)).containsExactly(1L, 2L);
+        assertThat(trie.findByPrefix("", 10)).containsExactly(4L, 1L, 2L, 3L);
+        assertThat(trie.findByPrefix("타이레놀정", 10)).containsExactly(3L);
+        assertThat(trie.findByPrefix("부루펜", 10)).isEmpty();
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("같은 이름을 다시 넣으면 id 만 바꾸고, 지운 이름은 접두사 검색에서 빠진다")
+    void putOverwritesAndRemoveKeepsOtherNames() {
+        MedicineNameTrie trie = new MedicineNameTrie();
+        trie.put("타이레놀", 1L);
+        trie.put("타이레놀정", 2L);
+        trie.put("타이레놀", 5L);
+
+        assertThat(trie.size()).isEqualTo(2);
+        assertThat(trie.findByPrefix("타이레놀", 10)).containsExactly(5L, 2L);
+
+        // 다른 이름의 접두사인 이름을 지워도 긴 이름은 남는다
+        trie.remove("타이레놀");
+        assertThat(trie.findByPrefix("타이", 10)).containsExactly(2L);
+
+        trie.remove("타이레놀정");
+        trie.remove("없는약");
+        assertThat(trie.findByPrefix("", 10)).isEmpty();
+        assertThat(trie.size()).isZero();
+    }
+}
@@ -0,0 +1,317 @@
+package pillmate.backend.service.dose;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.dose.DoseTakenEvent;
+import pillmate.backend.entity.Alarm;
+import pillmate.backend.entity.Medicine;
+import pillmate.backend.entity.MedicinePerMember;
+import pillmate.backend.entity.MedicineRecord;
+import pillmate.backend.entity.TimeSlot;
+import pillmate.backend.entity.member.Member;
+import pillmate.backend.entity.member.MemberType;
+import pillmate.backend.repository.AlarmRepository;
+import pillmate.backend.repository.MedicinePerMemberRepository;
+import pillmate.backend.repository.MedicineRecordRepository;
+import pillmate.backend.repository.MedicineRepository;
+import pillmate.backend.repository.MemberRepository;
+import pillmate.backend.repository.OutboxEventRepository;
+import pillmate.backend.service.PainTrendService;
+import pillmate.backend.service.outbox.OutboxService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, ShardTemplate.class, DoseEventConsumer.class, PainTrendService.class, OutboxService.class})
+class DoseEventConsumerTest {
+    @Autowired
+    private DoseEventConsumer doseEventConsumer;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private MedicineRepository medicineRepository;
+
+    @Autowired
+    private MedicinePerMemberRepository medicinePerMemberRepository;
+
+    @Autowired
+    private AlarmRepository alarmRepository;
+
+    @Autowired
+    private MedicineRecordRepository medicineRecordRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @MockBean
+    private StringRedisTemplate stringRedisTemplate;
+
+    @SpyBean
+    private PainTrendService painTrendService;
+
+    // poll 테스트는 기록 실패 시 롤백되는 것까지 보도록 테스트 트랜잭션 없이 실행하므로 직접 지운다
+    @AfterEach
+    void tearDown() {
+        if (TestTransaction.isActive()) {
+            return;
+        }
+        medicineRecordRepository.deleteAllInBatch();
+        alarmRepository.deleteAllInBatch();
+        medicinePerMemberRepository.deleteAllInBatch();
+        medicineRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        memberRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("같은 알람/날짜의 복용 이벤트가 여러 번 와도 기록은 하나만 남고 알람은 먹은 것으로 바뀐다")
+    void writeSkipsDuplicatedDoses() {
+        Member member = memberRepository.save(Member.builder()
+                .email("dose@pillmate.com")
+                .name("dose")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        Medicine medicine = medicineRepository.save(Medicine.builder()
+                .name("타이레놀")
+                .category("두통")
+                .photo("white")
+                .build());
+        MedicinePerMember medicinePerMember = medicinePerMemberRepository.save(MedicinePerMember.builder()
+                .member(member)
+                .medicine(medicine)
+                .amount(1)
+                .times(2)
+                .day(7)
+                .build());
+        Alarm morning = alarmRepository.save(Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("아침", 8)).build());
+        Alarm evening = alarmRepository.save(Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("저녁", 18)).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        LocalDate today = LocalDate.now();
+        DoseTakenEvent morningDose = new DoseTakenEvent(member.getId(), medicine.getId(), morning.getId(), today, LocalTime.of(8, 5));
+        DoseTakenEvent eveningDose = new DoseTakenEvent(member.getId(), medicine.getId(), evening.getId(), today, LocalTime.of(18, 5));
+
+        // 한 배치 안의 중복과, ACK 전에 죽어서 다시 읽은 배치를 흉내낸다
+        doseEventConsumer.write(List.of(morningDose, morningDose));
+        entityManager.flush();
+        entityManager.clear();
+        doseEventConsumer.write(List.of(morningDose, eveningDose));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(medicineRecordRepository.findAllByAlarmIdInAndDateIn(List.of(morning.getId(), evening.getId()), List.of(today)))
+                .extracting(record -> record.getAlarmId())
+                .containsExactlyInAnyOrder(morning.getId(), evening.getId());
+        assertThat(alarmRepository.findAllByMedicinePerMemberId(medicinePerMember.getId()))
+                .allMatch(alarm -> Boolean.TRUE.equals(alarm.getIsEaten()));
+    }
+
+    @Test
+    @DisplayName("Redis 중복 방지를 지나친 같은 알람/날짜 기록은 (alarm_id, date) 유니크 키가 막는다")
+    void uniqueKeyRejectsSecondRecord() {
+        Alarm alarm = saveAlarm("unique@pillmate.com");
+        MedicinePerMember medicinePerMember = alarm.getMedicinePerMember();
+        medicineRecordRepository.saveAndFlush(medicineRecord(medicinePerMember, alarm));
+
+        assertThatThrownBy(() -> medicineRecordRepository.saveAndFlush(medicineRecord(medicinePerMember, alarm)))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("새로 읽은 복용 이벤트를 기록하고 ACK 한 뒤 스트림에서 지운다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void pollRecordsAndAcknowledgesNewEvents() {
+        Alarm alarm = saveAlarm("new@pillmate.com");
+        StreamOperations<String, Object, Object> stream = mockStream();
+        MapRecord<String, Object, Object> record = record("1-0", dose(alarm));
+        given(stream.pending(eq(DoseEventQueue.STREAM_KEY), eq(DoseEventConsumer.GROUP), any(), anyLong()))
+                .willReturn(pending());
+        given(stream.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .willReturn(List.of(record));
+
+        doseEventConsumer.poll();
+
+        assertThat(medicineRecordRepository.existsByAlarmIdAndDate(alarm.getId(), LocalDate.now())).isTrue();
+        verify(stream).acknowledge(DoseEventQueue.STREAM_KEY, DoseEventConsumer.GROUP, record.getId());
+        verify(stream).delete(DoseEventQueue.STREAM_KEY, record.getId());
+        verify(stream).trim(eq(DoseEventQueue.STREAM_KEY), anyLong(), eq(true));
+    }
+
+    @Test
+    @DisplayName("재시작 전 consumer 가 ACK 하지 못한 오래된 pending 은 XCLAIM 으로 가져와 기록한다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void pollClaimsIdlePendingEvents() {
+        Alarm alarm = saveAlarm("recover@pillmate.com");
+        StreamOperations<String, Object, Object> stream = mockStream();
+        MapRecord<String, Object, Object> record = record("1-0", dose(alarm));
+        given(stream.pending(eq(DoseEventQueue.STREAM_KEY), eq(DoseEventConsumer.GROUP), any(), anyLong()))
+                .willReturn(pending(new PendingMessage(record.getId(), Consumer.from(DoseEventConsumer.GROUP, "old-pod"), Duration.ofMinutes(5), 1)));
+        given(stream.claim(eq(DoseEventQueue.STREAM_KEY), eq(DoseEventConsumer.GROUP), anyString(), any(Duration.class), any(RecordId.class)))
+                .willReturn(List.of(record));
+
+        doseEventConsumer.poll();
+
+        assertThat(medicineRecordRepository.existsByAlarmIdAndDate(alarm.getId(), LocalDate.now())).isTrue();
+        verify(stream).acknowledge(DoseEventQueue.STREAM_KEY, DoseEventConsumer.GROUP, record.getId());
+        verify(stream, never()).read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class));
+    }
+
+    @Test
+    @DisplayName("읽을 수 없는 이벤트는 dead-letter 로 옮기고, 기록에 실패한 이벤트는 나머지를 막지 않고 pending 으로 남긴다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void pollIsolatesFailingEvents() {
+        Alarm alarm = saveAlarm("good@pillmate.com");
+        Alarm failing = saveAlarm("failing@pillmate.com");
+        willThrow(new IllegalStateException("boom")).given(painTrendService)
+                .recordDose(eq(failing.getMedicinePerMember().getMember().getId()), any(), any());
+        StreamOperations<String, Object, Object> stream = mockStream();
+        MapRecord<String, Object, Object> broken = record("1-0", Map.of("memberId", "x"));
+        MapRecord<String, Object, Object> good = record("2-0", dose(alarm));
+        MapRecord<String, Object, Object> retry = record("3-0", dose(failing));
+        given(stream.pending(eq(DoseEventQueue.STREAM_KEY), eq(DoseEventConsumer.GROUP), any(), anyLong()))
+                .willReturn(pending());
+        given(stream.read(any(Consumer.class), any(StreamReadOptions.class), any(StreamOffset.class)))
+                .willReturn(List.of(broken, good, retry));
+
+        doseEventConsumer.poll();
+
+        assertThat(medicineRecordRepository.existsByAlarmIdAndDate(alarm.getId(), LocalDate.now())).isTrue();
+        verify(stream).add(any(MapRecord.class));
+        verify(stream).acknowledge(DoseEventQueue.STREAM_KEY, DoseEventConsumer.GROUP, broken.getId());
+        verify(stream).acknowledge(DoseEventQueue.STREAM_KEY, DoseEventConsumer.GROUP, good.getId());
+        verify(stream, never()).acknowledge(DoseEventQueue.STREAM_KEY, DoseEventConsumer.GROUP, retry.getId());
+    }
+
+    @Test
+    @DisplayName("max-deliveries 번째에도 기록하지 못한 pending 은 dead-letter 로 옮기고 ACK 한다")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void pollMovesExhaustedEventsToDeadLetter() {
+        Alarm failing = saveAlarm("exhausted@pillmate.com");
+        willThrow(new IllegalStateException("boom")).given(painTrendService)
+                .recordDose(eq(failing.getMedicinePerMember().getMember().getId()), any(), any());
+        StreamOperations<String, Object, Object> stream = mockStream();
+        MapRecord<String, Object, Object> record = record("1-0", dose(failing));
+        given(stream.pending(eq(DoseEventQueue.STREAM_KEY), eq(DoseEventConsumer.GROUP), any(), anyLong()))
+                .willReturn(pending(new PendingMessage(record.getId(), Consumer.from(DoseEventConsumer.GROUP, "pod"), Duration.ofMinutes(5), 4)));
+        given(stream.claim(eq(DoseEventQueue.STREAM_KEY), eq(DoseEventConsumer.GROUP), anyString(), any(Duration.class), any(RecordId.class)))
+                .willReturn(List.of(record));
+
+        doseEventConsumer.poll();
+
+        verify(stream).add(any(MapRecord.class));
+        verify(stream).acknowledge(DoseEventQueue.STREAM_KEY, DoseEventConsumer.GROUP, record.getId());
+    }
+
+    private MedicineRecord medicineRecord(MedicinePerMember medicinePerMember, Alarm alarm) {
+        return MedicineRecord.builder()
+                .member(medicinePerMember.getMember())
+                .medicine(medicinePerMember.getMedicine())
+                .alarmId(alarm.getId())
+                .date(LocalDate.now())
+                .time(LocalTime.of(8, 5))
+                .isEaten(true)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private StreamOperations<String, Object, Object> mockStream() {
+        StreamOperations<String, Object, Object> stream = mock(StreamOperations.class);
+        given(stringRedisTemplate.<Object, Object>opsForStream()).willReturn(stream);
+        return stream;
+    }
+
+    private PendingMessages pending(PendingMessage... messages) {
+        return new PendingMessages(DoseEventConsumer.GROUP, List.of(messages));
+    }
+
+    private MapRecord<String, Object, Object> record(String id, Map<String, String> fields) {
+        Map<Object, Object> value = new HashMap<>(fields);
+        return StreamRecords.newRecord().in(DoseEventQueue.STREAM_KEY).withId(RecordId.of(id)).ofMap(value);
+    }
+
+    private Map<String, String> dose(Alarm alarm) {
+        MedicinePerMember medicinePerMember = alarm.getMedicinePerMember();
+        return new DoseTakenEvent(medicinePerMember.getMember().getId(), medicinePerMember.getMedicine().getId(),
+                alarm.getId(), LocalDate.now(), LocalTime.of(8, 5)).toFields();
+    }
+
+    private Alarm saveAlarm(String email) {
+        Member member = memberRepository.save(Member.builder()
+                .email(email)
+                .name("dose")
+                .type(MemberType.DEFAULT)
+                .usable(true)
+                .build());
+        Medicine medicine = medicineRepository.save(Medicine.builder()
+                .name(email)
+                .category("두통")
+                .photo("white")
+                .build());
+        MedicinePerMember medicinePerMember = medicinePerMemberRepository.save(MedicinePerMember.builder()
+                .member(member)
+                .medicine(medicine)
+                .amount(1)
+                .times(1)
+                .day(7)
+                .build());
+        return alarmRepository.save(Alarm.builder().medicinePerMember(medicinePerMember).timeSlot(timeSlot("아침", 8)).build());
+    }
+
+    private TimeSlot timeSlot(String spinnerTime, int hour) {
+        return TimeSlot.builder()
+                .spinnerTime(spinnerTime)
+                .pickerTime(LocalTime.of(hour, 0))
+                .build();
+    }
+}
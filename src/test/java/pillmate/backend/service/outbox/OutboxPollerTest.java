@@ -0,0 +1,67 @@
+package pillmate.backend.service.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import pillmate.backend.common.config.JpaConfig;
+import pillmate.backend.common.shard.ShardTemplate;
+import pillmate.backend.dto.outbox.DomainEvent;
+import pillmate.backend.entity.DomainEventType;
+import pillmate.backend.repository.OutboxEventRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({JpaConfig.class, ShardTemplate.class, OutboxService.class, OutboxPublisher.class, OutboxPoller.class})
+@RecordApplicationEvents
+class OutboxPollerTest {
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxPoller outboxPoller;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @MockBean
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    @DisplayName("outbox 이벤트는 순서대로 한 번 발행되고 발행 처리된다")
+    void publishBatchOnce() {
+        outboxService.append(DomainEventType.MEDICINE_ADDED, 1L, List.of(10L, 11L));
+        outboxService.append(DomainEventType.DIARY_EDITED, 2L, null);
+
+        assertThat(outboxPoller.publishBatch()).isEqualTo(2);
+        assertThat(outboxPoller.publishBatch()).isZero();
+
+        assertThat(applicationEvents.stream(DomainEvent.class).toList())
+                .extracting(DomainEvent::type, DomainEvent::memberId, DomainEvent::payload, DomainEvent::local)
+                .containsExactly(
+                        tuple(DomainEventType.MEDICINE_ADDED, 1L, "[10,11]", true),
+                        tuple(DomainEventType.DIARY_EDITED, 2L, null, true));
+        assertThat(outboxEventRepository.findAll()).allMatch(outboxEvent -> outboxEvent.getPublishedAt() != null);
+        verify(stringRedisTemplate, times(1)).convertAndSend(eq(OutboxPublisher.CHANNEL), anyString());
+    }
+}